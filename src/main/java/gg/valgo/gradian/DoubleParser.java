@@ -0,0 +1,59 @@
+package gg.valgo.gradian;
+
+/**
+ * A parser which results in a double. Its parsing logic sets the result through the context's primitive result channel (succeedDouble() and getDoubleResult()), so double-aware combinators such as manyDoubles() can run it without boxing the result. When it is run as a normal parser, the result is boxed into a Double.
+ */
+public abstract class DoubleParser extends Parser<Double> {
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedDouble() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeDouble() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    public abstract boolean parseDouble(ParserContext context);
+
+    /**
+     * Runs the parser on a certain context, validating the context before running the parsing logic. If parsing is successful, the result is read with ParserContext.getDoubleResult().
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    public boolean executeDouble(ParserContext context) {
+        if (context.isException()) {
+            return false;
+        }
+
+        if (!inputIsValid(context.getInput())) {
+            return context.formatBadInputTypeException(this, getExpectedInputName(), context.getInput().getInputName());
+        }
+
+        return parseDouble(context);
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<Double> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context, boxing the result. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return parseDouble(context) && context.succeed(context.getIndex(), context.getDoubleResult());
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return Double.class;
+    }
+}
\ No newline at end of file
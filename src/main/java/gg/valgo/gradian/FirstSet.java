@@ -0,0 +1,150 @@
+package gg.valgo.gradian;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The set of input elements that a match of a parser can start with (its FIRST set), for each type of input. ChoiceParser uses these to skip options which cannot match the next element of the input without running them. Each part is null if it is unknown for that type of input (the parser could start with anything, or match without consuming any input).
+ */
+public class FirstSet {
+    /**
+     * The characters a match can start with in a string input, or null if unknown.
+     */
+    private BitSet characters;
+
+    /**
+     * The bytes (as unsigned values) a match can start with in a bytes input, or null if unknown.
+     */
+    private BitSet bytes;
+
+    /**
+     * The token ids a match can start with in a tokens input, or null if unknown.
+     */
+    private Set<String> tokenIds;
+
+    /**
+     * Creates a new FirstSet. The sets are not copied, so they should not be modified afterwards.
+     * @param characters The characters a match can start with in a string input, or null if unknown.
+     * @param bytes The bytes (as unsigned values) a match can start with in a bytes input, or null if unknown.
+     * @param tokenIds The token ids a match can start with in a tokens input, or null if unknown.
+     */
+    public FirstSet(BitSet characters, BitSet bytes, Set<String> tokenIds) {
+        this.characters = characters;
+        this.bytes = bytes;
+        this.tokenIds = tokenIds;
+    }
+
+    /**
+     * Creates a FirstSet for a parser matching characters. In a bytes input, a character is matched by the byte which casts to it. The parser cannot match a tokens input.
+     * @param characters The characters a match can start with.
+     * @return The FirstSet.
+     */
+    public static FirstSet ofCharacters(BitSet characters) {
+        BitSet bytes = new BitSet(256);
+        for (int value = 0; value < 256; value++) {
+            if (characters.get((char) (byte) value)) {
+                bytes.set(value);
+            }
+        }
+
+        return new FirstSet(characters, bytes, Collections.emptySet());
+    }
+
+    /**
+     * Creates a FirstSet for a parser matching characters. In a bytes input, a character is matched by the byte which casts to it. The parser cannot match a tokens input.
+     * @param characters The characters a match can start with.
+     * @return The FirstSet.
+     */
+    public static FirstSet ofCharacters(char... characters) {
+        BitSet set = new BitSet();
+        for (char character : characters) {
+            set.set(character);
+        }
+
+        return ofCharacters(set);
+    }
+
+    /**
+     * Creates a FirstSet for a parser which only matches a bytes input.
+     * @param bytes The bytes a match can start with.
+     * @return The FirstSet.
+     */
+    public static FirstSet ofBytes(byte... bytes) {
+        BitSet set = new BitSet(256);
+        for (byte b : bytes) {
+            set.set(b & 0xFF);
+        }
+
+        return new FirstSet(new BitSet(), set, Collections.emptySet());
+    }
+
+    /**
+     * Creates a FirstSet for a parser which only matches a tokens input.
+     * @param tokenIds The token ids a match can start with.
+     * @return The FirstSet.
+     */
+    public static FirstSet ofTokenIds(String... tokenIds) {
+        Set<String> set = new HashSet<>();
+        Collections.addAll(set, tokenIds);
+
+        return new FirstSet(new BitSet(), new BitSet(256), set);
+    }
+
+    /**
+     * Gets the characters a match can start with in a string input.
+     * @return The characters, or null if unknown.
+     */
+    public BitSet getCharacters() {
+        return characters;
+    }
+
+    /**
+     * Gets the bytes (as unsigned values) a match can start with in a bytes input.
+     * @return The bytes, or null if unknown.
+     */
+    public BitSet getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the token ids a match can start with in a tokens input.
+     * @return The token ids, or null if unknown.
+     */
+    public Set<String> getTokenIds() {
+        return tokenIds;
+    }
+
+    /**
+     * Combines two FirstSets, for a parser which can start like either of them. A part is unknown if it is unknown in either set.
+     * @param first The first set, or null if unknown.
+     * @param second The second set, or null if unknown.
+     * @return The combined set, or null if both sets are unknown for every type of input.
+     */
+    public static FirstSet union(FirstSet first, FirstSet second) {
+        if (first == null || second == null) {
+            return null;
+        }
+
+        BitSet characters = null;
+        if (first.characters != null && second.characters != null) {
+            characters = (BitSet) first.characters.clone();
+            characters.or(second.characters);
+        }
+
+        BitSet bytes = null;
+        if (first.bytes != null && second.bytes != null) {
+            bytes = (BitSet) first.bytes.clone();
+            bytes.or(second.bytes);
+        }
+
+        Set<String> tokenIds = null;
+        if (first.tokenIds != null && second.tokenIds != null) {
+            tokenIds = new HashSet<>(first.tokenIds);
+            tokenIds.addAll(second.tokenIds);
+        }
+
+        return characters == null && bytes == null && tokenIds == null ? null : new FirstSet(characters, bytes, tokenIds);
+    }
+}
\ No newline at end of file
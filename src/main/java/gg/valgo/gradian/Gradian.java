@@ -1,18 +1,34 @@
 package gg.valgo.gradian;
 
 import gg.valgo.gradian.input.Token;
+import gg.valgo.gradian.parsers.util.CollectParser;
 import gg.valgo.gradian.parsers.util.FailParser;
+import gg.valgo.gradian.parsers.util.FoldParser;
 import gg.valgo.gradian.parsers.util.LookAheadParser;
+import gg.valgo.gradian.parsers.util.MemoParser;
 import gg.valgo.gradian.parsers.util.RecursiveParser;
 import gg.valgo.gradian.parsers.util.SucceedWithParser;
 import gg.valgo.gradian.parsers.util.peek.PeekBytesParser;
 import gg.valgo.gradian.parsers.util.peek.PeekStringParser;
 import gg.valgo.gradian.parsers.util.peek.PeekTokensParser;
+import gg.valgo.gradian.util.CharacterClass;
 import gg.valgo.gradian.util.coroutine.CoroutineExecutor;
+import gg.valgo.gradian.util.interfaces.BytePredicate;
+import gg.valgo.gradian.util.interfaces.CharPredicate;
+import gg.valgo.gradian.util.interfaces.Combiner2;
+import gg.valgo.gradian.util.interfaces.Combiner3;
+import gg.valgo.gradian.util.interfaces.Combiner4;
+import gg.valgo.gradian.util.interfaces.Combiner5;
 import gg.valgo.gradian.util.interfaces.ParserProducer;
 import gg.valgo.gradian.parsers.combinators.*;
 import gg.valgo.gradian.parsers.matchers.*;
 
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.Collector;
+
 /**
  * The main Gradian class, with methods to create and combine parsers, as well as static parsers.
  */
@@ -20,31 +36,31 @@ public class Gradian {
     /**
      * A parser which matches a digit. This parser results in a string. This parser fails if the next character in the input is not a digit. This parser returns a string.
      */
-    public static final RegexParser digit = (RegexParser) regex("^[0-9]").setParserName("digit");
+    public static final CharacterClassParser digit = (CharacterClassParser) new CharacterClassParser(CharacterClass.DIGITS).setParserName("digit");
 
     /**
      * A parser which matches 1 or more digits. This parser results in a string. This parser fails if the next character in the input is not a digit. Otherwise, it will match digits until the next character is not a digit. This parser returns a string.
      */
-    public static final RegexParser digits = (RegexParser) regex("^[0-9]+").setParserName("digits");
+    public static final CharacterClassParser digits = (CharacterClassParser) new CharacterClassParser(CharacterClass.DIGITS, 1, -1).setParserName("digits");
 
     /**
      * A parser which matches a letter. This parser results in a string. This parser fails if the next character in the input is not a letter.
      * This parser returns a string.
      */
-    public static final RegexParser letter = (RegexParser) regex("^[A-Za-z]").setParserName("letter");
+    public static final CharacterClassParser letter = (CharacterClassParser) new CharacterClassParser(CharacterClass.LETTERS).setParserName("letter");
 
     /**
      * A parser which parses 1 or more letters. This parser results in a string. This parser fails if the next character in the input is not a letter. Otherwise, it will match letters until the next character is not a letter.
      * This parser returns a string.
      */
-    public static final RegexParser letters = (RegexParser) regex("^[A-Za-z]+").setParserName("letters");
+    public static final CharacterClassParser letters = (CharacterClassParser) new CharacterClassParser(CharacterClass.LETTERS, 1, -1).setParserName("letters");
 
 
     /**
      * A parser which matches any whitespace characters, up until the next non-whitespace character. This parser fails if the next character in the input is not a whitespace character. If you wish for whitespace to be optional, use `Gradian.optionalWhitespace` instead. The parser will match whitespace characters until the next character is not a whitespace character.
      * This parser returns a string.
      */
-    public static final RegexParser whitespace = (RegexParser) regex("^\\s+").setParserName("whitespace");
+    public static final CharacterClassParser whitespace = (CharacterClassParser) new CharacterClassParser(CharacterClass.WHITESPACE, 1, -1).setParserName("whitespace");
 
     /**
      * A parser which optionally matches any whitespace character. If there is no whitespace present, it returns an empty string. Otherwise, it will return a string with the whitespace. This parser will match all whitespace characters, up until a non-whitespace character.
@@ -64,6 +80,30 @@ public class Gradian {
      */
     public static final EndOfInputParser endOfInput = new EndOfInputParser();
 
+    /**
+     * A parser which matches an integer in text, with an optional sign, such as "-42". The digits are read directly from the input, without creating a substring. This parser fails if there are no digits, or the integer does not fit in 32 bits. This parser accepts a string or bytes input.
+     * This parser returns an integer.
+     */
+    public static final Int32Parser int32 = new Int32Parser();
+
+    /**
+     * A parser which matches an integer in text, with an optional sign, such as "-42". The digits are read directly from the input, without creating a substring. This parser fails if there are no digits, or the integer does not fit in 64 bits. This parser accepts a string or bytes input.
+     * This parser returns a long.
+     */
+    public static final Int64Parser int64 = new Int64Parser();
+
+    /**
+     * A parser which matches a decimal number in text without an exponent, with an optional sign and fraction, such as "-1.5". The result is correctly rounded. This parser fails if there are no digits. This parser accepts a string or bytes input.
+     * This parser returns a double.
+     */
+    public static final Float64Parser decimal = new Float64Parser(false);
+
+    /**
+     * A parser which matches a decimal number in text, with an optional sign, fraction and exponent, such as "-1.5e3". The result is correctly rounded. This parser fails if there are no digits. This parser accepts a string or bytes input.
+     * This parser returns a double.
+     */
+    public static final Float64Parser float64 = new Float64Parser(true);
+
     /**
      * A parser which matches a string, resulting in the input string if successful. If the string cannot be matched, the parser will fail. This parser accepts a string or byte array input.
      * @param string The string to match.
@@ -100,9 +140,101 @@ public class Gradian {
         return new ChoiceOfCharactersParser(chars);
     }
 
+    /**
+     * A parser which matches a single character in a character class, resulting in a string of that character. Each character is checked with a single bitmap lookup. If the end of input has been reached or the next character is not in the class, this parser will fail. This parser only accepts string input.
+     * @param characterClass The class of characters to match.
+     * @return The characterClass parser.
+     */
+    public static CharacterClassParser characterClass(CharacterClass characterClass) {
+        return new CharacterClassParser(characterClass);
+    }
+
+    /**
+     * A parser which matches between a minimum and maximum amount of characters in a character class, as many as it can, resulting in a string of those characters. If fewer than the minimum amount of characters could be matched, this parser will fail. This parser only accepts string input.
+     * @param characterClass The class of characters to match.
+     * @param minCount The minimum amount of characters to match.
+     * @param maxCount The maximum amount of characters to match, or -1 for no maximum.
+     * @return The characterClass parser.
+     */
+    public static CharacterClassParser characterClass(CharacterClass characterClass, int minCount, int maxCount) {
+        return new CharacterClassParser(characterClass, minCount, maxCount);
+    }
+
+    /**
+     * A parser which matches a run of 0 or more characters passing a test, resulting in a single substring of the run. The characters are scanned in a tight loop without boxing, so this is much cheaper than many(...) followed by a join. This parser never fails on a string input. This parser only accepts string input.
+     * @param predicate The test each character must pass. A CharacterClass can be used here.
+     * @return The takeWhile parser.
+     */
+    public static TakeWhileParser takeWhile(CharPredicate predicate) {
+        return new TakeWhileParser(predicate, 0, false);
+    }
+
+    /**
+     * A parser which matches a run of 1 or more characters passing a test, resulting in a single substring of the run. If the end of input has been reached or the next character fails the test, this parser will fail. This parser only accepts string input.
+     * @param predicate The test each character must pass. A CharacterClass can be used here.
+     * @return The takeWhile1 parser.
+     */
+    public static TakeWhileParser takeWhile1(CharPredicate predicate) {
+        return (TakeWhileParser) new TakeWhileParser(predicate, 1, false).setParserName("takeWhile1");
+    }
+
+    /**
+     * A parser which skips a run of 0 or more characters passing a test, without creating a substring. The result of this parser is ignored. This parser never fails on a string input. This parser only accepts string input.
+     * @param predicate The test each character must pass. A CharacterClass can be used here.
+     * @return The skipWhile parser.
+     */
+    public static TakeWhileParser skipWhile(CharPredicate predicate) {
+        return new TakeWhileParser(predicate, 0, true);
+    }
+
+    /**
+     * A parser which matches a run of 0 or more bytes passing a test, resulting in a single unboxed byte array of the run. This parser never fails on a bytes input. This parser only accepts bytes input.
+     * @param predicate The test each byte must pass.
+     * @return The takeBytesWhile parser.
+     */
+    public static TakeBytesWhileParser takeBytesWhile(BytePredicate predicate) {
+        return new TakeBytesWhileParser(predicate, 0, false);
+    }
+
+    /**
+     * A parser which matches a run of 1 or more bytes passing a test, resulting in a single unboxed byte array of the run. If the end of input has been reached or the next byte fails the test, this parser will fail. This parser only accepts bytes input.
+     * @param predicate The test each byte must pass.
+     * @return The takeBytesWhile1 parser.
+     */
+    public static TakeBytesWhileParser takeBytesWhile1(BytePredicate predicate) {
+        return (TakeBytesWhileParser) new TakeBytesWhileParser(predicate, 1, false).setParserName("takeBytesWhile1");
+    }
+
+    /**
+     * A parser which skips a run of 0 or more bytes passing a test, without copying them. The result of this parser is ignored. This parser never fails on a bytes input. This parser only accepts bytes input.
+     * @param predicate The test each byte must pass.
+     * @return The skipBytesWhile parser.
+     */
+    public static TakeBytesWhileParser skipBytesWhile(BytePredicate predicate) {
+        return new TakeBytesWhileParser(predicate, 0, true);
+    }
+
+    /**
+     * A parser which matches one of several strings, resulting in that string. The first string in the list which matches is the result, like a choice of string parsers, but the strings are matched with a single walk of a trie. If the end of input has been reached or none of the strings could be matched, this parser will fail. Otherwise, this parser will succeed.
+     * @param strings The choices for strings to match.
+     * @return The oneOfStrings parser.
+     */
+    public static ChoiceOfStringsParser oneOfStrings(String... strings) {
+        return (ChoiceOfStringsParser) new ChoiceOfStringsParser(false, strings).setParserName("oneOfStrings");
+    }
+
+    /**
+     * A parser which matches the longest of several strings, resulting in that string. Useful for operators and keywords where one is a prefix of another (eg. "=" and "=="). If the end of input has been reached or none of the strings could be matched, this parser will fail. Otherwise, this parser will succeed.
+     * @param strings The choices for strings to match.
+     * @return The longestOfStrings parser.
+     */
+    public static ChoiceOfStringsParser longestOfStrings(String... strings) {
+        return (ChoiceOfStringsParser) new ChoiceOfStringsParser(true, strings).setParserName("longestOfStrings");
+    }
+
     /**
      * A parser which matches a regular expression in a string. If matching was successful, the match is returned. Otherwise, the parser fails. This parser only accepts string input.
-     * @param pattern The pattern to match. All patterns should start with a "^" character, so that only the current input is matched.
+     * @param pattern The pattern to match. The pattern is only matched at the current position in the input, so a leading "^" character is optional.
      * @return The regex parser.
      */
     public static RegexParser regex(String pattern) {
@@ -111,7 +243,7 @@ public class Gradian {
 
     /**
      * A parser which matches a regular expression in a string. If matching was successful, the match (or a group within the match) is returned. Otherwise, the parser fails. This parser only accepts string input.
-     * @param pattern The pattern to match. All patterns should start with a "^" character, so that only the current input is matched.
+     * @param pattern The pattern to match. The pattern is only matched at the current position in the input, so a leading "^" character is optional.
      * @param flags The regex flags, use 0 for no flags.
      * @param group The group in the regex to use as the result. Use 0 to result in the entire match.
      * @return The regex parser.
@@ -206,6 +338,46 @@ public class Gradian {
      */
     public static final BinaryParser s32LE = binary(4, true, true);
 
+    /**
+     * Parses an unsigned 8-byte binary value, big-endian. This parser results in a long. Values of 2^63 or more result in their raw 64 bits, as a negative long. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryParser u64BE = binary(8, false, false);
+
+    /**
+     * Parses an unsigned 8-byte binary value, little-endian. This parser results in a long. Values of 2^63 or more result in their raw 64 bits, as a negative long. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryParser u64LE = binary(8, false, true);
+
+    /**
+     * Parses a signed 8-byte binary value, big-endian. This parser results in a long. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryParser s64BE = binary(8, true, false);
+
+    /**
+     * Parses a signed 8-byte binary value, little-endian. This parser results in a long. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryParser s64LE = binary(8, true, true);
+
+    /**
+     * Parses a binary IEEE 754 4-byte float, big-endian. This parser results in a double. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryFloatParser f32BE = binaryFloat(4, false);
+
+    /**
+     * Parses a binary IEEE 754 4-byte float, little-endian. This parser results in a double. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryFloatParser f32LE = binaryFloat(4, true);
+
+    /**
+     * Parses a binary IEEE 754 8-byte double, big-endian. This parser results in a double. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryFloatParser f64BE = binaryFloat(8, false);
+
+    /**
+     * Parses a binary IEEE 754 8-byte double, little-endian. This parser results in a double. This parser will fail if not enough bytes are left in the input.
+     */
+    public static final BinaryFloatParser f64LE = binaryFloat(8, true);
+
     /**
      * Parses a binary value. This parser results in a long. This parser will fail if not enough bytes are left in the input.
      * @param bytes The amount of bytes to parse.
@@ -217,6 +389,16 @@ public class Gradian {
         return new BinaryParser(bytes, signed, littleEndian);
     }
 
+    /**
+     * Parses a binary IEEE 754 floating point number. This parser results in a double. This parser will fail if not enough bytes are left in the input.
+     * @param bytes The amount of bytes to parse, 4 for a float or 8 for a double.
+     * @param littleEndian Whether the number is little-endian or not.
+     * @return The binaryFloat parser.
+     */
+    public static BinaryFloatParser binaryFloat(int bytes, boolean littleEndian) {
+        return new BinaryFloatParser(bytes, littleEndian);
+    }
+
     /**
      * Parses an exact unsigned 1-byte binary value. This parser results in a long. This parser will fail if it cannot parse the correct value.
      * @param value The expected value.
@@ -307,6 +489,42 @@ public class Gradian {
         return exactBinary(4, true, true, value);
     }
 
+    /**
+     * Parses an exact unsigned 8-byte binary value, big-endian. This parser results in a long. This parser will fail if it cannot parse the correct value.
+     * @param value The expected value.
+     * @return The exactU64BE parser.
+     */
+    public static ExactBinaryParser exactU64BE(long value) {
+        return exactBinary(8, false, false, value);
+    }
+
+    /**
+     * Parses an exact unsigned 8-byte binary value, little-endian. This parser results in a long. This parser will fail if it cannot parse the correct value.
+     * @param value The expected value.
+     * @return The exactU64LE parser.
+     */
+    public static ExactBinaryParser exactU64LE(long value) {
+        return exactBinary(8, false, true, value);
+    }
+
+    /**
+     * Parses an exact signed 8-byte binary value, big-endian. This parser results in a long. This parser will fail if it cannot parse the correct value.
+     * @param value The expected value.
+     * @return The exactS64BE parser.
+     */
+    public static ExactBinaryParser exactS64BE(long value) {
+        return exactBinary(8, true, false, value);
+    }
+
+    /**
+     * Parses an exact signed 8-byte binary value, little-endian. This parser results in a long. This parser will fail if it cannot parse the correct value.
+     * @param value The expected value.
+     * @return The exactS64LE parser.
+     */
+    public static ExactBinaryParser exactS64LE(long value) {
+        return exactBinary(8, true, true, value);
+    }
+
     /**
      * Parses an exact binary value. This parser results in a long. This parser will fail if it cannot parse the correct value.
      * @param bytes The amount of bytes to parse.
@@ -367,6 +585,74 @@ public class Gradian {
         return (SequenceParser<Object>) SequenceParser.anyTypeSequence(parsers).setParserName("anyTypeSequence");
     }
 
+    /**
+     * Parses a sequence of two parsers in order, and combines their results with a function. The results keep their own types and are passed straight to the function, without creating a list or array. If any of the parsers in the sequence fail, this parser will fail. This parser works with any input type.
+     * @param first The first parser.
+     * @param second The second parser.
+     * @param combiner The function combining the results.
+     * @param <FirstType> The result type of the first parser.
+     * @param <SecondType> The result type of the second parser.
+     * @param <ResultType> The combined result type.
+     * @return The seq parser.
+     */
+    public static <FirstType, SecondType, ResultType> Sequence2Parser<FirstType, SecondType, ResultType> seq(Parser<FirstType> first, Parser<SecondType> second, Combiner2<FirstType, SecondType, ResultType> combiner) {
+        return new Sequence2Parser<>(first, second, combiner);
+    }
+
+    /**
+     * Parses a sequence of three parsers in order, and combines their results with a function. The results keep their own types and are passed straight to the function, without creating a list or array. If any of the parsers in the sequence fail, this parser will fail. This parser works with any input type.
+     * @param first The first parser.
+     * @param second The second parser.
+     * @param third The third parser.
+     * @param combiner The function combining the results.
+     * @param <FirstType> The result type of the first parser.
+     * @param <SecondType> The result type of the second parser.
+     * @param <ThirdType> The result type of the third parser.
+     * @param <ResultType> The combined result type.
+     * @return The seq parser.
+     */
+    public static <FirstType, SecondType, ThirdType, ResultType> Sequence3Parser<FirstType, SecondType, ThirdType, ResultType> seq(Parser<FirstType> first, Parser<SecondType> second, Parser<ThirdType> third, Combiner3<FirstType, SecondType, ThirdType, ResultType> combiner) {
+        return new Sequence3Parser<>(first, second, third, combiner);
+    }
+
+    /**
+     * Parses a sequence of four parsers in order, and combines their results with a function. The results keep their own types and are passed straight to the function, without creating a list or array. If any of the parsers in the sequence fail, this parser will fail. This parser works with any input type.
+     * @param first The first parser.
+     * @param second The second parser.
+     * @param third The third parser.
+     * @param fourth The fourth parser.
+     * @param combiner The function combining the results.
+     * @param <FirstType> The result type of the first parser.
+     * @param <SecondType> The result type of the second parser.
+     * @param <ThirdType> The result type of the third parser.
+     * @param <FourthType> The result type of the fourth parser.
+     * @param <ResultType> The combined result type.
+     * @return The seq parser.
+     */
+    public static <FirstType, SecondType, ThirdType, FourthType, ResultType> Sequence4Parser<FirstType, SecondType, ThirdType, FourthType, ResultType> seq(Parser<FirstType> first, Parser<SecondType> second, Parser<ThirdType> third, Parser<FourthType> fourth, Combiner4<FirstType, SecondType, ThirdType, FourthType, ResultType> combiner) {
+        return new Sequence4Parser<>(first, second, third, fourth, combiner);
+    }
+
+    /**
+     * Parses a sequence of five parsers in order, and combines their results with a function. The results keep their own types and are passed straight to the function, without creating a list or array. If any of the parsers in the sequence fail, this parser will fail. This parser works with any input type.
+     * @param first The first parser.
+     * @param second The second parser.
+     * @param third The third parser.
+     * @param fourth The fourth parser.
+     * @param fifth The fifth parser.
+     * @param combiner The function combining the results.
+     * @param <FirstType> The result type of the first parser.
+     * @param <SecondType> The result type of the second parser.
+     * @param <ThirdType> The result type of the third parser.
+     * @param <FourthType> The result type of the fourth parser.
+     * @param <FifthType> The result type of the fifth parser.
+     * @param <ResultType> The combined result type.
+     * @return The seq parser.
+     */
+    public static <FirstType, SecondType, ThirdType, FourthType, FifthType, ResultType> Sequence5Parser<FirstType, SecondType, ThirdType, FourthType, FifthType, ResultType> seq(Parser<FirstType> first, Parser<SecondType> second, Parser<ThirdType> third, Parser<FourthType> fourth, Parser<FifthType> fifth, Combiner5<FirstType, SecondType, ThirdType, FourthType, FifthType, ResultType> combiner) {
+        return new Sequence5Parser<>(first, second, third, fourth, fifth, combiner);
+    }
+
     /**
      * Parses a parser between two other parsers, which are ignored. This is internally treated as a sequence, and fails under the same circumstances.
      * @param before The parser to parse before the value.
@@ -389,6 +675,96 @@ public class Gradian {
         return (ManyParser<ResultType>) manyRange(parser, -1, -1).setParserName("many");
     }
 
+    /**
+     * Parses a value repeatedly until it cannot parse any more of that value, folding the values into a single result instead of collecting them into an array. For example, manyFold(digitValue, 0L, (sum, digit) -> sum + digit) sums the digits. This parser will always succeed. This parser works with any input type.
+     * @param parser The parser to repeat.
+     * @param initial The initial value, used as the result if the parser never matches.
+     * @param accumulator Combines the value so far with the next parsed value.
+     * @param <ElementType> The result type of the repeated parser.
+     * @param <ResultType> The type of the folded value.
+     * @return The manyFold parser.
+     */
+    public static <ElementType, ResultType> FoldParser<ElementType, ResultType> manyFold(Parser<ElementType> parser, ResultType initial, BiFunction<ResultType, ? super ElementType, ResultType> accumulator) {
+        FoldParser<ElementType, ResultType> fold = many(parser).fold(initial, accumulator);
+        fold.setParserName("manyFold");
+        return fold;
+    }
+
+    /**
+     * Parses a value repeatedly until it cannot parse any more of that value, collecting the values with a Collector instead of into an array. For example, manyCollect(entry, Collectors.toMap(...)) builds a map directly. This parser will always succeed. This parser works with any input type.
+     * @param parser The parser to repeat.
+     * @param collector The collector.
+     * @param <ElementType> The result type of the repeated parser.
+     * @param <ContainerType> The collector's mutable container type.
+     * @param <ResultType> The collector's result type.
+     * @return The manyCollect parser.
+     */
+    public static <ElementType, ContainerType, ResultType> CollectParser<ElementType, ContainerType, ResultType> manyCollect(Parser<ElementType> parser, Collector<? super ElementType, ContainerType, ResultType> collector) {
+        CollectParser<ElementType, ContainerType, ResultType> collect = many(parser).collect(collector);
+        collect.setParserName("manyCollect");
+        return collect;
+    }
+
+    /**
+     * Parses an int repeatedly until it cannot parse any more, resulting in an int[] of the values. The values are read through the primitive result channel, so none of them are boxed. This parser will always succeed. This parser works with any input type.
+     * @param parser The int parser to repeat.
+     * @return The manyInts parser.
+     */
+    public static ManyIntsParser manyInts(IntParser parser) {
+        return new ManyIntsParser(parser);
+    }
+
+    /**
+     * Parses a long repeatedly until it cannot parse any more, resulting in a long[] of the values. The values are read through the primitive result channel, so none of them are boxed. This parser will always succeed. This parser works with any input type.
+     * @param parser The long parser to repeat.
+     * @return The manyLongs parser.
+     */
+    public static ManyLongsParser manyLongs(LongParser parser) {
+        return new ManyLongsParser(parser);
+    }
+
+    /**
+     * Parses a double repeatedly until it cannot parse any more, resulting in a double[] of the values. The values are read through the primitive result channel, so none of them are boxed. This parser will always succeed. This parser works with any input type.
+     * @param parser The double parser to repeat.
+     * @return The manyDoubles parser.
+     */
+    public static ManyDoublesParser manyDoubles(DoubleParser parser) {
+        return new ManyDoublesParser(parser);
+    }
+
+    /**
+     * Parses an int repeatedly until it cannot parse any more, folding the values into a single int. For example, manyFoldInts(value, 0, Integer::sum) sums the values. The values are folded through the primitive result channel, so none of them are boxed. This parser will always succeed. This parser works with any input type.
+     * @param parser The int parser to repeat.
+     * @param initial The initial value, used as the result if the parser never matches.
+     * @param accumulator Combines the value so far with the next parsed value.
+     * @return The manyFoldInts parser.
+     */
+    public static FoldIntsParser manyFoldInts(IntParser parser, int initial, IntBinaryOperator accumulator) {
+        return new FoldIntsParser(parser, initial, accumulator);
+    }
+
+    /**
+     * Parses a long repeatedly until it cannot parse any more, folding the values into a single long. For example, manyFoldLongs(u8, 0, Long::sum) sums the bytes. The values are folded through the primitive result channel, so none of them are boxed. This parser will always succeed. This parser works with any input type.
+     * @param parser The long parser to repeat.
+     * @param initial The initial value, used as the result if the parser never matches.
+     * @param accumulator Combines the value so far with the next parsed value.
+     * @return The manyFoldLongs parser.
+     */
+    public static FoldLongsParser manyFoldLongs(LongParser parser, long initial, LongBinaryOperator accumulator) {
+        return new FoldLongsParser(parser, initial, accumulator);
+    }
+
+    /**
+     * Parses a double repeatedly until it cannot parse any more, folding the values into a single double. For example, manyFoldDoubles(value, 0, Double::sum) sums the values. The values are folded through the primitive result channel, so none of them are boxed. This parser will always succeed. This parser works with any input type.
+     * @param parser The double parser to repeat.
+     * @param initial The initial value, used as the result if the parser never matches.
+     * @param accumulator Combines the value so far with the next parsed value.
+     * @return The manyFoldDoubles parser.
+     */
+    public static FoldDoublesParser manyFoldDoubles(DoubleParser parser, double initial, DoubleBinaryOperator accumulator) {
+        return new FoldDoublesParser(parser, initial, accumulator);
+    }
+
     /**
      * Parses a value repeatedly until it cannot parse any more of that value. If the amount of matches is not in the specified range, this parser will fail. This parser works with any input type.
      * @param parser The parser to repeat.
@@ -614,12 +990,12 @@ public class Gradian {
     }
 
     /**
-     * Parses input elements until a certain value is reached in the input. If the end of input is reached or the input has an incorrect element type, this parser will fail. Otherwise, a string of the characters matched is returned. Use this parser for string inputs.
+     * Parses input elements until a certain value is reached in the input. If the end of input is reached or the input has an incorrect element type, this parser will fail. Otherwise, a string of the characters matched is returned. Literal terminators are found with indexOf(), and the characters are returned as a single substring. Use this parser for string inputs.
      * @param parser The parser to match everything until.
      * @return The stringUntil parser.
      */
-    public static Parser<String> stringUntil(Parser<?> parser) {
-        return everyCharacterUntil(parser).join("").setParserName("stringUntil");
+    public static StringUntilParser stringUntil(Parser<?> parser) {
+        return new StringUntilParser(parser);
     }
 
     /**
@@ -628,7 +1004,7 @@ public class Gradian {
      * @return The everythingUntil parser.
      */
     public static EverythingUntilParser<Character> everyCharacterUntil(Parser<?> parser) {
-        return new EverythingUntilParser<>(parser);
+        return (EverythingUntilParser<Character>) new EverythingUntilParser<Character>(parser).setElementType(Character.class);
     }
 
     /**
@@ -637,7 +1013,7 @@ public class Gradian {
      * @return The everythingUntil parser.
      */
     public static EverythingUntilParser<Byte> everyByteUntil(Parser<?> parser) {
-        return new EverythingUntilParser<>(parser);
+        return (EverythingUntilParser<Byte>) new EverythingUntilParser<Byte>(parser).setElementType(Byte.class);
     }
 
     /**
@@ -646,7 +1022,7 @@ public class Gradian {
      * @return The everythingUntil parser.
      */
     public static EverythingUntilParser<Token<?>> everyTokenUntil(Parser<?> parser) {
-        return new EverythingUntilParser<>(parser);
+        return (EverythingUntilParser<Token<?>>) new EverythingUntilParser<Token<?>>(parser).setElementType(Token.class);
     }
 
     /**
@@ -697,4 +1073,14 @@ public class Gradian {
     public static <ResultType> RecursiveParser<ResultType> recursive(ParserProducer<ResultType> producer) {
         return new RecursiveParser<>(producer);
     }
+
+    /**
+     * A parser which memoizes another parser, so it is only parsed once at each input index during a run (packrat parsing). Use this on parsers which are tried many times at the same index, eg. the options of a recursive choice, to avoid exponential parse times. Results are kept in a fixed-size memo table, whose capacity can be set by running on a new ParserContext(input, capacity).
+     * @param parser The parser to memoize.
+     * @param <ResultType> The result type.
+     * @return The memo parser.
+     */
+    public static <ResultType> MemoParser<ResultType> memo(Parser<ResultType> parser) {
+        return new MemoParser<>(parser);
+    }
 }
\ No newline at end of file
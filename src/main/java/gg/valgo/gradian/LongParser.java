@@ -0,0 +1,69 @@
+package gg.valgo.gradian;
+
+import gg.valgo.gradian.parsers.util.LongToIntParser;
+
+/**
+ * A parser which results in a long. Its parsing logic sets the result through the context's primitive result channel (succeedLong() and getLongResult()), so long-aware combinators such as manyLongs() can run it without boxing the result. When it is run as a normal parser, the result is boxed into a Long.
+ */
+public abstract class LongParser extends Parser<Long> {
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedLong() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeLong() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    public abstract boolean parseLong(ParserContext context);
+
+    /**
+     * Runs the parser on a certain context, validating the context before running the parsing logic. If parsing is successful, the result is read with ParserContext.getLongResult().
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    public boolean executeLong(ParserContext context) {
+        if (context.isException()) {
+            return false;
+        }
+
+        if (!inputIsValid(context.getInput())) {
+            return context.formatBadInputTypeException(this, getExpectedInputName(), context.getInput().getInputName());
+        }
+
+        return parseLong(context);
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<Long> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context, boxing the result. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return parseLong(context) && context.succeed(context.getIndex(), context.getLongResult());
+    }
+
+    /**
+     * Maps the result of this parser to an int, by narrowing it. The result is not boxed.
+     * @return The new parser, resulting in an int.
+     */
+    public IntParser asInt() {
+        return new LongToIntParser(this);
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return Long.class;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package gg.valgo.gradian;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of memoized parse results, keyed by memoizing parser and input index. It is shared by every memoizing parser during a run, so each one only parses a given index once. The table never grows: each key has a single slot, and storing a result in a used slot evicts the result already there. Evicted results are simply parsed again, so the capacity bounds the memory used without affecting the result of parsing.
+ */
+public class MemoTable {
+    /**
+     * The default capacity of a memo table.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    /**
+     * The input index of each entry, or -1 for empty slots.
+     */
+    private long[] indices;
+
+    /**
+     * The memoizing parser ID of each entry.
+     */
+    private int[] parsers;
+
+    /**
+     * The index the parser finished at, for each entry.
+     */
+    private long[] ends;
+
+    /**
+     * The result of each successful entry, or the ParserFailure of each failed entry.
+     */
+    private Object[] values;
+
+    /**
+     * The farthest failures recorded while parsing each entry (merged into one failure), or null if the parser recorded none.
+     */
+    private ParserFailure[] farthest;
+
+    /**
+     * The flags of each entry (SUCCESS and IGNORE_RESULT).
+     */
+    private byte[] flags;
+
+    /**
+     * The flag set for entries where the parser succeeded.
+     */
+    private static final byte SUCCESS = 1;
+
+    /**
+     * The flag set for entries whose result should be ignored.
+     */
+    private static final byte IGNORE_RESULT = 2;
+
+    /**
+     * The amount of bits in a slot number, used to turn a hash into a slot.
+     */
+    private int bits;
+
+    /**
+     * The amount of used slots.
+     */
+    private int size = 0;
+
+    /**
+     * Creates a new MemoTable with a given capacity. The capacity is rounded up to a power of two.
+     * @param capacity The most entries the table can hold.
+     */
+    public MemoTable(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Memo table capacity must be positive, got " + capacity + ".");
+        }
+
+        bits = Math.max(32 - Integer.numberOfLeadingZeros(capacity - 1), 1);
+        int slots = 1 << bits;
+
+        indices = new long[slots];
+        parsers = new int[slots];
+        ends = new long[slots];
+        values = new Object[slots];
+        farthest = new ParserFailure[slots];
+        flags = new byte[slots];
+        Arrays.fill(indices, -1);
+    }
+
+    /**
+     * Gets the most entries the table can hold.
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return indices.length;
+    }
+
+    /**
+     * Gets the amount of entries in the table.
+     * @return The size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the entry for a memoizing parser at an input index.
+     * @param parser The memoizing parser ID.
+     * @param index The input index.
+     * @return The slot of the entry, or -1 if there is no entry.
+     */
+    public int find(int parser, long index) {
+        int slot = slotOf(parser, index);
+        return indices[slot] == index && parsers[slot] == parser ? slot : -1;
+    }
+
+    /**
+     * Gets whether the parser succeeded, for the entry in a given slot.
+     * @param slot The slot, from find().
+     * @return Whether the parser succeeded.
+     */
+    public boolean isSuccess(int slot) {
+        return (flags[slot] & SUCCESS) != 0;
+    }
+
+    /**
+     * Gets whether the result should be ignored, for the entry in a given slot.
+     * @param slot The slot, from find().
+     * @return Whether the result should be ignored.
+     */
+    public boolean isIgnoreResult(int slot) {
+        return (flags[slot] & IGNORE_RESULT) != 0;
+    }
+
+    /**
+     * Gets the index the parser finished at, for the entry in a given slot.
+     * @param slot The slot, from find().
+     * @return The end index.
+     */
+    public long getEnd(int slot) {
+        return ends[slot];
+    }
+
+    /**
+     * Gets the result (if the parser succeeded) or the ParserFailure (if it failed), for the entry in a given slot.
+     * @param slot The slot, from find().
+     * @return The result or failure.
+     */
+    public Object getValue(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Gets the farthest failures recorded while parsing, for the entry in a given slot. These are replayed with the outcome, so memoizing a parser does not change what is reported as the farthest failure.
+     * @param slot The slot, from find().
+     * @return The farthest failures, merged into one failure, or null if the parser recorded none.
+     */
+    public ParserFailure getFarthestFailure(int slot) {
+        return farthest[slot];
+    }
+
+    /**
+     * Stores the outcome of a memoizing parser at an input index, evicting any other entry in its slot.
+     * @param parser The memoizing parser ID.
+     * @param index The input index the parser started at.
+     * @param success Whether the parser succeeded.
+     * @param end The index the parser finished at.
+     * @param value The result (if the parser succeeded) or the ParserFailure (if it failed).
+     * @param ignoreResult Whether the result should be ignored.
+     */
+    public void store(int parser, long index, boolean success, long end, Object value, boolean ignoreResult) {
+        store(parser, index, success, end, value, ignoreResult, null);
+    }
+
+    /**
+     * Stores the outcome of a memoizing parser at an input index, along with the farthest failures recorded while parsing, evicting any other entry in its slot.
+     * @param parser The memoizing parser ID.
+     * @param index The input index the parser started at.
+     * @param success Whether the parser succeeded.
+     * @param end The index the parser finished at.
+     * @param value The result (if the parser succeeded) or the ParserFailure (if it failed).
+     * @param ignoreResult Whether the result should be ignored.
+     * @param farthestFailure The farthest failures recorded while parsing, merged into one failure, or null if there were none.
+     */
+    public void store(int parser, long index, boolean success, long end, Object value, boolean ignoreResult, ParserFailure farthestFailure) {
+        int slot = slotOf(parser, index);
+        if (indices[slot] == -1) {
+            size++;
+        }
+
+        indices[slot] = index;
+        parsers[slot] = parser;
+        ends[slot] = end;
+        values[slot] = value;
+        farthest[slot] = farthestFailure;
+        flags[slot] = (byte) ((success ? SUCCESS : 0) | (ignoreResult ? IGNORE_RESULT : 0));
+    }
+
+    /**
+     * Removes every entry from the table.
+     */
+    public void clear() {
+        Arrays.fill(indices, -1);
+        Arrays.fill(values, null);
+        Arrays.fill(farthest, null);
+        size = 0;
+    }
+
+    /**
+     * Gets the slot for a memoizing parser at an input index.
+     * @param parser The memoizing parser ID.
+     * @param index The input index.
+     * @return The slot.
+     */
+    private int slotOf(int parser, long index) {
+        // Fibonacci hashing: the top bits of the product depend on every bit of the key.
+        return (int) (((index ^ ((long) parser << 40)) * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+}
\ No newline at end of file
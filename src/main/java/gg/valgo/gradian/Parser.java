@@ -1,14 +1,26 @@
 package gg.valgo.gradian;
 
+import gg.valgo.gradian.input.*;
+import gg.valgo.gradian.parsers.util.ByteSpanParser;
+import gg.valgo.gradian.parsers.util.MapToDoubleParser;
+import gg.valgo.gradian.parsers.util.MapToIntParser;
+import gg.valgo.gradian.parsers.util.MapToLongParser;
+import gg.valgo.gradian.parsers.util.MappedParser;
+import gg.valgo.gradian.parsers.util.SpanParser;
 import gg.valgo.gradian.util.interfaces.ErrorTransformer;
 import gg.valgo.gradian.util.interfaces.ParserResultMapper;
 import gg.valgo.gradian.util.interfaces.ParserStateMapper;
 import gg.valgo.gradian.util.interfaces.SuccessTransformer;
-import gg.valgo.gradian.parsers.util.MappedParser;
-import gg.valgo.gradian.input.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Represents a parser which parses an input. It updates the state with a new index and result, or if the parsing failed, returns a state with an exception.
@@ -27,6 +39,17 @@ public abstract class Parser<ResultType> {
      */
     public abstract ParserState<ResultType> parse(ParserState<?> state);
 
+    /**
+     * Runs the parsing logic of the parser on a mutable context, moving its index and setting its result in place. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead. By default, this converts the context into a ParserState and calls parse(ParserState), so parsers only need to override this to avoid creating a new state for every step.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    public boolean parse(ParserContext context) {
+        ParserState<ResultType> state = parse(context.toState());
+        context.update(state);
+        return !state.isException();
+    }
+
     /**
      * Gets the name of this parser, used in error messages.
      * @return The name of this parser.
@@ -62,6 +85,39 @@ public abstract class Parser<ResultType> {
         return "any input";
     }
 
+    /**
+     * Gets a description of what this parser expects to match, used for error messages. This is only called when an error message is actually needed, so parsers which fail with ParserContext.fail() should override this instead of building the message when they fail.
+     * @return The description of what this parser expects.
+     */
+    public String getExpected() {
+        return getParserName();
+    }
+
+    /**
+     * Gets everything this parser expects to match, used when the failures of several parsers are merged (eg. by a choice). A parser which matches one of several things can return each of them, so they merge with what other parsers expected.
+     * @return The set of what this parser expects.
+     */
+    public Set<String> getExpectedSet() {
+        String expected = getExpected();
+        return expected != null ? Collections.singleton(expected) : Collections.emptySet();
+    }
+
+    /**
+     * Gets the class that every result of this parser is an instance of, if it is known when the parser is built. Repetitions and sequences of this parser use it as the component type of their result arrays, so eg. many(letter) results in a String[]. Parsers whose result class is not known (eg. mapped parsers) return null, which is the default.
+     * @return The result class, or null if unknown.
+     */
+    public Class<?> getResultClass() {
+        return null;
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with (its FIRST set), used by ChoiceParser to skip options which cannot match the next element of the input. Parsers which can match without consuming any input, or whose first elements are not known, return null, which is the default.
+     * @return The FIRST set of this parser, or null if unknown.
+     */
+    public FirstSet getFirstSet() {
+        return null;
+    }
+
     /**
      * Runs a parser on a certain state, validating the state before running the parsing logic.
      * @param state The current parser state.
@@ -79,13 +135,41 @@ public abstract class Parser<ResultType> {
         return parse(state);
     }
 
+    /**
+     * Runs a parser on a certain context, validating the context before running the parsing logic.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    public boolean execute(ParserContext context) {
+        if (context.isException()) {
+            return false;
+        }
+
+        if (!inputIsValid(context.getInput())) {
+            return context.formatBadInputTypeException(this, getExpectedInputName(), context.getInput().getInputName());
+        }
+
+        return parse(context);
+    }
+
+    /**
+     * Implements parse(ParserState) for parsers which override parse(ParserContext), by running them on a new context created from the state.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    protected ParserState<ResultType> parseInContext(ParserState<?> state) {
+        ParserContext context = new ParserContext(state);
+        parse(context);
+        return context.toState();
+    }
+
     /**
      * Runs a parser on a given input string, returning the resulting state. Running state.getResult() will return the result (if parsing was successful). If parsing failed, state.isException() will return true, and state.getException() will return the exception.
      * @param input The string input to this parser.
      * @return The resulting parser state.
      */
     public ParserState<ResultType> run(String input) {
-        return execute(new ParserState<>(new StringParserInput(input)));
+        return run(new StringParserInput(input));
     }
 
     /**
@@ -94,7 +178,17 @@ public abstract class Parser<ResultType> {
      * @return The resulting parser state.
      */
     public ParserState<ResultType> run(byte[] input) {
-        return execute(new ParserState<>(new BytesParserInput(input)));
+        return run(new BytesParserInput(input));
+    }
+
+    /**
+     * Runs a parser on a given input file, returning the resulting state. The file is memory-mapped rather than read onto the heap. Running state.getResult() will return the result (if parsing was successful). If parsing failed, state.isException() will return true, and state.getException() will return the exception.
+     * @param input The path of the input file.
+     * @return The resulting parser state.
+     * @throws IOException Thrown if the file cannot be opened or mapped.
+     */
+    public ParserState<ResultType> run(Path input) throws IOException {
+        return run(new MappedFileParserInput(input));
     }
 
     /**
@@ -103,7 +197,7 @@ public abstract class Parser<ResultType> {
      * @return The resulting parser state.
      */
     public ParserState<ResultType> run(Token<?>[] input) {
-        return execute(new ParserState<>(new TokensParserInput(input)));
+        return run(new TokensParserInput(input));
     }
 
     /**
@@ -112,16 +206,29 @@ public abstract class Parser<ResultType> {
      * @return The resulting parser state.
      */
     public ParserState<ResultType> run(List<Token<?>> input) {
-        return execute(new ParserState<>(new TokensParserInput(input)));
+        return run(new TokensParserInput(input));
     }
 
     /**
-     * Runs a parser on a given input, returning the resulting state. Running state.getResult() will return the result (if parsing was successful). If parsing failed, state.isException() will return true, and state.getException() will return the exception.
+     * Runs a parser on a given input, returning the resulting state. Running state.getResult() will return the result (if parsing was successful). If parsing failed, state.isException() will return true, and state.getException() will return the exception. Parsing runs on a single ParserContext, which is only converted into a ParserState at the end. If parsing failed, state.getFarthestFailure() will return everything that was expected at the farthest point parsing reached.
      * @param input The input to this parser.
      * @return The resulting parser state.
      */
     public ParserState<ResultType> run(ParserInput<?> input) {
-        return execute(new ParserState<>(input));
+        return run(new ParserContext(input));
+    }
+
+    /**
+     * Runs a parser on a given context, returning the resulting state. Use this to configure the context before parsing (eg. the capacity of the memo table used by memoizing parsers).
+     * @param context The context to parse on.
+     * @return The resulting parser state.
+     */
+    public ParserState<ResultType> run(ParserContext context) {
+        boolean success = execute(context);
+
+        // The memo table is only needed while parsing, so the final state does not keep it.
+        ParserState<ResultType> state = context.<ResultType>toState().setMemoTable(null);
+        return success ? state : state.setFarthestFailure(context.getFarthestFailure(null));
     }
 
     /**
@@ -154,6 +261,22 @@ public abstract class Parser<ResultType> {
         return state.getResult();
     }
 
+    /**
+     * Runs a parser on a given input file, which is memory-mapped rather than read onto the heap. If parsing is successful, the result is immediately returned. If parsing fails, a ParserException is thrown.
+     * @param input The path of the input file.
+     * @return The result of parsing.
+     * @throws ParserException Thrown if parsing fails.
+     * @throws IOException Thrown if the file cannot be opened or mapped.
+     */
+    public ResultType getResult(Path input) throws ParserException, IOException {
+        ParserState<ResultType> state = run(input);
+        if (state.isException()) {
+            throw state.getException();
+        }
+
+        return state.getResult();
+    }
+
     /**
      * Runs a parser on a given input token array. If parsing is successful, the result is immediately returned. If parsing fails, a ParserException is thrown.
      * @param input The token array input to this parser.
@@ -233,6 +356,24 @@ public abstract class Parser<ResultType> {
         }
     }
 
+    /**
+     * Runs a parser on a given input file, and transforms the resulting state based on whether parsing was successful or not. The transformed state is returned. The file is memory-mapped rather than read onto the heap.
+     * @param input The path of the input file.
+     * @param successTransformer The success transformer, if parsing is successful.
+     * @param errorTransformer The error transformer, if parsing fails.
+     * @return The transformed result.
+     * @throws IOException Thrown if the file cannot be opened or mapped.
+     */
+    public ParserState<ResultType> fork(Path input, SuccessTransformer<ResultType> successTransformer, ErrorTransformer<ResultType> errorTransformer) throws IOException {
+        ParserState<ResultType> state = run(input);
+
+        if (state.isException()) {
+            return errorTransformer.transform(state.getException().getMessage(), state);
+        } else {
+            return successTransformer.transform(state.getResult(), state);
+        }
+    }
+
     /**
      * Runs a parser on a given input token array, and transforms the resulting state based on whether parsing was successful or not. The transformed state is returned.
      * @param input The input token array.
@@ -291,7 +432,34 @@ public abstract class Parser<ResultType> {
      * @return The new parser, whose result will get mapped.
      */
     public <NewResultType> MappedParser<ResultType, NewResultType> map(ParserResultMapper<ResultType, NewResultType> mapper) {
-        return mapState(state -> state.updateState(state.getIndex(), mapper.map(state.getResult())));
+        return new MappedParser<>(this, mapper);
+    }
+
+    /**
+     * Maps a result of this parser to an int. The mapped parser is an IntParser, so int-aware combinators (such as Gradian.manyInts()) can use the int without boxing it.
+     * @param mapper A lambda taking in a result and returning an int.
+     * @return The new parser, whose result will get mapped.
+     */
+    public MapToIntParser<ResultType> mapToInt(ToIntFunction<? super ResultType> mapper) {
+        return new MapToIntParser<>(this, mapper);
+    }
+
+    /**
+     * Maps a result of this parser to a long. The mapped parser is a LongParser, so long-aware combinators (such as Gradian.manyLongs()) can use the long without boxing it.
+     * @param mapper A lambda taking in a result and returning a long.
+     * @return The new parser, whose result will get mapped.
+     */
+    public MapToLongParser<ResultType> mapToLong(ToLongFunction<? super ResultType> mapper) {
+        return new MapToLongParser<>(this, mapper);
+    }
+
+    /**
+     * Maps a result of this parser to a double. The mapped parser is a DoubleParser, so double-aware combinators (such as Gradian.manyDoubles()) can use the double without boxing it.
+     * @param mapper A lambda taking in a result and returning a double.
+     * @return The new parser, whose result will get mapped.
+     */
+    public MapToDoubleParser<ResultType> mapToDouble(ToDoubleFunction<? super ResultType> mapper) {
+        return new MapToDoubleParser<>(this, mapper);
     }
 
     /**
@@ -328,4 +496,20 @@ public abstract class Parser<ResultType> {
     public MappedParser<ResultType, ResultType> ignore() {
         return mapState(state -> state.setIgnoreResult(true).retype());
     }
+
+    /**
+     * Maps the result of this parser to the range of the string input it matched, as a Span. The span refers to the input rather than copying it, and where possible this parser is run without building its own result, so tokenizer-like rules which only need offsets do not allocate their text.
+     * @return The new parser, resulting in the span of input matched.
+     */
+    public SpanParser span() {
+        return new SpanParser(this);
+    }
+
+    /**
+     * Maps the result of this parser to the range of the bytes input it matched, as a ByteSpan. The span refers to the input rather than copying it, and where possible this parser is run without building its own result.
+     * @return The new parser, resulting in the span of input matched.
+     */
+    public ByteSpanParser byteSpan() {
+        return new ByteSpanParser(this);
+    }
 }
\ No newline at end of file
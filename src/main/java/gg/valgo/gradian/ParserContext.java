@@ -0,0 +1,532 @@
+package gg.valgo.gradian;
+
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.Arrays;
+
+/**
+ * A mutable cursor used while parsing. Unlike ParserState, a single ParserContext is shared by every parser during a run: parsers move its index and overwrite its result or exception in place, instead of returning a new state for every step. A ParserState is only created at the edges, when parsing finishes or when a parser which only implements parse(ParserState) is called.
+ */
+public class ParserContext {
+    /**
+     * The input to the parser.
+     */
+    private ParserInput<?> input;
+
+    /**
+     * The current index of the parser in the input.
+     */
+    private long index = 0;
+
+    /**
+     * The reason the last parser failed, if it failed.
+     */
+    private ParserFailure failure = null;
+
+    /**
+     * The result of the last parser.
+     */
+    private Object result = null;
+
+    /**
+     * The result of the last int or long parser run through its primitive result channel (see IntParser and LongParser), so the value is not boxed.
+     */
+    private long longResult = 0;
+
+    /**
+     * The result of the last double parser run through its primitive result channel (see DoubleParser), so the value is not boxed.
+     */
+    private double doubleResult = 0;
+
+    /**
+     * Whether the result of the last parser should be ignored.
+     */
+    private boolean ignoreResult = false;
+
+    /**
+     * The capacity of the memo table, used when it is created.
+     */
+    private int memoCapacity = MemoTable.DEFAULT_CAPACITY;
+
+    /**
+     * The memo table shared by memoizing parsers during this run, or null if it has not been needed yet.
+     */
+    private MemoTable memoTable = null;
+
+    /**
+     * The most failures kept at the farthest failure index. Further failures at that index are dropped, so a parser which fails over and over at the same place cannot grow the set without bound.
+     */
+    private static final int MAX_FARTHEST_FAILURES = 64;
+
+    /**
+     * The farthest index any parser has failed at in the current failure scope, or -1 if no parser has failed in it yet.
+     */
+    private long farthestIndex = -1;
+
+    /**
+     * The failures at the farthest failure index, for the current failure scope and the scopes enclosing it. The current scope's failures are the elements from farthestStart up to farthestCount.
+     */
+    private ParserFailure[] farthest = null;
+
+    /**
+     * The index in the farthest array where the current failure scope's failures start.
+     */
+    private int farthestStart = 0;
+
+    /**
+     * The index in the farthest array after the current failure scope's last failure.
+     */
+    private int farthestCount = 0;
+
+    /**
+     * The farthest index and farthestStart of each enclosing failure scope, as pairs of elements.
+     */
+    private long[] scopes = null;
+
+    /**
+     * The amount of enclosing failure scopes.
+     */
+    private int scopeDepth = 0;
+
+    /**
+     * Creates a new ParserContext from an input, starting at index 0.
+     * @param input The input.
+     */
+    public ParserContext(ParserInput<?> input) {
+        this.input = input;
+    }
+
+    /**
+     * Creates a new ParserContext from an input, starting at index 0, whose memo table holds up to a given amount of entries.
+     * @param input The input.
+     * @param memoCapacity The capacity of the memo table used by memoizing parsers.
+     */
+    public ParserContext(ParserInput<?> input, int memoCapacity) {
+        this.input = input;
+        this.memoCapacity = memoCapacity;
+    }
+
+    /**
+     * Creates a new ParserContext with the same input, index, exception, result, ignoreResult, and memo table as a given ParserState.
+     * @param state The state to copy.
+     */
+    public ParserContext(ParserState<?> state) {
+        this.input = state.getInput();
+        update(state);
+    }
+
+    /**
+     * Gets the parser input.
+     * @return The parser input.
+     */
+    public ParserInput<?> getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the current parser index.
+     * @return The current parser index.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the current parser index.
+     * @param index The new parser index.
+     */
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    /**
+     * Gets whether the last parser had an exception (whether it failed).
+     * @return Whether the last parser had an exception.
+     */
+    public boolean isException() {
+        return failure != null;
+    }
+
+    /**
+     * Gets the parser exception, if it exists. The exception is created from the failure the first time it is needed.
+     * @return The parser exception, or null if there was no exception.
+     */
+    public ParserException getException() {
+        return failure != null ? failure.toException() : null;
+    }
+
+    /**
+     * Sets the parser exception.
+     * @param exception The new parser exception, or null if the exception is to be cleared.
+     */
+    public void setException(ParserException exception) {
+        this.failure = exception != null ? ParserFailure.of(exception, input, index) : null;
+    }
+
+    /**
+     * Gets the reason the last parser failed, if it failed.
+     * @return The parser failure, or null if there was no failure.
+     */
+    public ParserFailure getFailure() {
+        return failure;
+    }
+
+    /**
+     * Gets the result of the last parser. The result is not type checked, so the caller must know the result type of the parser that produced it.
+     * @param <ResultType> The result type of the last parser.
+     * @return The result of the last parser.
+     */
+    public <ResultType> ResultType getResult() {
+        return (ResultType) result;
+    }
+
+    /**
+     * Sets the result of the last parser.
+     * @param result The new result.
+     */
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
+    /**
+     * Gets whether the result of the last parser should be ignored (eg. in a list result).
+     * @return Whether the result should be ignored.
+     */
+    public boolean isIgnoreResult() {
+        return ignoreResult;
+    }
+
+    /**
+     * Sets whether the result of the last parser should be ignored.
+     * @param ignoreResult Whether the result should be ignored.
+     */
+    public void setIgnoreResult(boolean ignoreResult) {
+        this.ignoreResult = ignoreResult;
+    }
+
+    /**
+     * Records a successful parse, moving to a new index with a new result. This is the ParserContext equivalent of ParserState.updateState().
+     * @param index The new index.
+     * @param result The new result.
+     * @return Always true, so parsers can return this directly.
+     */
+    public boolean succeed(long index, Object result) {
+        this.index = index;
+        this.result = result;
+        this.ignoreResult = false;
+        return true;
+    }
+
+    /**
+     * Records a successful parse of an int parser through its primitive result channel, moving to a new index without boxing the result. The object result is cleared, so it must be read with getIntResult().
+     * @param index The new index.
+     * @param result The new result.
+     * @return Always true, so parsers can return this directly.
+     */
+    public boolean succeedInt(long index, int result) {
+        return succeedLong(index, result);
+    }
+
+    /**
+     * Records a successful parse of a long parser through its primitive result channel, moving to a new index without boxing the result. The object result is cleared, so it must be read with getLongResult().
+     * @param index The new index.
+     * @param result The new result.
+     * @return Always true, so parsers can return this directly.
+     */
+    public boolean succeedLong(long index, long result) {
+        this.index = index;
+        this.result = null;
+        this.longResult = result;
+        this.ignoreResult = false;
+        return true;
+    }
+
+    /**
+     * Records a successful parse of a double parser through its primitive result channel, moving to a new index without boxing the result. The object result is cleared, so it must be read with getDoubleResult().
+     * @param index The new index.
+     * @param result The new result.
+     * @return Always true, so parsers can return this directly.
+     */
+    public boolean succeedDouble(long index, double result) {
+        this.index = index;
+        this.result = null;
+        this.doubleResult = result;
+        this.ignoreResult = false;
+        return true;
+    }
+
+    /**
+     * Gets the result of the last int parser run through its primitive result channel.
+     * @return The result of the last int parser.
+     */
+    public int getIntResult() {
+        return (int) longResult;
+    }
+
+    /**
+     * Gets the result of the last long parser run through its primitive result channel.
+     * @return The result of the last long parser.
+     */
+    public long getLongResult() {
+        return longResult;
+    }
+
+    /**
+     * Gets the result of the last double parser run through its primitive result channel.
+     * @return The result of the last double parser.
+     */
+    public double getDoubleResult() {
+        return doubleResult;
+    }
+
+    /**
+     * Goes back to a given index, clearing any exception. Used by parsers which try another option after a failure.
+     * @param index The index to go back to.
+     */
+    public void backtrack(long index) {
+        this.index = index;
+        this.failure = null;
+    }
+
+    /**
+     * Records a failed parse.
+     * @param failure The reason parsing failed.
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean fail(ParserFailure failure) {
+        this.failure = failure;
+        result = null;
+        return false;
+    }
+
+    /**
+     * Records a failed parse at the current index, where a parser did not find what it expected. The failure is also added to the farthest failures, if it is at least as far as them. The message is only built if it is needed, from the parser's getExpected() and the input at the current index.
+     * @param parser The parser which failed.
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean fail(Parser<?> parser) {
+        return fail(track(new ParserFailure(parser, input, index, ParserFailure.Kind.EXPECTED, null, null)));
+    }
+
+    /**
+     * Records a failed parse at the current index, where a parser reached the end of input before finding what it expected. The failure is also added to the farthest failures, if it is at least as far as them. The message is only built if it is needed.
+     * @param parser The parser which failed.
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean failAtEnd(Parser<?> parser) {
+        return fail(track(new ParserFailure(parser, input, index, ParserFailure.Kind.END_OF_INPUT, null, null)));
+    }
+
+    /**
+     * Records a failed parse, with a specific message.
+     * @param message The exception message.
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean withException(String message) {
+        return fail(new ParserFailure(null, input, index, ParserFailure.Kind.MESSAGE, null, message));
+    }
+
+    /**
+     * Records a failed parse, with a formatted message (including the parser index).
+     * @param parser The parser which failed.
+     * @param message The message of what went wrong.
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean formatException(Parser<?> parser, String message) {
+        return fail(new ParserFailure(parser, input, index, ParserFailure.Kind.MESSAGE, null, message));
+    }
+
+    /**
+     * Records a failed parse at the current index, where a repetition matched the wrong amount of times. The failure is also added to the farthest failures, if it is at least as far as them. The message is only built if it is needed, from the parser's getExpected(), the count and the input at the current index.
+     * @param parser The repetition which failed.
+     * @param count The amount of times the repetition matched.
+     * @param unit What was counted, eg. "values".
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean failCount(Parser<?> parser, long count, String unit) {
+        return fail(track(new ParserFailure(parser, input, index, count, unit)));
+    }
+
+    /**
+     * Records a failed parse, with an "expected ___ but got ___ instead" message. The failure is also added to the farthest failures, if it is at least as far as them.
+     * @param parser The parser which failed.
+     * @param expected The expected value that the parser needed.
+     * @param actual The actual value that the parser got instead.
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean formatExpectedException(Parser<?> parser, String expected, String actual) {
+        return fail(track(new ParserFailure(parser, input, index, ParserFailure.Kind.EXPECTED, expected, actual)));
+    }
+
+    /**
+     * Records a failed parse, with a "bad input type" message.
+     * @param parser The parser which failed.
+     * @param expected The expected input type that the parser needed.
+     * @param actual The actual input type that the parser got instead.
+     * @return Always false, so parsers can return this directly.
+     */
+    public boolean formatBadInputTypeException(Parser<?> parser, String expected, String actual) {
+        return fail(new ParserFailure(parser, input, index, ParserFailure.Kind.BAD_INPUT_TYPE, expected, actual));
+    }
+
+    /**
+     * Gets the memo table shared by memoizing parsers during this run, creating it the first time this is called.
+     * @return The memo table.
+     */
+    public MemoTable getMemoTable() {
+        if (memoTable == null) {
+            memoTable = new MemoTable(memoCapacity);
+        }
+
+        return memoTable;
+    }
+
+    /**
+     * Gets the farthest index any parser has failed at in the current failure scope (the whole run, outside of any scope).
+     * @return The farthest failure index, or -1 if no parser has failed yet.
+     */
+    public long getFarthestIndex() {
+        return farthestIndex;
+    }
+
+    /**
+     * Gets the failures at the farthest failure index in the current failure scope (the whole run, outside of any scope), merged into one failure. Failures which were recovered from (eg. a choice option which failed before another option succeeded) are included, so this shows everything that could have come next at the farthest point parsing reached.
+     * @param parser The parser to blame the merged failure on, or null if the failure was not caused by a specific parser.
+     * @return The farthest failure, or null if no parser has failed yet.
+     */
+    public ParserFailure getFarthestFailure(Parser<?> parser) {
+        if (farthestCount == farthestStart) {
+            return null;
+        }
+
+        if (farthestCount == farthestStart + 1) {
+            return farthest[farthestStart];
+        }
+
+        return new ParserFailure(parser, input, farthestIndex, Arrays.copyOfRange(farthest, farthestStart, farthestCount));
+    }
+
+    /**
+     * Starts a new failure scope, so getFarthestFailure() only reports failures recorded from now on, even if they are behind failures recorded earlier. Used by parsers which merge the failures of their own options, such as ChoiceParser. Every call must be matched by a call to endFailureScope().
+     */
+    public void beginFailureScope() {
+        if (scopes == null) {
+            scopes = new long[16];
+        } else if (scopeDepth * 2 == scopes.length) {
+            scopes = Arrays.copyOf(scopes, scopes.length * 2);
+        }
+
+        scopes[scopeDepth * 2] = farthestIndex;
+        scopes[scopeDepth * 2 + 1] = farthestStart;
+        scopeDepth++;
+
+        farthestIndex = -1;
+        farthestStart = farthestCount;
+    }
+
+    /**
+     * Ends the current failure scope, adding its farthest failures to the enclosing scope as if they were recorded there: they replace the enclosing failures if they are farther, are added to them if they are at the same index, and are dropped if they are behind them.
+     */
+    public void endFailureScope() {
+        scopeDepth--;
+        long outerIndex = scopes[scopeDepth * 2];
+        int outerStart = (int) scopes[scopeDepth * 2 + 1];
+
+        if (farthestCount == farthestStart || farthestIndex < outerIndex) {
+            farthestCount = farthestStart;
+            farthestIndex = outerIndex;
+        } else if (farthestIndex > outerIndex) {
+            int count = farthestCount - farthestStart;
+            System.arraycopy(farthest, farthestStart, farthest, outerStart, count);
+            farthestCount = outerStart + count;
+        } else {
+            farthestCount = Math.min(farthestCount, outerStart + MAX_FARTHEST_FAILURES);
+        }
+
+        farthestStart = outerStart;
+    }
+
+    /**
+     * Adds a replayed failure (eg. one stored by a memoizing parser) to the farthest failures of the current failure scope, as if it had been recorded again. A merged failure adds each failure it was merged from.
+     * @param failure The replayed failure, or null to add nothing.
+     */
+    public void replayFailure(ParserFailure failure) {
+        if (failure == null) {
+            return;
+        }
+
+        for (ParserFailure alternative : failure.getAlternatives()) {
+            track(alternative);
+        }
+    }
+
+    /**
+     * Adds a failure to the farthest failures of the current failure scope. A failure past the farthest index replaces them, a failure at the farthest index is added to them, and a failure before it is ignored. This only stores the failure, so it costs the same however the failure would be formatted.
+     * @param failure The failure.
+     * @return The same failure, for method chaining.
+     */
+    private ParserFailure track(ParserFailure failure) {
+        long failureIndex = failure.getIndex();
+        if (failureIndex > farthestIndex) {
+            ensureFarthestCapacity(farthestStart + 1);
+            farthestIndex = failureIndex;
+            farthest[farthestStart] = failure;
+            farthestCount = farthestStart + 1;
+        } else if (failureIndex == farthestIndex && farthestCount - farthestStart < MAX_FARTHEST_FAILURES && farthest[farthestCount - 1].getParser() != failure.getParser()) {
+            ensureFarthestCapacity(farthestCount + 1);
+            farthest[farthestCount++] = failure;
+        }
+
+        return failure;
+    }
+
+    /**
+     * Grows the farthest failures array, if needed, to hold a given amount of failures.
+     * @param capacity The amount of failures needed.
+     */
+    private void ensureFarthestCapacity(int capacity) {
+        if (farthest == null) {
+            farthest = new ParserFailure[Math.max(MAX_FARTHEST_FAILURES, capacity)];
+        } else if (capacity > farthest.length) {
+            farthest = Arrays.copyOf(farthest, Math.max(farthest.length * 2, capacity));
+        }
+    }
+
+    /**
+     * Copies the index, failure, result, and ignoreResult of a ParserState into this context. The state's memo table is also used, if it has one.
+     * @param state The state to copy.
+     */
+    public void update(ParserState<?> state) {
+        index = state.getIndex();
+        failure = state.getFailure();
+        result = state.getResult();
+        ignoreResult = state.isIgnoreResult();
+
+        if (state.getMemoTable() != null) {
+            memoTable = state.getMemoTable();
+        }
+    }
+
+    /**
+     * Creates an immutable snapshot of this context as a ParserState.
+     * @param <ResultType> The result type of the last parser.
+     * @return The new ParserState.
+     */
+    public <ResultType> ParserState<ResultType> toState() {
+        return new ParserState<ResultType>(input).setIndex(index).setFailure(failure).setResult(getResult()).setIgnoreResult(ignoreResult).setMemoTable(memoTable);
+    }
+
+    /**
+     * Converts this parser context to a string representation.
+     * @return The string representation.
+     */
+    @Override
+    public String toString() {
+        return "ParserContext {" +
+                "input = " + input +
+                ", index = " + index +
+                ", failure = " + failure +
+                ", result = " + result +
+                '}';
+    }
+}
\ No newline at end of file
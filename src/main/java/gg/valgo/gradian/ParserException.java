@@ -4,6 +4,11 @@ package gg.valgo.gradian;
  * An exception thrown by a parser, due to some parsing error.
  */
 public class ParserException extends Exception {
+    /**
+     * The failure this exception was created from, or null if it was created from a message.
+     */
+    private ParserFailure failure = null;
+
     /**
      * Creates a new ParserException with a specified message and throwable.
      * @param message The message.
@@ -11,4 +16,29 @@ public class ParserException extends Exception {
     public ParserException(String message) {
         super(message);
     }
+
+    /**
+     * Creates a new ParserException from a parser failure. The message is taken from the failure.
+     * @param failure The failure.
+     */
+    public ParserException(ParserFailure failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Gets the failure this exception was created from.
+     * @return The failure, or null if this exception was created from a message.
+     */
+    public ParserFailure getFailure() {
+        return failure;
+    }
+
+    /**
+     * Gets the message of this exception.
+     * @return The message.
+     */
+    @Override
+    public String getMessage() {
+        return failure != null ? failure.getMessage() : super.getMessage();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,330 @@
+package gg.valgo.gradian;
+
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A record of why and where a parser failed. Failures are created whenever a parser fails, including failures which a combinator discards straight away (eg. a choice trying its next option), so creating one only stores its parts: the message text and the ParserException are only built when they are asked for.
+ */
+public class ParserFailure {
+    /**
+     * The kinds of parser failure, which decide how the message is formatted.
+     */
+    public enum Kind {
+        /**
+         * The parser expected something else at the failure index.
+         */
+        EXPECTED,
+
+        /**
+         * The parser expected something else, but the end of input was reached.
+         */
+        END_OF_INPUT,
+
+        /**
+         * The parser does not accept the type of the input.
+         */
+        BAD_INPUT_TYPE,
+
+        /**
+         * The parser failed with a custom message.
+         */
+        MESSAGE
+    }
+
+    /**
+     * The parser which failed, or null if the failure was not caused by a specific parser.
+     */
+    private Parser<?> parser;
+
+    /**
+     * The input being parsed.
+     */
+    private ParserInput<?> input;
+
+    /**
+     * The index in the input that the parser failed at.
+     */
+    private long index;
+
+    /**
+     * The kind of failure.
+     */
+    private Kind kind;
+
+    /**
+     * What the parser expected, or null if the parser's getExpected() should be used.
+     */
+    private String expected;
+
+    /**
+     * What the parser got instead (or the custom message, for MESSAGE failures), or null if the input at the failure index should be used.
+     */
+    private String actual;
+
+    /**
+     * For a repetition which matched the wrong amount of times, the amount of times it matched, used to build the actual value. Otherwise -1.
+     */
+    private long count = -1;
+
+    /**
+     * For a repetition which matched the wrong amount of times, what was counted (eg. "values"), used to build the actual value. Otherwise null.
+     */
+    private String unit = null;
+
+    /**
+     * The failures this failure was merged from, if several parsers failed at the same index, or null if this is a single failure.
+     */
+    private ParserFailure[] alternatives = null;
+
+    /**
+     * The set of everything that was expected at the failure index, once it has been built.
+     */
+    private Set<String> expectedSet = null;
+
+    /**
+     * The formatted message, once it has been built.
+     */
+    private String message = null;
+
+    /**
+     * The exception for this failure, once it has been created.
+     */
+    private ParserException exception = null;
+
+    /**
+     * Creates a new ParserFailure.
+     * @param parser The parser which failed, or null if the failure was not caused by a specific parser.
+     * @param input The input being parsed.
+     * @param index The index in the input that the parser failed at.
+     * @param kind The kind of failure.
+     * @param expected What the parser expected, or null if the parser's getExpected() should be used.
+     * @param actual What the parser got instead (or the custom message, for MESSAGE failures), or null if the input at the failure index should be used.
+     */
+    public ParserFailure(Parser<?> parser, ParserInput<?> input, long index, Kind kind, String expected, String actual) {
+        this.parser = parser;
+        this.input = input;
+        this.index = index;
+        this.kind = kind;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Creates a new ParserFailure for a repetition which matched the wrong amount of times. The actual value (eg. "2 values, string "abc"") is only built when it is asked for.
+     * @param parser The repetition which failed.
+     * @param input The input being parsed.
+     * @param index The index in the input that the repetition started at.
+     * @param count The amount of times the repetition matched.
+     * @param unit What was counted, eg. "values".
+     */
+    public ParserFailure(Parser<?> parser, ParserInput<?> input, long index, long count, String unit) {
+        this(parser, input, index, Kind.EXPECTED, null, null);
+        this.count = count;
+        this.unit = unit;
+    }
+
+    /**
+     * Creates a new ParserFailure merged from several failures at the same index. The expected value is built from all of their expected values, but only when it is asked for.
+     * @param parser The parser which failed (eg. the choice whose alternatives failed), or null if the failure was not caused by a specific parser.
+     * @param input The input being parsed.
+     * @param index The index in the input that the parsers failed at.
+     * @param alternatives The failures to merge. The array is not copied.
+     */
+    public ParserFailure(Parser<?> parser, ParserInput<?> input, long index, ParserFailure[] alternatives) {
+        this(parser, input, index, Kind.END_OF_INPUT, null, null);
+        this.alternatives = alternatives;
+
+        for (ParserFailure alternative : alternatives) {
+            if (alternative.kind != Kind.END_OF_INPUT) {
+                kind = Kind.EXPECTED;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Creates a new ParserFailure from an existing exception. If the exception was created from a failure, that failure is returned instead.
+     * @param exception The exception.
+     * @param input The input being parsed.
+     * @param index The index in the input that parsing failed at.
+     * @return The failure.
+     */
+    public static ParserFailure of(ParserException exception, ParserInput<?> input, long index) {
+        if (exception.getFailure() != null) {
+            return exception.getFailure();
+        }
+
+        ParserFailure failure = new ParserFailure(null, input, index, Kind.MESSAGE, null, exception.getMessage());
+        failure.message = exception.getMessage();
+        failure.exception = exception;
+        return failure;
+    }
+
+    /**
+     * Gets the parser which failed.
+     * @return The parser, or null if the failure was not caused by a specific parser.
+     */
+    public Parser<?> getParser() {
+        return parser;
+    }
+
+    /**
+     * Gets the input being parsed.
+     * @return The input.
+     */
+    public ParserInput<?> getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the index in the input that the parser failed at.
+     * @return The failure index.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the kind of failure.
+     * @return The kind of failure.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets a description of what the parser expected.
+     * @return What the parser expected.
+     */
+    public String getExpected() {
+        if (expected == null && alternatives != null) {
+            expected = joinExpected(getExpectedSet());
+        } else if (expected == null && parser != null) {
+            expected = parser.getExpected();
+        }
+
+        return expected;
+    }
+
+    /**
+     * Gets the failures this failure was merged from. A single failure is its own only alternative.
+     * @return The merged failures.
+     */
+    public List<ParserFailure> getAlternatives() {
+        return alternatives != null ? Collections.unmodifiableList(Arrays.asList(alternatives)) : Collections.singletonList(this);
+    }
+
+    /**
+     * Gets the set of everything that was expected at the failure index, in the order the parsers failed, without duplicates.
+     * @return The expected set.
+     */
+    public Set<String> getExpectedSet() {
+        if (expectedSet == null) {
+            Set<String> set = new LinkedHashSet<>();
+            if (alternatives != null) {
+                for (ParserFailure alternative : alternatives) {
+                    set.addAll(alternative.getExpectedSet());
+                }
+            } else if (expected == null && parser != null) {
+                set.addAll(parser.getExpectedSet());
+            } else if (getExpected() != null) {
+                set.add(getExpected());
+            }
+
+            expectedSet = Collections.unmodifiableSet(set);
+        }
+
+        return expectedSet;
+    }
+
+    /**
+     * Gets a description of what the parser got instead. For MESSAGE failures, this is the custom message.
+     * @return What the parser got instead.
+     */
+    public String getActual() {
+        if (actual == null) {
+            actual = input.getTruncatedString(index);
+
+            if (unit != null) {
+                actual = count + " " + unit + ", " + actual;
+            } else if (kind == Kind.END_OF_INPUT) {
+                actual = actual.concat(" (end of input reached)");
+            }
+        }
+
+        return actual;
+    }
+
+    /**
+     * Gets the formatted message for this failure, including the parser name and index.
+     * @return The message.
+     */
+    public String getMessage() {
+        if (message == null) {
+            String description;
+            switch (kind) {
+                case BAD_INPUT_TYPE:
+                    description = "Bad input type! Expected " + getExpected() + " but got " + getActual() + " instead.";
+                    break;
+                case MESSAGE:
+                    description = getActual();
+                    break;
+                default:
+                    description = "Expected " + getExpected() + " but got " + getActual() + " instead.";
+                    break;
+            }
+
+            message = parser == null ? description : "Exception in " + parser.getParserName() + " parser (position " + index + "): " + description;
+        }
+
+        return message;
+    }
+
+    /**
+     * Gets the exception for this failure, creating it the first time this is called.
+     * @return The exception.
+     */
+    public ParserException toException() {
+        if (exception == null) {
+            exception = new ParserException(this);
+        }
+
+        return exception;
+    }
+
+    /**
+     * Joins an expected set into a single description, eg. "a, b or c".
+     * @param expectedSet The expected set.
+     * @return The description.
+     */
+    private static String joinExpected(Set<String> expectedSet) {
+        StringBuilder builder = new StringBuilder();
+        Iterator<String> iterator = expectedSet.iterator();
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            if (builder.length() > 0) {
+                builder.append(iterator.hasNext() ? ", " : " or ");
+            }
+
+            builder.append(value);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Converts this failure to a string representation.
+     * @return The string representation.
+     */
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
\ No newline at end of file
@@ -15,12 +15,17 @@ public class ParserState<ResultType> {
     /**
      * The current index of the parser in the input.
      */
-    private int index = 0;
+    private long index = 0;
 
     /**
-     * A parser exception, if the parser has failed.
+     * The reason the parser failed, if it has failed.
      */
-    private ParserException exception = null;
+    private ParserFailure failure = null;
+
+    /**
+     * The failures at the farthest index any parser reached, merged into one failure. Only set on the final state of a run which failed.
+     */
+    private ParserFailure farthestFailure = null;
 
     /**
      * The result of parsing.
@@ -32,6 +37,11 @@ public class ParserState<ResultType> {
      */
     private boolean ignoreResult = false;
 
+    /**
+     * The memo table shared by memoizing parsers during this run, or null if none has been created. It is carried by states so that parsers which only use ParserStates (eg. coroutines) do not lose it.
+     */
+    private MemoTable memoTable = null;
+
     /**
      * Creates a new ParserState from an input.
      * @param input The input.
@@ -62,7 +72,7 @@ public class ParserState<ResultType> {
      * Gets the current parser index.
      * @return The current parser index.
      */
-    public int getIndex() {
+    public long getIndex() {
         return index;
     }
 
@@ -71,7 +81,7 @@ public class ParserState<ResultType> {
      * @param index The new parser index.
      * @return This ParserState, for method chaining.
      */
-    public ParserState<ResultType> setIndex(int index) {
+    public ParserState<ResultType> setIndex(long index) {
         this.index = index;
         return this;
     }
@@ -81,15 +91,15 @@ public class ParserState<ResultType> {
      * @return Whether the parser had an exception.
      */
     public boolean isException() {
-        return exception != null;
+        return failure != null;
     }
 
     /**
-     * Gets the parser exception, if it exists.
+     * Gets the parser exception, if it exists. The exception is created from the failure the first time it is needed.
      * @return The parser exception, or null if there was no exception.
      */
     public ParserException getException() {
-        return exception;
+        return failure != null ? failure.toException() : null;
     }
 
     /**
@@ -98,7 +108,61 @@ public class ParserState<ResultType> {
      * @return This ParserState, for method chaining.
      */
     public ParserState<ResultType> setException(ParserException exception) {
-        this.exception = exception;
+        this.failure = exception != null ? ParserFailure.of(exception, input, index) : null;
+        return this;
+    }
+
+    /**
+     * Gets the reason the parser failed, if it has failed.
+     * @return The parser failure, or null if there was no failure.
+     */
+    public ParserFailure getFailure() {
+        return failure;
+    }
+
+    /**
+     * Sets the reason the parser failed.
+     * @param failure The new parser failure, or null if the failure is to be cleared.
+     * @return This ParserState, for method chaining.
+     */
+    public ParserState<ResultType> setFailure(ParserFailure failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    /**
+     * Gets the failures at the farthest index any parser reached, merged into one failure. This is only set on the final state of a run which failed, and shows everything that could have come next at the farthest point parsing reached, even if the failure that ended parsing was somewhere else.
+     * @return The farthest failure, or null if it was not recorded.
+     */
+    public ParserFailure getFarthestFailure() {
+        return farthestFailure;
+    }
+
+    /**
+     * Sets the failures at the farthest index any parser reached.
+     * @param farthestFailure The new farthest failure, or null if it is to be cleared.
+     * @return This ParserState, for method chaining.
+     */
+    public ParserState<ResultType> setFarthestFailure(ParserFailure farthestFailure) {
+        this.farthestFailure = farthestFailure;
+        return this;
+    }
+
+    /**
+     * Gets the memo table shared by memoizing parsers during this run.
+     * @return The memo table, or null if none has been created.
+     */
+    public MemoTable getMemoTable() {
+        return memoTable;
+    }
+
+    /**
+     * Sets the memo table shared by memoizing parsers during this run.
+     * @param memoTable The new memo table.
+     * @return This ParserState, for method chaining.
+     */
+    public ParserState<ResultType> setMemoTable(MemoTable memoTable) {
+        this.memoTable = memoTable;
         return this;
     }
 
@@ -143,7 +207,7 @@ public class ParserState<ResultType> {
      * @return The duplicate ParserState.
      */
     public ParserState<ResultType> duplicate() {
-        return new ParserState<ResultType>(input).setIndex(index).setException(exception).setResult(result).setIgnoreResult(ignoreResult);
+        return new ParserState<ResultType>(input).setIndex(index).setFailure(failure).setResult(result).setIgnoreResult(ignoreResult).setMemoTable(memoTable);
     }
 
     /**
@@ -152,7 +216,7 @@ public class ParserState<ResultType> {
      * @return The retyped ParserState.
      */
     public <NewResultType> ParserState<NewResultType> retype() {
-        return new ParserState<NewResultType>(input).setIndex(index).setException(exception).setResult(null).setIgnoreResult(ignoreResult);
+        return new ParserState<NewResultType>(input).setIndex(index).setFailure(failure).setResult(null).setIgnoreResult(ignoreResult).setMemoTable(memoTable);
     }
 
     /**
@@ -162,7 +226,7 @@ public class ParserState<ResultType> {
      * @param <NewResultType> The type of the new result.
      * @return The updated ParserState.
      */
-    public <NewResultType> ParserState<NewResultType> updateState(int index, NewResultType result) {
+    public <NewResultType> ParserState<NewResultType> updateState(long index, NewResultType result) {
         return this.<NewResultType>retype().setIndex(index).setResult(result).setIgnoreResult(false);
     }
 
@@ -172,7 +236,7 @@ public class ParserState<ResultType> {
      * @return The updated ParserState.
      */
     public ParserState<ResultType> withException(String message) {
-        return duplicate().setException(new ParserException(message));
+        return duplicate().setFailure(new ParserFailure(null, input, index, ParserFailure.Kind.MESSAGE, null, message));
     }
 
     /**
@@ -182,7 +246,7 @@ public class ParserState<ResultType> {
      * @return The updated ParserState.
      */
     public ParserState<ResultType> formatException(Parser<?> parser, String message) {
-        return withException("Exception in " + parser.getParserName() + " parser (position " + index + "): " + message);
+        return duplicate().setFailure(new ParserFailure(parser, input, index, ParserFailure.Kind.MESSAGE, null, message));
     }
 
     /**
@@ -193,7 +257,7 @@ public class ParserState<ResultType> {
      * @return The updated ParserState.
      */
     public ParserState<ResultType> formatExpectedException(Parser<?> parser, String expected, String actual) {
-        return formatException(parser, "Expected " + expected + " but got " + actual + " instead.");
+        return duplicate().setFailure(new ParserFailure(parser, input, index, ParserFailure.Kind.EXPECTED, expected, actual));
     }
 
     /**
@@ -204,7 +268,7 @@ public class ParserState<ResultType> {
      * @return The updated ParserState.
      */
     public ParserState<ResultType> formatBadInputTypeException(Parser<?> parser, String expected, String actual) {
-        return formatException(parser, "Bad input type! Expected " + expected + " but got " + actual + " instead.");
+        return duplicate().setFailure(new ParserFailure(parser, input, index, ParserFailure.Kind.BAD_INPUT_TYPE, expected, actual));
     }
 
     /**
@@ -216,7 +280,7 @@ public class ParserState<ResultType> {
         return "ParserState {" +
                 "input = " + input +
                 ", index = " + index +
-                ", exception = " + exception +
+                ", failure = " + failure +
                 ", result = " + result +
                 '}';
     }
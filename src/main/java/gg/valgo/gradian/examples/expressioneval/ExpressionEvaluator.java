@@ -12,53 +12,22 @@ import java.util.HashMap;
 public class ExpressionEvaluator {
     public static final Parser<String> openParenthesis = Gradian.string("(");
     public static final Parser<String> closeParenthesis = Gradian.string(")");
-    public static final Parser<String> dot = Gradian.string(".");
     public static final Parser<String> minus = Gradian.string("-");
-    public static final Parser<String> plusOrMinus = Gradian.choice(Gradian.string("+"), minus);
     public static final Parser<String> comma = Gradian.string(",");
     public static final Parser<String> equalSign = Gradian.string("=");
     public static final Parser<String> semicolon = Gradian.string(";");
 
-    public static final Parser<ExpressionAST> value = Gradian.recursive(() -> Gradian.anyTypeChoice(
+    public static final Parser<ExpressionAST> value = Gradian.memo(Gradian.recursive(() -> Gradian.anyTypeChoice(
             ExpressionEvaluator.number,
             Gradian.between(openParenthesis, closeParenthesis, ExpressionEvaluator.additives),
-            Gradian.anyTypeSequence(minus.ignore(), ExpressionEvaluator.value).index(0).<ExpressionAST>castMap().map(ASTNegation::new),
+            Gradian.seq(minus, ExpressionEvaluator.value, (sign, operand) -> new ASTNegation(operand)),
             ExpressionEvaluator.call,
             ExpressionEvaluator.variable
-    ).castMap());
-
-    public static final Parser<Double> integerParser = Gradian.sequence(
-            Gradian.maybe(plusOrMinus).valueIfAbsent(""),
-            Gradian.digits,
-            Gradian.maybe(dot).ignore()
-    ).join("").map(Double::parseDouble);
-
-    public static final Parser<Double> floatParser = Gradian.sequence(
-            Gradian.maybe(plusOrMinus).valueIfAbsent(""),
-            Gradian.maybe(Gradian.digits).valueIfAbsent("0"),
-            dot,
-            Gradian.digits
-    ).join("").map(Double::parseDouble);
-
-    public static final Parser<Double> scientificNotation = Gradian.anyTypeSequence(
-            Gradian.choice(
-                    floatParser,
-                    integerParser
-            ),
-            Gradian.choice(
-                    Gradian.string("e"),
-                    Gradian.string("E")
-            ).ignore(),
-            integerParser
-    ).map(values -> (double) values[0] * Math.pow(10, (double) values[1]));
-
-    public static final Parser<ASTNumber> number = Gradian.choice(
-            scientificNotation,
-            floatParser,
-            integerParser
-    ).map(ASTNumber::new);
-
-    public static final Parser<String> identifier = Gradian.regex("[A-Za-z_][A-Za-z0-9_]*");
+    ).castMap()));
+
+    public static final Parser<ASTNumber> number = Gradian.float64.map(ASTNumber::new);
+
+    public static final Parser<String> identifier = Gradian.memo(Gradian.regex("[A-Za-z_][A-Za-z0-9_]*"));
     public static final Parser<ASTVariable> variable = identifier.map(ASTVariable::new);
 
     public static final Parser<ExpressionAST> powers = Gradian.coroutine(ctx -> {
@@ -0,0 +1,108 @@
+package gg.valgo.gradian.input;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A range of bytes in a bytes input, used as a parser result instead of a copied array. The bytes are read from the input when needed, and only copied by toArray() or toString(). For stream inputs, the bytes must still be in the stream's window when they are read, so a span should be used (or copied) before parsing moves more than a window past it.
+ */
+public class ByteSpan {
+    /**
+     * The input the bytes are in.
+     */
+    private BytesParserInput input;
+
+    /**
+     * The index of the first byte in the input (inclusive).
+     */
+    private long start;
+
+    /**
+     * The index after the last byte in the input (exclusive).
+     */
+    private long end;
+
+    /**
+     * Creates a new ByteSpan of a bytes input.
+     * @param input The input the bytes are in.
+     * @param start The index of the first byte in the input (inclusive).
+     * @param end The index after the last byte in the input (exclusive).
+     */
+    public ByteSpan(BytesParserInput input, long start, long end) {
+        this.input = input;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Gets the input the bytes are in.
+     * @return The input.
+     */
+    public BytesParserInput getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the index of the first byte in the input.
+     * @return The start index (inclusive).
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the index after the last byte in the input.
+     * @return The end index (exclusive).
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the amount of bytes in this span.
+     * @return The length.
+     */
+    public int length() {
+        return Math.toIntExact(end - start);
+    }
+
+    /**
+     * Gets a byte in this span, without copying the span.
+     * @param index The index of the byte in this span.
+     * @return The byte.
+     * @throws IndexOutOfBoundsException Thrown if the index is outside of this span.
+     */
+    public byte get(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of a span of length " + (end - start) + ".");
+        }
+
+        return input.getByte(start + index);
+    }
+
+    /**
+     * Copies the bytes of this span into a new array.
+     * @return The bytes.
+     */
+    public byte[] toArray() {
+        return input.getBytes(start, end);
+    }
+
+    /**
+     * Decodes the bytes of this span into a string.
+     * @param charset The charset of the bytes.
+     * @return The string.
+     */
+    public String toString(Charset charset) {
+        return new String(toArray(), charset);
+    }
+
+    /**
+     * Decodes the bytes of this span into a string, as UTF-8.
+     * @return The string.
+     */
+    @Override
+    public String toString() {
+        return toString(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -1,37 +1,337 @@
 package gg.valgo.gradian.input;
 
+import gg.valgo.gradian.util.interfaces.BytePredicate;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 /**
- * A class representing a byte array input to a parser.
+ * A class representing a byte array input to a parser. The bytes are stored unboxed in a byte buffer, so this input only takes up one byte of memory per input byte.
  */
 public class BytesParserInput extends ParserInput<Byte> {
     /**
-     * The input byte array.
+     * Reads 8 bytes of a byte array as a little endian long in a single load, used to search 8 bytes at a time.
      */
-    private Byte[] bytes;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
 
     /**
-     * Creates a new BytesParserInput from a given byte array.
+     * Reads 2 bytes of a byte buffer as a big endian short in a single load, used to read binary numbers.
+     */
+    private static final VarHandle SHORT_BE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Reads 2 bytes of a byte buffer as a little endian short in a single load, used to read binary numbers.
+     */
+    private static final VarHandle SHORT_LE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Reads 4 bytes of a byte buffer as a big endian int in a single load, used to read binary numbers.
+     */
+    private static final VarHandle INT_BE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Reads 4 bytes of a byte buffer as a little endian int in a single load, used to read binary numbers.
+     */
+    private static final VarHandle INT_LE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Reads 8 bytes of a byte buffer as a big endian long in a single load, used to read binary numbers.
+     */
+    private static final VarHandle LONG_BE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Reads 8 bytes of a byte buffer as a little endian long in a single load, used to read binary numbers.
+     */
+    private static final VarHandle LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * A long with every byte set to 0x01.
+     */
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    /**
+     * A long with every byte set to 0x80.
+     */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * The input bytes. Index 0 of the buffer is the start of the input.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a new BytesParserInput without a buffer. Subclasses using this constructor store their bytes some other way, and must override getByte(), length() and getBuffer().
+     */
+    protected BytesParserInput() {}
+
+    /**
+     * Creates a new BytesParserInput from a given byte buffer. The input consists of the bytes between the buffer's position and limit. The buffer is not copied, so it should not be modified while parsing.
+     * @param buffer The input byte buffer.
+     */
+    public BytesParserInput(ByteBuffer buffer) {
+        this.buffer = buffer.slice();
+    }
+
+    /**
+     * Creates a new BytesParserInput from a given byte array. The array is not copied, so it should not be modified while parsing.
      * @param bytes The input byte array.
      */
-    public BytesParserInput(Byte[] bytes) {
-        this.bytes = bytes;
+    public BytesParserInput(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
     }
 
     /**
      * Creates a new BytesParserInput from a given byte array.
      * @param bytes The input byte array.
      */
-    public BytesParserInput(byte[] bytes) {
+    public BytesParserInput(Byte[] bytes) {
         this(transformByteArray(bytes));
     }
 
     /**
-     * Generates an array of elements that this parser input consists of. For example, a string ParserInput will generate and return an array of characters here.
+     * Gets a read-only view of the input bytes. Index 0 of the view is the start of the input.
+     * @return The input byte buffer.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a byte at a given index in the input, without boxing it.
+     * @param index The index of the byte.
+     * @return The byte.
+     */
+    public byte getByte(long index) {
+        return buffer.get((int) index);
+    }
+
+    /**
+     * Reads an unsigned big or little endian number of bytes at a given index, without boxing or copying them. If the input has a buffer, 2, 4 and 8 byte numbers are read with a single load through a byte buffer view. Otherwise, the number is assembled a byte at a time. The caller must check that enough bytes are left.
+     * @param index The index of the first byte.
+     * @param bytes The amount of bytes to read, up to 8.
+     * @param littleEndian Whether the number is little-endian or not.
+     * @return The number, zero-extended to a long. For 8 bytes, this is the raw 64 bits.
+     */
+    public long getUnsigned(long index, int bytes, boolean littleEndian) {
+        if (buffer != null) {
+            return getUnsigned(buffer, (int) index, bytes, littleEndian);
+        }
+
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = value << 8 | getByte(index + (littleEndian ? bytes - i - 1 : i)) & 0xFF;
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads an unsigned big or little endian number of bytes at a given position in a byte buffer. 2, 4 and 8 byte numbers are read with a single load through a byte buffer view, and other sizes are assembled a byte at a time. Used by getUnsigned(), and by subclasses which store their bytes in several buffers.
+     * @param buffer The byte buffer.
+     * @param index The position of the first byte in the buffer.
+     * @param bytes The amount of bytes to read, up to 8.
+     * @param littleEndian Whether the number is little-endian or not.
+     * @return The number, zero-extended to a long. For 8 bytes, this is the raw 64 bits.
+     */
+    protected static long getUnsigned(ByteBuffer buffer, int index, int bytes, boolean littleEndian) {
+        switch (bytes) {
+            case 2:
+                return (littleEndian ? (short) SHORT_LE.get(buffer, index) : (short) SHORT_BE.get(buffer, index)) & 0xFFFF;
+            case 4:
+                return (littleEndian ? (int) INT_LE.get(buffer, index) : (int) INT_BE.get(buffer, index)) & 0xFFFFFFFFL;
+            case 8:
+                return littleEndian ? (long) LONG_LE.get(buffer, index) : (long) LONG_BE.get(buffer, index);
+        }
+
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = value << 8 | buffer.get(index + (littleEndian ? bytes - i - 1 : i)) & 0xFF;
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks whether the input contains a given sequence of bytes at a given index, without copying or boxing the input.
+     * @param index The index to check at.
+     * @param bytes The bytes to look for.
+     * @return Whether the bytes were found at that index.
+     */
+    public boolean regionMatches(long index, byte[] bytes) {
+        if (!hasRemaining(index, bytes.length)) {
+            return false;
+        }
+
+        for (int i = 0; i < bytes.length; i++) {
+            if (getByte(index + i) != bytes[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Scans forward from a given index while the bytes pass a test, without boxing any bytes. If the input is backed by an array, the array is scanned directly.
+     * @param index The index to start scanning at.
+     * @param predicate The test each byte must pass.
+     * @return The index of the first byte which failed the test, or the length of the input if every byte passed.
+     */
+    public long scan(long index, BytePredicate predicate) {
+        if (buffer != null && buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset();
+            int i = (int) index;
+            int length = buffer.limit();
+            while (i < length && predicate.test(array[offset + i])) {
+                i++;
+            }
+
+            return i;
+        }
+
+        while (hasRemaining(index, 1) && predicate.test(getByte(index))) {
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Finds the next occurrence of a byte at or after a given index. If the input is backed by an array, it is searched 8 bytes at a time: each long read from the array is XORed with the byte repeated 8 times, and the first zero byte of the result is found with bit arithmetic. Otherwise, the bytes are checked one at a time.
+     * @param index The index to start searching at.
+     * @param b The byte to find.
+     * @return The index of the byte, or -1 if it does not occur before the end of the input.
+     */
+    public long indexOf(long index, byte b) {
+        if (buffer != null && buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset();
+            int i = offset + (int) index;
+            int end = offset + buffer.limit();
+            long pattern = (b & 0xFFL) * LOW_BITS;
+
+            for (; i + Long.BYTES <= end; i += Long.BYTES) {
+                long word = (long) LONG_VIEW.get(array, i) ^ pattern;
+
+                // The high bit of a byte is set if that byte of the word is zero. Borrows can only cause false positives above a real zero, so the lowest set bit is always the first match.
+                long zeros = (word - LOW_BITS) & ~word & HIGH_BITS;
+                if (zeros != 0) {
+                    return i - offset + (Long.numberOfTrailingZeros(zeros) >>> 3);
+                }
+            }
+
+            for (; i < end; i++) {
+                if (array[i] == b) {
+                    return i - offset;
+                }
+            }
+
+            return -1;
+        }
+
+        while (hasRemaining(index, 1)) {
+            if (getByte(index) == b) {
+                return index;
+            }
+
+            index++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the next occurrence of a sequence of bytes at or after a given index, using the Boyer-Moore-Horspool algorithm. Each step compares the sequence from its last byte, and on a mismatch skips ahead by how far the input's byte under the sequence's last position is from the end of the sequence, so long sequences are found without looking at most of the input. A single byte is found with indexOf(long, byte) instead.
+     * @param index The index to start searching at.
+     * @param bytes The bytes to find.
+     * @return The index of the bytes, or -1 if they do not occur before the end of the input.
+     */
+    public long indexOf(long index, byte[] bytes) {
+        int length = bytes.length;
+        if (length == 0) {
+            return index;
+        } else if (length == 1) {
+            return indexOf(index, bytes[0]);
+        }
+
+        int[] skips = new int[256];
+        Arrays.fill(skips, length);
+        for (int i = 0; i < length - 1; i++) {
+            skips[bytes[i] & 0xFF] = length - 1 - i;
+        }
+
+        if (buffer != null && buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset();
+            int last = offset + buffer.limit() - length;
+            for (int position = offset + (int) index; position <= last; position += skips[array[position + length - 1] & 0xFF]) {
+                int i = length - 1;
+                while (i >= 0 && array[position + i] == bytes[i]) {
+                    i--;
+                }
+
+                if (i < 0) {
+                    return position - offset;
+                }
+            }
+
+            return -1;
+        }
+
+        while (hasRemaining(index, length)) {
+            int i = length - 1;
+            while (i >= 0 && getByte(index + i) == bytes[i]) {
+                i--;
+            }
+
+            if (i < 0) {
+                return index;
+            }
+
+            index += skips[getByte(index + length - 1) & 0xFF];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Copies the bytes of this input between two indices into a new array.
+     * @param start The starting index of the bytes (inclusive).
+     * @param end The ending index of the bytes (exclusive).
+     * @return The bytes.
+     */
+    public byte[] getBytes(long start, long end) {
+        byte[] bytes = new byte[Math.toIntExact(end - start)];
+        if (buffer != null) {
+            buffer.duplicate().position((int) start).get(bytes);
+            return bytes;
+        }
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = getByte(start + i);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Generates an array of elements that this parser input consists of. For example, a string ParserInput will generate and return an array of characters here. The built-in parsers never call this for bytes inputs, as it boxes every byte.
      * @return The generated array of elements.
      */
     @Override
     public Byte[] generateElements() {
-        return bytes;
+        int length = Math.toIntExact(length());
+        Byte[] result = new Byte[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = getByte(i);
+        }
+
+        return result;
     }
 
     /**
@@ -40,16 +340,15 @@ public class BytesParserInput extends ParserInput<Byte> {
      * @return The string representation.
      */
     @Override
-    public String getTruncatedString(int index) {
+    public String getTruncatedString(long index) {
         String truncated = "bytes ";
 
-        int length = length();
-        int finalIndex = Math.min(index + 8, length);
-        for (int i = index; i < finalIndex; i++) {
-            truncated = truncated.concat(byteToString(bytes[i]) + ", ");
+        int available = available(index, 8);
+        for (long i = index; i < index + available; i++) {
+            truncated = truncated.concat(byteToString(getByte(i)) + ", ");
         }
 
-        if (finalIndex == length) {
+        if (!hasRemaining(index, available + 1)) {
             truncated = truncated.concat("*END*");
         } else {
             truncated = truncated.concat("...");
@@ -67,25 +366,44 @@ public class BytesParserInput extends ParserInput<Byte> {
         return "bytes input";
     }
 
+    /**
+     * Gets an element at a given index in the input.
+     * @param index The index of the element.
+     * @return The element.
+     */
+    @Override
+    public Byte getElement(long index) {
+        return getByte(index);
+    }
+
+    /**
+     * Gets the length of this input.
+     * @return The length of this input.
+     */
+    @Override
+    public long length() {
+        return buffer.limit();
+    }
+
     /**
      * Converts a byte to its string representation, in the format 0xDD.
      * @param b The byte to convert.
      * @return The string representation.
      */
-    private static String byteToString(byte b) {
+    static String byteToString(byte b) {
         return "0x" + (b < 16 ? "0" : "") + Integer.toHexString(b);
     }
 
     /**
-     * Transforms a byte array into a Byte array (autoboxed).
-     * @param bytes The byte array.
-     * @return The resulting Byte array.
+     * Transforms a Byte array (autoboxed) into a byte array.
+     * @param bytes The Byte array.
+     * @return The resulting byte array.
      */
-    private static Byte[] transformByteArray(byte[] bytes) {
-        Byte[] newBytes = new Byte[bytes.length];
+    private static byte[] transformByteArray(Byte[] bytes) {
+        byte[] newBytes = new byte[bytes.length];
 
         int index = 0;
-        for (byte b : bytes) {
+        for (Byte b : bytes) {
             newBytes[index++] = b;
         }
 
@@ -0,0 +1,182 @@
+package gg.valgo.gradian.input;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A class representing a bytes input made up of several byte buffers, parsed as if they were concatenated. The buffers are not copied, and values which straddle the boundary between two buffers are read like any other, so messages received in several parts can be parsed without joining them first.
+ */
+public class CompositeParserInput extends BytesParserInput {
+    /**
+     * The segments of the input, in order. Index 0 of each segment is the start of that segment.
+     */
+    private ByteBuffer[] segments;
+
+    /**
+     * The input index each segment starts at. The last element is the length of the input.
+     */
+    private long[] offsets;
+
+    /**
+     * The segment of the last byte read. Parsers mostly read sequentially, so this usually avoids searching for the segment.
+     */
+    private int current = 0;
+
+    /**
+     * Creates a new CompositeParserInput from a given list of byte buffers. Each segment consists of the bytes between its buffer's position and limit. The buffers are not copied, so they should not be modified while parsing.
+     * @param buffers The input byte buffers.
+     */
+    public CompositeParserInput(List<ByteBuffer> buffers) {
+        segments = new ByteBuffer[buffers.size()];
+        offsets = new long[segments.length + 1];
+
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = buffers.get(i).slice();
+            offsets[i + 1] = offsets[i] + segments[i].limit();
+        }
+    }
+
+    /**
+     * Creates a new CompositeParserInput from given byte buffers. Each segment consists of the bytes between its buffer's position and limit. The buffers are not copied, so they should not be modified while parsing.
+     * @param buffers The input byte buffers.
+     */
+    public CompositeParserInput(ByteBuffer... buffers) {
+        this(Arrays.asList(buffers));
+    }
+
+    /**
+     * Creates a new CompositeParserInput from given byte arrays. The arrays are not copied, so they should not be modified while parsing.
+     * @param arrays The input byte arrays.
+     */
+    public CompositeParserInput(byte[]... arrays) {
+        this(wrapArrays(arrays));
+    }
+
+    /**
+     * Gets the amount of segments in this input.
+     * @return The amount of segments.
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Composite inputs have no single buffer covering the whole input, unless they have only one segment.
+     * @return The input byte buffer.
+     * @throws UnsupportedOperationException Thrown if the input has more than one segment.
+     */
+    @Override
+    public ByteBuffer getBuffer() {
+        if (segments.length == 1) {
+            return segments[0].asReadOnlyBuffer();
+        }
+
+        throw new UnsupportedOperationException("Composite inputs do not have a buffer covering the whole input.");
+    }
+
+    /**
+     * Gets a byte at a given index in the input, without boxing it.
+     * @param index The index of the byte.
+     * @return The byte.
+     */
+    @Override
+    public byte getByte(long index) {
+        int segment = segmentOf(index);
+        return segments[segment].get((int) (index - offsets[segment]));
+    }
+
+    /**
+     * Checks whether the input contains a given sequence of bytes at a given index, without copying or boxing the input. The bytes may span several segments.
+     * @param index The index to check at.
+     * @param bytes The bytes to look for.
+     * @return Whether the bytes were found at that index.
+     */
+    @Override
+    public boolean regionMatches(long index, byte[] bytes) {
+        if (!hasRemaining(index, bytes.length)) {
+            return false;
+        }
+
+        int checked = 0;
+        while (checked < bytes.length) {
+            int segment = segmentOf(index + checked);
+            ByteBuffer buffer = segments[segment];
+
+            int position = (int) (index + checked - offsets[segment]);
+            int count = Math.min(buffer.limit() - position, bytes.length - checked);
+            for (int i = 0; i < count; i++) {
+                if (buffer.get(position + i) != bytes[checked + i]) {
+                    return false;
+                }
+            }
+
+            checked += count;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the length of this input, the total length of its segments.
+     * @return The length of this input.
+     */
+    @Override
+    public long length() {
+        return offsets[segments.length];
+    }
+
+    /**
+     * Gets the name of this parser input. Used for error messages.
+     * @return The name of this input.
+     */
+    @Override
+    public String getInputName() {
+        return "composite bytes input";
+    }
+
+    /**
+     * Finds the segment containing a given index. Empty segments are skipped.
+     * @param index The index to find.
+     * @return The index of the segment.
+     * @throws IndexOutOfBoundsException Thrown if the index is outside the input.
+     */
+    private int segmentOf(long index) {
+        if (index >= offsets[current] && index < offsets[current + 1]) {
+            return current;
+        }
+
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for input of length " + length() + ".");
+        }
+
+        // Find the last segment starting at or before the index. Empty segments share their offset with the next segment, so this skips them.
+        int low = 0;
+        int high = segments.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        current = low;
+        return low;
+    }
+
+    /**
+     * Wraps byte arrays into byte buffers.
+     * @param arrays The byte arrays.
+     * @return The byte buffers.
+     */
+    private static List<ByteBuffer> wrapArrays(byte[][] arrays) {
+        ByteBuffer[] buffers = new ByteBuffer[arrays.length];
+        for (int i = 0; i < arrays.length; i++) {
+            buffers[i] = ByteBuffer.wrap(arrays[i]);
+        }
+
+        return Arrays.asList(buffers);
+    }
+}
\ No newline at end of file
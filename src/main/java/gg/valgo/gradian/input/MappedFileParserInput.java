@@ -0,0 +1,121 @@
+package gg.valgo.gradian.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A class representing a file input to a parser. The file is memory-mapped instead of being read onto the heap, so its bytes are read straight from the operating system's page cache. It acts as a bytes input, so it can be used with any parser that accepts bytes input.
+ */
+public class MappedFileParserInput extends BytesParserInput {
+    /**
+     * The amount of bytes mapped by each segment, as a power of two. A single buffer cannot map more than 2 GB, so larger files are mapped as several segments.
+     */
+    private static final int SEGMENT_SHIFT = 30;
+
+    /**
+     * The mask used to convert an index into a position in its segment.
+     */
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /**
+     * The path of the input file.
+     */
+    private Path path;
+
+    /**
+     * The mapped segments of the file, in order.
+     */
+    private MappedByteBuffer[] segments;
+
+    /**
+     * The size of the file, in bytes.
+     */
+    private long size;
+
+    /**
+     * Creates a new MappedFileParserInput by memory-mapping a given file. The file should not be modified while parsing.
+     * @param path The path of the input file.
+     * @throws IOException Thrown if the file cannot be opened or mapped.
+     */
+    public MappedFileParserInput(Path path) throws IOException {
+        this.path = path;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            segments = new MappedByteBuffer[Math.max((int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT), 1)];
+
+            // The mappings stay valid after the file channel is closed.
+            for (int i = 0; i < segments.length; i++) {
+                long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, 1L << SEGMENT_SHIFT));
+            }
+        }
+    }
+
+    /**
+     * Gets the path of the input file.
+     * @return The path of the input file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets a read-only view of the input bytes. Index 0 of the view is the start of the input.
+     * @return The input byte buffer.
+     * @throws UnsupportedOperationException Thrown if the file is too large to fit in a single buffer.
+     */
+    @Override
+    public ByteBuffer getBuffer() {
+        if (segments.length > 1) {
+            throw new UnsupportedOperationException("File " + path + " is too large to fit in a single buffer (" + size + " bytes).");
+        }
+
+        return segments[0].asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a byte at a given index in the input, without boxing it.
+     * @param index The index of the byte.
+     * @return The byte.
+     */
+    @Override
+    public byte getByte(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for file of " + size + " bytes.");
+        }
+
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+
+    /**
+     * Reads an unsigned big or little endian number of bytes at a given index, without boxing or copying them. If the number is inside a single segment, 2, 4 and 8 byte numbers are read with a single load from that segment. A number straddling two segments is assembled a byte at a time. The caller must check that enough bytes are left.
+     * @param index The index of the first byte.
+     * @param bytes The amount of bytes to read, up to 8.
+     * @param littleEndian Whether the number is little-endian or not.
+     * @return The number, zero-extended to a long. For 8 bytes, this is the raw 64 bits.
+     */
+    @Override
+    public long getUnsigned(long index, int bytes, boolean littleEndian) {
+        int segment = (int) (index >>> SEGMENT_SHIFT);
+        int position = (int) (index & SEGMENT_MASK);
+        if (segment < segments.length && position + bytes <= segments[segment].limit()) {
+            return getUnsigned(segments[segment], position, bytes, littleEndian);
+        }
+
+        return super.getUnsigned(index, bytes, littleEndian);
+    }
+
+    /**
+     * Gets the length of this input.
+     * @return The length of this input.
+     */
+    @Override
+    public long length() {
+        return size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package gg.valgo.gradian.input;
+
+/**
+ * Keeps track of the indexes marked by backtracking parsers, for inputs which only keep part of their elements in memory.
+ */
+class MarkStack {
+    /**
+     * The marked indexes, in the order they were marked.
+     */
+    private long[] marks = new long[16];
+
+    /**
+     * The amount of indexes currently marked.
+     */
+    private int count = 0;
+
+    /**
+     * Marks an index.
+     * @param index The index to mark.
+     */
+    void mark(long index) {
+        if (count == marks.length) {
+            long[] newMarks = new long[marks.length * 2];
+            System.arraycopy(marks, 0, newMarks, 0, count);
+            marks = newMarks;
+        }
+
+        marks[count++] = index;
+    }
+
+    /**
+     * Releases the most recent mark of an index.
+     * @param index The index to release.
+     */
+    void release(long index) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (marks[i] == index) {
+                System.arraycopy(marks, i + 1, marks, i, count - i - 1);
+                count--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the earliest index that must be kept in memory.
+     * @param from The index the caller is currently reading from.
+     * @return The lowest of the given index and every marked index.
+     */
+    long lowest(long from) {
+        long lowest = from;
+        for (int i = 0; i < count; i++) {
+            lowest = Math.min(lowest, marks[i]);
+        }
+
+        return lowest;
+    }
+}
\ No newline at end of file
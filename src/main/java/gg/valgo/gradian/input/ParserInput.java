@@ -1,6 +1,7 @@
 package gg.valgo.gradian.input;
 
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * A class representing the input to a parser. Internally, this class has a list of input elements.
@@ -23,7 +24,7 @@ public abstract class ParserInput<ElementType> {
      * @param index The index that the error message should start at.
      * @return The string representation.
      */
-    public abstract String getTruncatedString(int index);
+    public abstract String getTruncatedString(long index);
 
     /**
      * Gets the name of this parser input. Used for error messages.
@@ -44,13 +45,15 @@ public abstract class ParserInput<ElementType> {
     }
 
     /**
-     * Get the elements list truncated at a specific index.
+     * Get the elements list truncated at a specific index. This copies the rest of the input, so parsers should use getElement(), hasRemaining() and regionMatches() instead.
      * @param index The index to truncate the list at.
      * @return The truncated array.
+     * @deprecated Copies the whole remainder of the input on every call.
      */
-    public ElementType[] getTruncatedElements(int index) {
+    @Deprecated
+    public ElementType[] getTruncatedElements(long index) {
         ElementType[] elements = getElements();
-        return Arrays.copyOfRange(elements, index, elements.length);
+        return Arrays.copyOfRange(elements, (int) index, elements.length);
     }
 
     /**
@@ -58,26 +61,87 @@ public abstract class ParserInput<ElementType> {
      * @param index The index of the element.
      * @return The element.
      */
-    public ElementType getElement(int index) {
+    public ElementType getElement(long index) {
         ElementType[] elements = getElements();
-        return elements[index];
+        return elements[(int) index];
     }
 
     /**
      * Gets the length of this input.
      * @return The length of this input.
      */
-    public int length() {
+    public long length() {
         ElementType[] elements = getElements();
         return elements.length;
     }
 
+    /**
+     * Gets the amount of elements left in the input, starting at a given index.
+     * @param index The index to count from.
+     * @return The amount of remaining elements, or 0 if the index is past the end of input.
+     */
+    public long remaining(long index) {
+        return Math.max(length() - index, 0);
+    }
+
+    /**
+     * Gets how many of the next elements are available in the input, up to a given amount, starting at a given index. Unlike remaining(), this only needs to look as far ahead as the elements that were asked for.
+     * @param index The index to check from.
+     * @param count The maximum amount of elements needed.
+     * @return The amount of available elements, between 0 and count.
+     */
+    public int available(long index, int count) {
+        return (int) Math.min(remaining(index), count);
+    }
+
+    /**
+     * Returns whether there are at least a given amount of elements left in the input, starting at a given index. Parsers should use this instead of comparing against length(), as it only needs to look as far ahead as the elements that were asked for.
+     * @param index The index to check from.
+     * @param count The amount of elements needed.
+     * @return Whether enough elements are left.
+     */
+    public boolean hasRemaining(long index, int count) {
+        return remaining(index) >= count;
+    }
+
+    /**
+     * Checks whether the input contains a given sequence of elements at a given index, without copying the input. Elements are compared with equals().
+     * @param index The index to check at.
+     * @param elements The elements to look for.
+     * @return Whether the elements were found at that index.
+     */
+    public boolean regionMatches(long index, ElementType[] elements) {
+        if (!hasRemaining(index, elements.length)) {
+            return false;
+        }
+
+        for (int i = 0; i < elements.length; i++) {
+            if (!Objects.equals(getElement(index + i), elements[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Marks an index in the input that a parser may go back to. Inputs which only keep part of their elements in memory, such as streams, will keep every element from the earliest marked index onwards. Parsers which backtrack must mark the index they may return to, and release it with release() afterwards. Indexes that are not marked, and are before the last index a parser asked for, may be discarded.
+     * @param index The index to mark.
+     */
+    public void mark(long index) {}
+
+    /**
+     * Releases an index previously marked with mark().
+     * @param index The index to release.
+     */
+    public void release(long index) {}
+
     /**
      * Returns whether the end of input has been reached for a given index.
      * @param index The index to check.
      * @return Whether the end of input has been reached.
      */
-    public boolean isEndOfInput(int index) {
+    public boolean isEndOfInput(long index) {
         return length() <= index;
     }
 
@@ -0,0 +1,519 @@
+package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.util.interfaces.CharPredicate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+
+/**
+ * A class representing a streamed string input to a parser. Characters are read from a reader (or decoded from a byte channel) on demand, into a fixed-size ring buffer (the window). Characters are only discarded when the window is full, and never from the earliest index marked by a backtracking parser onwards, so memory stays bounded by the window size regardless of the input size. If a parser needs to look further ahead of a marked index than the window allows, an IllegalStateException is thrown.
+ */
+public class ReaderParserInput extends StringParserInput {
+    /**
+     * The default window size, in characters.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 16;
+
+    /**
+     * The reader to read characters from.
+     */
+    private Reader reader;
+
+    /**
+     * The ring buffer holding the characters between start and end. Its length is a power of two.
+     */
+    private char[] window;
+
+    /**
+     * The mask used to convert an index into a position in the window.
+     */
+    private int mask;
+
+    /**
+     * The index of the first character still in the window.
+     */
+    private long start = 0;
+
+    /**
+     * The index after the last character read into the window.
+     */
+    private long end = 0;
+
+    /**
+     * Whether the end of the reader has been reached.
+     */
+    private boolean endOfStream = false;
+
+    /**
+     * The indexes currently marked by parsers which may backtrack.
+     */
+    private MarkStack marks = new MarkStack();
+
+    /**
+     * A view of the window, used to run regular expressions on the input.
+     */
+    private WindowSequence sequence = new WindowSequence();
+
+    /**
+     * Creates a new ReaderParserInput reading from a given reader, with a given window size.
+     * @param reader The reader to read from.
+     * @param windowSize The minimum amount of characters to keep in memory. This is rounded up to a power of two.
+     */
+    public ReaderParserInput(Reader reader, int windowSize) {
+        this.reader = reader;
+
+        int capacity = windowSize <= 1 ? 1 : Integer.highestOneBit(windowSize - 1) << 1;
+        window = new char[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Creates a new ReaderParserInput reading from a given reader, with the default window size.
+     * @param reader The reader to read from.
+     */
+    public ReaderParserInput(Reader reader) {
+        this(reader, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new ReaderParserInput decoding characters from a given byte channel, with a given window size. Bytes are decoded incrementally as they are needed, and malformed input is replaced with the charset's replacement character.
+     * @param channel The channel to read from.
+     * @param charset The charset of the bytes in the channel.
+     * @param windowSize The minimum amount of characters to keep in memory. This is rounded up to a power of two.
+     */
+    public ReaderParserInput(ReadableByteChannel channel, Charset charset, int windowSize) {
+        this(Channels.newReader(channel, charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE), -1), windowSize);
+    }
+
+    /**
+     * Creates a new ReaderParserInput decoding characters from a given byte channel, with the default window size.
+     * @param channel The channel to read from.
+     * @param charset The charset of the bytes in the channel.
+     */
+    public ReaderParserInput(ReadableByteChannel channel, Charset charset) {
+        this(channel, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Gets the size of the window, the maximum amount of characters kept in memory.
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return window.length;
+    }
+
+    /**
+     * Reader inputs are not kept in memory as a single string.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public String getString() {
+        throw new UnsupportedOperationException("Reader inputs are not kept in memory as a single string.");
+    }
+
+    /**
+     * Gets a character at a given index in the input, reading more of the reader if needed.
+     * @param index The index of the character.
+     * @return The character.
+     * @throws IndexOutOfBoundsException Thrown if the index is past the end of the reader.
+     * @throws IllegalStateException Thrown if the character has already been discarded from the window.
+     */
+    @Override
+    public char getChar(long index) {
+        if (index >= end && !fill(index, index + 1)) {
+            throw new IndexOutOfBoundsException("Index " + index + " is past the end of the reader.");
+        }
+
+        checkNotDiscarded(index);
+        return window[(int) (index & mask)];
+    }
+
+    /**
+     * Checks that an index has not already been discarded from the window, as its slot may have been overwritten by a later character.
+     * @param index The index to check.
+     * @throws IllegalStateException Thrown if the index has already been discarded from the window.
+     */
+    private void checkNotDiscarded(long index) {
+        if (index < start) {
+            throw new IllegalStateException("Index " + index + " has already been discarded from the reader window.");
+        }
+    }
+
+    /**
+     * Gets how many of the next characters are available in the input, up to a given amount, reading more of the reader if needed.
+     * @param index The index to check from.
+     * @param count The maximum amount of characters needed.
+     * @return The amount of available characters, between 0 and count.
+     */
+    @Override
+    public int available(long index, int count) {
+        if (index + count > end) {
+            fill(index, index + count);
+        }
+
+        return (int) Math.max(Math.min(end - index, count), 0);
+    }
+
+    /**
+     * Returns whether there are at least a given amount of characters left in the input, reading more of the reader if needed.
+     * @param index The index to check from.
+     * @param count The amount of characters needed.
+     * @return Whether enough characters are left.
+     */
+    @Override
+    public boolean hasRemaining(long index, int count) {
+        return index + count <= end || fill(index, index + count);
+    }
+
+    /**
+     * Returns whether the end of input has been reached for a given index, reading more of the reader if needed.
+     * @param index The index to check.
+     * @return Whether the end of input has been reached.
+     */
+    @Override
+    public boolean isEndOfInput(long index) {
+        return !hasRemaining(index, 1);
+    }
+
+    /**
+     * Gets the length of this input. This reads the rest of the reader, discarding everything that is not marked, so parsers should use hasRemaining() or available() instead.
+     * @return The length of this input.
+     */
+    @Override
+    public long length() {
+        while (!endOfStream) {
+            fill(end, end + 1);
+        }
+
+        return end;
+    }
+
+    /**
+     * Checks whether the input contains a given string at a given index, reading more of the reader if needed.
+     * @param index The index to check at.
+     * @param other The string to look for.
+     * @return Whether the string was found at that index.
+     * @throws IllegalStateException Thrown if the index has already been discarded from the window.
+     */
+    @Override
+    public boolean regionMatches(long index, String other) {
+        int length = other.length();
+        if (!hasRemaining(index, length)) {
+            return false;
+        }
+
+        checkNotDiscarded(index);
+
+        for (int i = 0; i < length; i++) {
+            if (window[(int) ((index + i) & mask)] != other.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Runs a matcher's lookingAt() on the input, anchored at a given index. If the matcher reaches the end of the characters read so far, more are read and the match is retried, until the result can no longer change. As matchers are indexed by int, the matcher is reset onto a view of the window starting at the given index, so its region starts at 0.
+     * @param matcher The matcher to run. It is reset onto this input.
+     * @param index The index to match at.
+     * @return Whether the matcher matched at that index.
+     * @throws IllegalStateException Thrown if the index has already been discarded from the window.
+     */
+    @Override
+    public boolean lookingAt(Matcher matcher, long index) {
+        if (index >= end) {
+            fill(index, index + 1);
+        }
+
+        checkNotDiscarded(index);
+
+        sequence.base = index;
+        while (true) {
+            boolean found = matcher.reset(sequence).lookingAt();
+            if (!matcher.hitEnd() || endOfStream) {
+                return found;
+            }
+
+            fill(index, end + 1);
+        }
+    }
+
+    /**
+     * Reader inputs are not kept in memory as a single string.
+     * @param index The starting index of the substring.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public String getSubstring(long index) {
+        throw new UnsupportedOperationException("Reader inputs are not kept in memory as a single string.");
+    }
+
+    /**
+     * Gets the substring of the input between two indices, copying it out of the window. The characters must still be in the window, so the starting index should be marked.
+     * @param start The starting index of the substring (inclusive).
+     * @param end The ending index of the substring (exclusive).
+     * @return The substring.
+     * @throws IllegalStateException Thrown if the characters are not in the window.
+     */
+    @Override
+    public String getSubstring(long start, long end) {
+        if (start < this.start || end > this.end) {
+            throw new IllegalStateException("Indices " + start + " to " + end + " are not in the reader window.");
+        }
+
+        char[] characters = new char[(int) (end - start)];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = window[(int) ((start + i) & mask)];
+        }
+
+        return new String(characters);
+    }
+
+    /**
+     * Scans forward from a given index while the characters pass a test, reading them straight out of the window and reading more of the reader as needed. The starting index should be marked, so the scanned characters stay in the window.
+     * @param index The index to start scanning at.
+     * @param predicate The test each character must pass.
+     * @return The index of the first character which failed the test, or the end of the reader if every character passed.
+     */
+    @Override
+    public long scan(long index, CharPredicate predicate) {
+        if (index < start) {
+            throw new IllegalStateException("Index " + index + " has already been discarded from the reader window.");
+        }
+
+        while ((index < end || fill(index, index + 1)) && predicate.test(window[(int) (index & mask)])) {
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Finds the next occurrence of a character at or after a given index, searching straight through the window and reading more of the reader as needed. If the characters before the occurrence are needed afterwards, the starting index should be marked.
+     * @param index The index to start searching at.
+     * @param character The character to find.
+     * @return The index of the character, or -1 if it does not occur before the end of the reader.
+     */
+    @Override
+    public long indexOf(long index, char character) {
+        if (index < start) {
+            throw new IllegalStateException("Index " + index + " has already been discarded from the reader window.");
+        }
+
+        while (index < end || fill(index, index + 1)) {
+            if (window[(int) (index & mask)] == character) {
+                return index;
+            }
+
+            index++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the next occurrence of a string at or after a given index, using the Boyer-Moore-Horspool algorithm over the window and reading more of the reader as needed. Each step compares the string from its last character, and on a mismatch skips ahead by how far the window's character under the string's last position is from the end of the string. If the characters before the occurrence are needed afterwards, the starting index should be marked.
+     * @param index The index to start searching at.
+     * @param other The string to find.
+     * @return The index of the string, or -1 if it does not occur before the end of the reader.
+     */
+    @Override
+    public long indexOf(long index, String other) {
+        int length = other.length();
+        if (length == 0) {
+            return index;
+        }
+
+        // The skip for each character, keyed by its low byte. Characters sharing a low byte get the smallest skip of any of them, which is always safe.
+        int[] skips = new int[256];
+        Arrays.fill(skips, length);
+        for (int i = 0; i < length - 1; i++) {
+            skips[other.charAt(i) & 0xFF] = length - 1 - i;
+        }
+
+        if (index < start) {
+            throw new IllegalStateException("Index " + index + " has already been discarded from the reader window.");
+        }
+
+        while (hasRemaining(index, length)) {
+            int i = length - 1;
+            while (i >= 0 && window[(int) ((index + i) & mask)] == other.charAt(i)) {
+                i--;
+            }
+
+            if (i < 0) {
+                return index;
+            }
+
+            index += skips[window[(int) ((index + length - 1) & mask)] & 0xFF];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Reader inputs cannot be converted into an element array, as they are not kept in memory.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public Character[] generateElements() {
+        throw new UnsupportedOperationException("Reader inputs cannot be converted into an element array.");
+    }
+
+    /**
+     * Gets the truncated string representation of the input at a specific index. Used for error messages. Only characters which are already in the window are shown.
+     * @param index The index that the error message should start at.
+     * @return The string representation.
+     */
+    @Override
+    public String getTruncatedString(long index) {
+        if (index < start) {
+            return "string at index " + index + " (no longer in the reader window)";
+        }
+
+        // Only show characters that have already been read, so that building an error message never reads from the reader.
+        int shown = (int) Math.max(Math.min(end - index, 10), 0);
+        boolean more = index + shown < end || !endOfStream;
+
+        StringBuilder builder = new StringBuilder(shown);
+        for (long i = index; i < index + shown; i++) {
+            builder.append(window[(int) (i & mask)]);
+        }
+
+        return "string \"" + builder + "\"" + (more ? "..." : "");
+    }
+
+    /**
+     * Gets the name of this parser input. Used for error messages.
+     * @return The name of this input.
+     */
+    @Override
+    public String getInputName() {
+        return "reader input";
+    }
+
+    /**
+     * Marks an index that a parser may go back to. Characters from the earliest marked index onwards are kept in the window.
+     * @param index The index to mark.
+     */
+    @Override
+    public void mark(long index) {
+        marks.mark(index);
+    }
+
+    /**
+     * Releases an index previously marked with mark().
+     * @param index The index to release.
+     */
+    @Override
+    public void release(long index) {
+        marks.release(index);
+    }
+
+    /**
+     * Reads from the reader until the window reaches a given index, or the end of the reader is reached. If the window is full, characters before both the given start index and every marked index are discarded.
+     * @param from The index the caller is reading from.
+     * @param required The index the window should reach.
+     * @return Whether the window reaches the required index.
+     * @throws IllegalStateException Thrown if the window is full and no characters can be discarded.
+     * @throws UncheckedIOException Thrown if reading from the reader fails.
+     */
+    private boolean fill(long from, long required) {
+        while (end < required && !endOfStream) {
+            if (end - start == window.length) {
+                long keep = marks.lowest(from);
+                if (keep <= start) {
+                    throw new IllegalStateException("Reader window of " + window.length + " characters exceeded: index " + start + " is still needed while reading index " + (required - 1) + ".");
+                }
+
+                start = Math.min(keep, end);
+            }
+
+            int offset = (int) (end & mask);
+            int length = (int) Math.min(window.length - (end - start), window.length - offset);
+
+            try {
+                int read = reader.read(window, offset, length);
+                if (read < 0) {
+                    endOfStream = true;
+                } else {
+                    end += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return end >= required;
+    }
+
+    /**
+     * A view of the characters in the window, starting at a base input index. Its length is the amount of characters read so far from the base index.
+     */
+    private class WindowSequence implements CharSequence {
+        /**
+         * The input index of the first character in this sequence.
+         */
+        private long base = 0;
+
+        /**
+         * Gets the amount of characters read so far from the base index.
+         * @return The length of this sequence.
+         */
+        @Override
+        public int length() {
+            return (int) Math.min(Math.max(end - base, 0), Integer.MAX_VALUE);
+        }
+
+        /**
+         * Gets a character at a given index relative to the base index.
+         * @param index The index of the character.
+         * @return The character.
+         */
+        @Override
+        public char charAt(int index) {
+            long inputIndex = base + index;
+            if (inputIndex < start) {
+                throw new IllegalStateException("Index " + inputIndex + " has already been discarded from the reader window.");
+            }
+
+            return window[(int) (inputIndex & mask)];
+        }
+
+        /**
+         * Copies the characters between two indexes relative to the base index into a string.
+         * @param startIndex The index of the first character.
+         * @param endIndex The index after the last character.
+         * @return The characters, as a string.
+         */
+        @Override
+        public CharSequence subSequence(int startIndex, int endIndex) {
+            StringBuilder builder = new StringBuilder(endIndex - startIndex);
+            for (int i = startIndex; i < endIndex; i++) {
+                builder.append(charAt(i));
+            }
+
+            return builder.toString();
+        }
+
+        /**
+         * Converts the characters in this sequence into a string.
+         * @return The string.
+         */
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package gg.valgo.gradian.input;
+
+/**
+ * A range of characters in a string input, used as a parser result instead of a copied string. The characters are read from the input when needed, and only copied into a string by toString(). For reader inputs, the characters must still be in the reader's window when they are read, so a span should be used (or converted to a string) before parsing moves more than a window past it.
+ */
+public class Span implements CharSequence {
+    /**
+     * The input the characters are in.
+     */
+    private StringParserInput input;
+
+    /**
+     * The index of the first character in the input (inclusive).
+     */
+    private long start;
+
+    /**
+     * The index after the last character in the input (exclusive).
+     */
+    private long end;
+
+    /**
+     * Creates a new Span of a string input.
+     * @param input The input the characters are in.
+     * @param start The index of the first character in the input (inclusive).
+     * @param end The index after the last character in the input (exclusive).
+     */
+    public Span(StringParserInput input, long start, long end) {
+        this.input = input;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Gets the input the characters are in.
+     * @return The input.
+     */
+    public StringParserInput getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the index of the first character in the input.
+     * @return The start index (inclusive).
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the index after the last character in the input.
+     * @return The end index (exclusive).
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the amount of characters in this span.
+     * @return The length.
+     */
+    @Override
+    public int length() {
+        return Math.toIntExact(end - start);
+    }
+
+    /**
+     * Gets a character in this span, without copying the span.
+     * @param index The index of the character in this span.
+     * @return The character.
+     * @throws IndexOutOfBoundsException Thrown if the index is outside of this span.
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of a span of length " + (end - start) + ".");
+        }
+
+        return input.getChar(start + index);
+    }
+
+    /**
+     * Gets a part of this span, as another span of the same input.
+     * @param startIndex The index of the first character in this span (inclusive).
+     * @param endIndex The index after the last character in this span (exclusive).
+     * @return The span.
+     * @throws IndexOutOfBoundsException Thrown if the indices are outside of this span.
+     */
+    @Override
+    public Span subSequence(int startIndex, int endIndex) {
+        if (startIndex < 0 || endIndex > end - start || startIndex > endIndex) {
+            throw new IndexOutOfBoundsException("Range " + startIndex + " to " + endIndex + " is outside of a span of length " + (end - start) + ".");
+        }
+
+        return new Span(input, start + startIndex, start + endIndex);
+    }
+
+    /**
+     * Checks whether this span contains the same characters as another character sequence, without copying the span.
+     * @param other The other character sequence.
+     * @return Whether the characters are the same.
+     */
+    public boolean contentEquals(CharSequence other) {
+        if (other.length() != end - start) {
+            return false;
+        }
+
+        for (int i = 0; i < other.length(); i++) {
+            if (input.getChar(start + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Copies the characters of this span into a string.
+     * @return The string.
+     */
+    @Override
+    public String toString() {
+        return input.getSubstring(start, end);
+    }
+}
\ No newline at end of file
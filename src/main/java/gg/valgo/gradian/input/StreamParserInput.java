@@ -0,0 +1,280 @@
+package gg.valgo.gradian.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A class representing a streamed bytes input to a parser. Bytes are read from an input stream or channel on demand, into a fixed-size ring buffer (the window). Bytes are only discarded when the window is full, and never from the earliest index marked by a backtracking parser onwards, so memory stays bounded by the window size regardless of the input size. If a parser needs to look further ahead of a marked index than the window allows, an IllegalStateException is thrown.
+ */
+public class StreamParserInput extends BytesParserInput {
+    /**
+     * The default window size, in bytes.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 16;
+
+    /**
+     * The channel to read bytes from.
+     */
+    private ReadableByteChannel channel;
+
+    /**
+     * The ring buffer holding the bytes between start and end. Its length is a power of two.
+     */
+    private byte[] window;
+
+    /**
+     * The mask used to convert an index into a position in the window.
+     */
+    private int mask;
+
+    /**
+     * The index of the first byte still in the window.
+     */
+    private long start = 0;
+
+    /**
+     * The index after the last byte read into the window.
+     */
+    private long end = 0;
+
+    /**
+     * Whether the end of the stream has been reached.
+     */
+    private boolean endOfStream = false;
+
+    /**
+     * The indexes currently marked by parsers which may backtrack.
+     */
+    private MarkStack marks = new MarkStack();
+
+    /**
+     * Creates a new StreamParserInput reading from a given channel, with a given window size.
+     * @param channel The channel to read from.
+     * @param windowSize The minimum amount of bytes to keep in memory. This is rounded up to a power of two.
+     */
+    public StreamParserInput(ReadableByteChannel channel, int windowSize) {
+        this.channel = channel;
+
+        int capacity = windowSize <= 1 ? 1 : Integer.highestOneBit(windowSize - 1) << 1;
+        window = new byte[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Creates a new StreamParserInput reading from a given channel, with the default window size.
+     * @param channel The channel to read from.
+     */
+    public StreamParserInput(ReadableByteChannel channel) {
+        this(channel, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new StreamParserInput reading from a given input stream, with a given window size.
+     * @param stream The input stream to read from.
+     * @param windowSize The minimum amount of bytes to keep in memory. This is rounded up to a power of two.
+     */
+    public StreamParserInput(InputStream stream, int windowSize) {
+        this(Channels.newChannel(stream), windowSize);
+    }
+
+    /**
+     * Creates a new StreamParserInput reading from a given input stream, with the default window size.
+     * @param stream The input stream to read from.
+     */
+    public StreamParserInput(InputStream stream) {
+        this(stream, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Gets the size of the window, the maximum amount of bytes kept in memory.
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return window.length;
+    }
+
+    /**
+     * Stream inputs have no buffer covering the whole input.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public ByteBuffer getBuffer() {
+        throw new UnsupportedOperationException("Stream inputs do not have a buffer covering the whole input.");
+    }
+
+    /**
+     * Gets a byte at a given index in the input, reading more of the stream if needed.
+     * @param index The index of the byte.
+     * @return The byte.
+     * @throws IndexOutOfBoundsException Thrown if the index is past the end of the stream.
+     * @throws IllegalStateException Thrown if the byte has already been discarded from the window.
+     */
+    @Override
+    public byte getByte(long index) {
+        if (index >= end && !fill(index, index + 1)) {
+            throw new IndexOutOfBoundsException("Index " + index + " is past the end of the stream.");
+        }
+
+        if (index < start) {
+            throw new IllegalStateException("Index " + index + " has already been discarded from the stream window.");
+        }
+
+        return window[(int) (index & mask)];
+    }
+
+    /**
+     * Gets how many of the next bytes are available in the input, up to a given amount, reading more of the stream if needed.
+     * @param index The index to check from.
+     * @param count The maximum amount of bytes needed.
+     * @return The amount of available bytes, between 0 and count.
+     */
+    @Override
+    public int available(long index, int count) {
+        if (index + count > end) {
+            fill(index, index + count);
+        }
+
+        return (int) Math.max(Math.min(end - index, count), 0);
+    }
+
+    /**
+     * Returns whether there are at least a given amount of bytes left in the input, reading more of the stream if needed.
+     * @param index The index to check from.
+     * @param count The amount of bytes needed.
+     * @return Whether enough bytes are left.
+     */
+    @Override
+    public boolean hasRemaining(long index, int count) {
+        return index + count <= end || fill(index, index + count);
+    }
+
+    /**
+     * Returns whether the end of input has been reached for a given index, reading more of the stream if needed.
+     * @param index The index to check.
+     * @return Whether the end of input has been reached.
+     */
+    @Override
+    public boolean isEndOfInput(long index) {
+        return !hasRemaining(index, 1);
+    }
+
+    /**
+     * Gets the length of this input. This reads the rest of the stream, discarding everything that is not marked, so parsers should use hasRemaining() or available() instead.
+     * @return The length of this input.
+     */
+    @Override
+    public long length() {
+        while (!endOfStream) {
+            fill(end, end + 1);
+        }
+
+        return end;
+    }
+
+    /**
+     * Stream inputs cannot be converted into an element array, as they are not kept in memory.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public Byte[] generateElements() {
+        throw new UnsupportedOperationException("Stream inputs cannot be converted into an element array.");
+    }
+
+    /**
+     * Gets the truncated string representation of the input at a specific index. Used for error messages. Only bytes which are already in the window are shown.
+     * @param index The index that the error message should start at.
+     * @return The string representation.
+     */
+    @Override
+    public String getTruncatedString(long index) {
+        if (index < start) {
+            return "bytes at index " + index + " (no longer in the stream window)";
+        }
+
+        // Only show bytes that have already been read, so that building an error message never reads from the stream.
+        String truncated = "bytes ";
+
+        int shown = (int) Math.max(Math.min(end - index, 8), 0);
+        for (long i = index; i < index + shown; i++) {
+            truncated = truncated.concat(byteToString(window[(int) (i & mask)]) + ", ");
+        }
+
+        if (index + shown >= end && endOfStream) {
+            truncated = truncated.concat("*END*");
+        } else {
+            truncated = truncated.concat("...");
+        }
+
+        return truncated;
+    }
+
+    /**
+     * Gets the name of this parser input. Used for error messages.
+     * @return The name of this input.
+     */
+    @Override
+    public String getInputName() {
+        return "stream input";
+    }
+
+    /**
+     * Marks an index that a parser may go back to. Bytes from the earliest marked index onwards are kept in the window.
+     * @param index The index to mark.
+     */
+    @Override
+    public void mark(long index) {
+        marks.mark(index);
+    }
+
+    /**
+     * Releases an index previously marked with mark().
+     * @param index The index to release.
+     */
+    @Override
+    public void release(long index) {
+        marks.release(index);
+    }
+
+    /**
+     * Reads from the stream until the window reaches a given index, or the end of the stream is reached. If the window is full, bytes before both the given start index and every marked index are discarded.
+     * @param from The index the caller is reading from.
+     * @param required The index the window should reach.
+     * @return Whether the window reaches the required index.
+     * @throws IllegalStateException Thrown if the window is full and no bytes can be discarded.
+     * @throws UncheckedIOException Thrown if reading from the stream fails.
+     */
+    private boolean fill(long from, long required) {
+        while (end < required && !endOfStream) {
+            if (end - start == window.length) {
+                long keep = marks.lowest(from);
+                if (keep <= start) {
+                    throw new IllegalStateException("Stream window of " + window.length + " bytes exceeded: index " + start + " is still needed while reading index " + (required - 1) + ".");
+                }
+
+                start = Math.min(keep, end);
+            }
+
+            int offset = (int) (end & mask);
+            int length = (int) Math.min(window.length - (end - start), window.length - offset);
+
+            try {
+                int read = channel.read(ByteBuffer.wrap(window, offset, length));
+                if (read < 0) {
+                    endOfStream = true;
+                } else {
+                    end += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return end >= required;
+    }
+}
\ No newline at end of file
@@ -1,4 +1,9 @@
 package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.util.interfaces.CharPredicate;
+
+import java.util.regex.Matcher;
+
 /**
  * A class representing a string input to a parser.
  */
@@ -16,6 +21,11 @@ public class StringParserInput extends ParserInput<Character> {
         this.string = string;
     }
 
+    /**
+     * Creates a new StringParserInput without a string. Subclasses using this constructor store their characters some other way, and must override getString(), getChar(), length(), regionMatches(), lookingAt(), getSubstring() and getTruncatedString().
+     */
+    protected StringParserInput() {}
+
     /**
      * Gets the input string.
      * @return The input string.
@@ -47,9 +57,9 @@ public class StringParserInput extends ParserInput<Character> {
      * @return The string representation.
      */
     @Override
-    public String getTruncatedString(int index) {
-        int endIndex = Math.min(string.length(), index + 10);
-        return "string \"" + string.substring(index, endIndex) + "\"" + (endIndex < string.length() ? "..." : "");
+    public String getTruncatedString(long index) {
+        int endIndex = (int) Math.min(string.length(), index + 10);
+        return "string \"" + string.substring((int) index, endIndex) + "\"" + (endIndex < string.length() ? "..." : "");
     }
 
     /**
@@ -61,14 +71,23 @@ public class StringParserInput extends ParserInput<Character> {
         return "string input";
     }
 
+    /**
+     * Gets a character at a given index in the input, without boxing it.
+     * @param index The index of the character.
+     * @return The character.
+     */
+    public char getChar(long index) {
+        return string.charAt((int) index);
+    }
+
     /**
      * Gets an element at a given index in the input.
      * @param index The index of the element.
      * @return The element.
      */
     @Override
-    public Character getElement(int index) {
-        return string.charAt(index);
+    public Character getElement(long index) {
+        return getChar(index);
     }
 
     /**
@@ -76,16 +95,82 @@ public class StringParserInput extends ParserInput<Character> {
      * @return The length of this input.
      */
     @Override
-    public int length() {
+    public long length() {
         return string.length();
     }
 
+    /**
+     * Checks whether the input contains a given string at a given index, without copying the input.
+     * @param index The index to check at.
+     * @param other The string to look for.
+     * @return Whether the string was found at that index.
+     */
+    public boolean regionMatches(long index, String other) {
+        return index <= string.length() && string.startsWith(other, (int) index);
+    }
+
+    /**
+     * Runs a matcher's lookingAt() on the input, anchored at a given index, without copying the input. If a match is found, the matcher holds its groups afterwards, and the end of the match in the input is the given index plus the distance from the matcher's region start to its end.
+     * @param matcher The matcher to run. It is reset onto this input.
+     * @param index The index to match at.
+     * @return Whether the matcher matched at that index.
+     */
+    public boolean lookingAt(Matcher matcher, long index) {
+        return matcher.reset(string).region((int) index, string.length()).lookingAt();
+    }
+
     /**
      * Gets the substring of this input, starting at a given index.
      * @param index The starting index of the substring.
      * @return The substring.
      */
-    public String getSubstring(int index) {
-        return string.substring(index);
+    public String getSubstring(long index) {
+        return string.substring((int) index);
+    }
+
+    /**
+     * Gets the substring of this input between two indices.
+     * @param start The starting index of the substring (inclusive).
+     * @param end The ending index of the substring (exclusive).
+     * @return The substring.
+     */
+    public String getSubstring(long start, long end) {
+        return string.substring((int) start, (int) end);
+    }
+
+    /**
+     * Scans forward from a given index while the characters pass a test, in a single loop over the input without boxing or copying any characters.
+     * @param index The index to start scanning at.
+     * @param predicate The test each character must pass.
+     * @return The index of the first character which failed the test, or the length of the input if every character passed.
+     */
+    public long scan(long index, CharPredicate predicate) {
+        int i = (int) index;
+        int length = string.length();
+        while (i < length && predicate.test(string.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Finds the next occurrence of a character at or after a given index. This uses String.indexOf(), which the JVM compiles to SIMD instructions where the CPU supports them.
+     * @param index The index to start searching at.
+     * @param character The character to find.
+     * @return The index of the character, or -1 if it does not occur before the end of the input.
+     */
+    public long indexOf(long index, char character) {
+        return string.indexOf(character, (int) index);
+    }
+
+    /**
+     * Finds the next occurrence of a string at or after a given index. This uses String.indexOf(), which the JVM compiles to SIMD instructions where the CPU supports them.
+     * @param index The index to start searching at.
+     * @param other The string to find.
+     * @return The index of the string, or -1 if it does not occur before the end of the input.
+     */
+    public long indexOf(long index, String other) {
+        return string.indexOf(other, (int) index);
     }
 }
\ No newline at end of file
@@ -42,13 +42,13 @@ public class TokensParserInput extends ParserInput<Token<?>> {
      * @return The string representation.
      */
     @Override
-    public String getTruncatedString(int index) {
+    public String getTruncatedString(long index) {
         String truncated = "tokens ";
 
-        int length = length();
-        int finalIndex = Math.min(index + 8, length);
-        for (int i = index; i < finalIndex; i++) {
-            truncated = truncated.concat(tokens[index] + ", ");
+        long length = length();
+        long finalIndex = Math.min(index + 8, length);
+        for (long i = index; i < finalIndex; i++) {
+            truncated = truncated.concat(tokens[(int) i] + ", ");
         }
 
         if (finalIndex == length) {
@@ -1,11 +1,12 @@
 package gg.valgo.gradian.parsers.combinators;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.ParserInput;
 
 /**
- * Matches anything except a certain parser. If that parser is not matched, one element (character, byte, token, ...) of input is consumed. This parser will fail if the specified parser succeeds, the end of input is reached, or the input type does not match the parser type.
+ * Matches anything except a certain parser. If that parser is not matched, one element (character, byte, token, ...) of input is consumed. If the FIRST set of the parser rules out the next element, the parser is not run at all. This parser will fail if the specified parser succeeds, the end of input is reached, or the input type does not match the parser type.
  * @param <ResultType> The result type of this parser.
  */
 public class AnythingExceptParser<ResultType> extends Parser<ResultType> {
@@ -14,12 +15,18 @@ public class AnythingExceptParser<ResultType> extends Parser<ResultType> {
      */
     private Parser<?> parser;
 
+    /**
+     * Checks whether the parser could start at the next element, so it is not run when its FIRST set rules it out.
+     */
+    private TerminatorSearch search;
+
     /**
      * Creates a new AnythingExceptParser from a given parser.
      * @param parser The parser to not match.
      */
     public AnythingExceptParser(Parser<?> parser) {
         this.parser = parser;
+        search = new TerminatorSearch(parser);
 
         setParserName("anythingExcept");
     }
@@ -39,20 +46,38 @@ public class AnythingExceptParser<ResultType> extends Parser<ResultType> {
      */
     @Override
     public ParserState<ResultType> parse(ParserState<?> state) {
-        ParserState<?> newState = parser.execute(state);
-        if (!newState.isException()) {
-            return state.formatExpectedException(this, "anything except a value", "that value: " + state.getInput()).retype();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        long index = context.getIndex();
+        boolean matched = false;
+        if (search.couldStartAt(context.getInput(), index)) {
+            context.getInput().mark(index);
+            matched = parser.execute(context);
+            context.getInput().release(index);
+            context.backtrack(index);
+        }
+
+        if (matched) {
+            return context.formatExpectedException(this, "anything except a value", "that value: " + context.getInput());
         }
 
         try {
-            ParserInput<ResultType> input = (ParserInput<ResultType>) state.getInput();
-            if (input.isEndOfInput(state.getIndex())) {
-                return newState.formatExpectedException(this, "anything except a value", "end of input: " + state.getInput()).retype();
+            ParserInput<ResultType> input = (ParserInput<ResultType>) context.getInput();
+            if (input.isEndOfInput(index)) {
+                return context.formatExpectedException(this, "anything except a value", "end of input: " + input);
             }
 
-            return state.updateState(state.getIndex() + 1, input.getElement(state.getIndex()));
+            return context.succeed(index + 1, input.getElement(index));
         } catch (ClassCastException e) {
-            return newState.formatException(this, "Could not match correct input type").retype();
+            return context.formatException(this, "Could not match correct input type");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ReaderParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.parsers.matchers.AnyCharacterParser;
+import gg.valgo.gradian.parsers.matchers.CharacterClassParser;
+import gg.valgo.gradian.parsers.matchers.CharacterParser;
+import gg.valgo.gradian.parsers.matchers.ChoiceOfCharactersParser;
+import gg.valgo.gradian.parsers.util.MappedParser;
+import gg.valgo.gradian.parsers.util.MultiParser;
+import gg.valgo.gradian.util.interfaces.CharPredicate;
+import gg.valgo.gradian.util.interfaces.ParserResultMapper;
+
+/**
+ * The result of joining a repetition of a single character parser with no delimiter (eg. many(anyOfString("abc")).join("")). On a string input (other than a reader input, which only keeps a bounded window of characters), the run of matching characters is scanned directly and the result is a single substring of the input, instead of boxing each character into an array and joining their string representations. On other inputs, or if the repetition fails, the repetition is run and joined as normal, so the results and failures are the same. Used internally by ManyParser.join().
+ * @param <ResultType> The result type of the repeated parser.
+ */
+public class CharacterRunParser<ResultType> extends MappedParser<ResultType[], String> {
+    /**
+     * The repetition which is being joined.
+     */
+    private ManyParser<ResultType> many;
+
+    /**
+     * The test for the characters the repeated parser matches.
+     */
+    private CharPredicate predicate;
+
+    /**
+     * Creates a new CharacterRunParser from a repetition and the characters its parser matches.
+     * @param many The repetition to join.
+     * @param predicate The test for the characters the repeated parser matches.
+     */
+    public CharacterRunParser(ManyParser<ResultType> many, CharPredicate predicate) {
+        super(many, (ParserResultMapper<ResultType[], String>) array -> MultiParser.joinElements(array, ""));
+
+        this.many = many;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Gets a test for the characters a parser matches, if it is a parser matching a single character whose result is that character.
+     * @param parser The parser.
+     * @return The test, or null if the parser does not match a single character.
+     */
+    public static CharPredicate getPredicate(Parser<?> parser) {
+        if (parser.getClass() == CharacterParser.class) {
+            char character = ((CharacterParser) parser).getCharacter();
+            return other -> other == character;
+        } else if (parser.getClass() == ChoiceOfCharactersParser.class) {
+            return ((ChoiceOfCharactersParser) parser).getCharacterClass();
+        } else if (parser.getClass() == CharacterClassParser.class && ((CharacterClassParser) parser).getMinCount() == 1 && ((CharacterClassParser) parser).getMaxCount() == 1) {
+            return ((CharacterClassParser) parser).getCharacterClass();
+        } else if (parser.getClass() == AnyCharacterParser.class) {
+            return character -> true;
+        }
+
+        return null;
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        // Reader inputs only keep a bounded window, so a run longer than the window cannot be held for one substring. The repetition joins it as it goes instead.
+        if (!(context.getInput() instanceof StringParserInput) || context.getInput() instanceof ReaderParserInput) {
+            return super.parse(context);
+        }
+
+        StringParserInput input = (StringParserInput) context.getInput();
+        long start = context.getIndex();
+        input.mark(start);
+        long end = input.scan(start, predicate);
+
+        // Like the repetition, more matches than the maximum count is a failure. The repetition is run to report the failure.
+        long count = end - start;
+        if (count < many.getMinimumCount() && many.getMinimumCount() != -1 || count > many.getMaximumCount() && many.getMaximumCount() != -1) {
+            input.release(start);
+            return super.parse(context);
+        }
+
+        String result = input.getSubstring(start, end);
+        input.release(start);
+        return context.succeed(end, result);
+    }
+}
\ No newline at end of file
@@ -1,10 +1,30 @@
 package gg.valgo.gradian.parsers.combinators;
 
+import gg.valgo.gradian.FirstSet;
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserFailure;
 import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.input.TokensParserInput;
+import gg.valgo.gradian.parsers.matchers.ChoiceOfStringsParser;
+import gg.valgo.gradian.parsers.matchers.StringParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
- * Parses a value from a list of choices. The choices are attempted in the order they were specified, and the first one to succeed is the result. Order matters! If none of the parsers succeed, this parser will fail. This parser works with any input type.
+ * Parses a value from a list of choices. The choices are attempted in the order they were specified, and the first one to succeed is the result. Choices whose FIRST set rules out the next element of the input are skipped, using a table keyed by the next character, byte or token id, and a choice of only string parsers is matched with a single trie walk. Order matters! If none of the parsers succeed, this parser will fail with everything that was expected at the farthest point any of them reached. This parser works with any input type.
  * @param <ResultType> The result type of this parser.
  */
 public class ChoiceParser<ResultType> extends Parser<ResultType> {
@@ -13,6 +33,57 @@ public class ChoiceParser<ResultType> extends Parser<ResultType> {
      */
     private Parser<ResultType>[] choices;
 
+    /**
+     * The dispatch tables built from the FIRST sets of the choices. They are built the first time the parser is run, as a recursive parser may not be set up when this parser is created, and are immutable once built.
+     */
+    private static class Dispatch {
+        /**
+         * If every choice is a string parser, a single parser matching all of the strings with a trie, otherwise null.
+         */
+        private final ChoiceOfStringsParser literals;
+
+        /**
+         * For each character below 256, the indices of the choices which can start with it, or null if no choice has a known FIRST set for string inputs.
+         */
+        private final int[][] characterTable;
+
+        /**
+         * For each unsigned byte value, the indices of the choices which can start with it, or null if no choice has a known FIRST set for bytes inputs.
+         */
+        private final int[][] byteTable;
+
+        /**
+         * For each token id, the indices of the choices which can start with it, or null if no choice has a known FIRST set for tokens inputs.
+         */
+        private final Map<String, int[]> tokenTable;
+
+        /**
+         * The indices of the choices which can start with a token id that is not in the token table.
+         */
+        private final int[] tokenFallback;
+
+        /**
+         * Creates a new Dispatch from the tables built from the choices.
+         * @param literals The parser matching all of the strings, or null.
+         * @param characterTable The dispatch table for string inputs, or null.
+         * @param byteTable The dispatch table for bytes inputs, or null.
+         * @param tokenTable The dispatch table for tokens inputs, or null.
+         * @param tokenFallback The choices for token ids not in the token table, or null.
+         */
+        private Dispatch(ChoiceOfStringsParser literals, int[][] characterTable, int[][] byteTable, Map<String, int[]> tokenTable, int[] tokenFallback) {
+            this.literals = literals;
+            this.characterTable = characterTable;
+            this.byteTable = byteTable;
+            this.tokenTable = tokenTable;
+            this.tokenFallback = tokenFallback;
+        }
+    }
+
+    /**
+     * The dispatch tables, or null if they have not been built yet. Parsers are often shared between threads (eg. the static parsers in Gradian), so the tables are built into a new Dispatch and published through this field in one write.
+     */
+    private volatile Dispatch dispatch = null;
+
     /**
      * Creates a new ChoiceParser from a list of choices.
      * @param choices The list of choices.
@@ -38,15 +109,222 @@ public class ChoiceParser<ResultType> extends Parser<ResultType> {
      */
     @Override
     public ParserState<ResultType> parse(ParserState<?> state) {
-        for (Parser<ResultType> parser : choices) {
-            ParserState<ResultType> resultState = parser.execute(state);
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        long index = context.getIndex();
+        input.mark(index);
+
+        Dispatch dispatch = this.dispatch;
+        if (dispatch == null) {
+            dispatch = analyse();
+            this.dispatch = dispatch;
+        }
+
+        ChoiceOfStringsParser literals = dispatch.literals;
+
+        // Only merge the failures of this choice's own options, not failures from earlier parsers which happened to get farther.
+        context.beginFailureScope();
+
+        if (literals != null && literals.inputIsValid(input)) {
+            int match = literals.match(input, index);
+            context.endFailureScope();
+            input.release(index);
+            if (match >= 0) {
+                return context.succeed(index + literals.getLength(input, match), literals.getChoices()[match]);
+            }
+
+            // The trie has already tried every string, so it reports the failure for all of them.
+            return match == ChoiceOfStringsParser.END_OF_INPUT ? context.failAtEnd(literals) : context.fail(literals);
+        }
+
+        int[] candidates = getCandidates(dispatch, input, index);
+
+        if (candidates != null) {
+            // Only try the choices which can start with the next element.
+            for (int candidate : candidates) {
+                if (choices[candidate].execute(context)) {
+                    context.endFailureScope();
+                    input.release(index);
+                    return true;
+                }
+
+                context.backtrack(index);
+            }
+        }
+
+        if (candidates == null) {
+            for (Parser<ResultType> choice : choices) {
+                if (choice.execute(context)) {
+                    context.endFailureScope();
+                    input.release(index);
+                    return true;
+                }
+
+                context.backtrack(index);
+            }
+        } else if (candidates.length < choices.length) {
+            // The choices which were ruled out cannot match, so they are not run, but what they expected is still reported.
+            int next = 0;
+            for (int i = 0; i < choices.length; i++) {
+                if (next < candidates.length && candidates[next] == i) {
+                    next++;
+                    continue;
+                }
+
+                context.fail(choices[i]);
+                context.backtrack(index);
+            }
+        }
+
+        // Report what every option expected at the farthest point any of them reached, rather than just that the choice failed.
+        ParserFailure failure = context.getFarthestFailure(this);
+        context.endFailureScope();
+        input.release(index);
+        return failure != null ? context.fail(failure) : context.fail(this);
+    }
+
+    /**
+     * Gets the indices of the choices which can start with the next element of the input.
+     * @param dispatch The dispatch tables.
+     * @param input The parser input.
+     * @param index The current index.
+     * @return The indices of the candidate choices, in order, or null if every choice should be tried.
+     */
+    private static int[] getCandidates(Dispatch dispatch, ParserInput<?> input, long index) {
+        if (!input.hasRemaining(index, 1)) {
+            return null;
+        }
+
+        if (dispatch.characterTable != null && input instanceof StringParserInput) {
+            char character = ((StringParserInput) input).getChar(index);
+            return character < 256 ? dispatch.characterTable[character] : null;
+        }
+
+        if (dispatch.byteTable != null && input instanceof BytesParserInput) {
+            return dispatch.byteTable[((BytesParserInput) input).getByte(index) & 0xFF];
+        }
+
+        if (dispatch.tokenTable != null && input instanceof TokensParserInput) {
+            return dispatch.tokenTable.getOrDefault(((TokensParserInput) input).getElement(index).getId(), dispatch.tokenFallback);
+        }
+
+        return null;
+    }
 
-            if (!resultState.isException()) {
-                return resultState;
+    /**
+     * Builds the dispatch tables from the FIRST sets of the choices. A choice of only string parsers is also compiled into a single ChoiceOfStringsParser.
+     * @return The dispatch tables.
+     */
+    private Dispatch analyse() {
+        ChoiceOfStringsParser literals = null;
+        if (choices.length > 1 && Arrays.stream(choices).allMatch(choice -> choice.getClass() == StringParser.class)) {
+            String[] strings = new String[choices.length];
+            for (int i = 0; i < choices.length; i++) {
+                strings[i] = ((StringParser) (Parser<?>) choices[i]).getString();
+            }
+
+            literals = new ChoiceOfStringsParser(strings);
+            literals.setParserName(getParserName());
+        }
+
+        FirstSet[] firstSets = new FirstSet[choices.length];
+        for (int i = 0; i < choices.length; i++) {
+            firstSets[i] = choices[i].getFirstSet();
+        }
+
+        Set<String> tokenIds = new HashSet<>();
+        for (FirstSet firstSet : firstSets) {
+            if (firstSet != null && firstSet.getTokenIds() != null) {
+                tokenIds.addAll(firstSet.getTokenIds());
+            }
+        }
+
+        Map<String, int[]> tokenTable = null;
+        int[] tokenFallback = null;
+        if (!tokenIds.isEmpty()) {
+            tokenTable = new HashMap<>();
+            for (String tokenId : tokenIds) {
+                tokenTable.put(tokenId, findCandidates(firstSets, firstSet -> firstSet.getTokenIds() == null || firstSet.getTokenIds().contains(tokenId)));
+            }
+
+            tokenFallback = findCandidates(firstSets, firstSet -> firstSet.getTokenIds() == null);
+        }
+
+        return new Dispatch(literals, buildTable(firstSets, FirstSet::getCharacters), buildTable(firstSets, FirstSet::getBytes), tokenTable, tokenFallback);
+    }
+
+    /**
+     * Builds a dispatch table for characters below 256 or unsigned bytes.
+     * @param firstSets The FIRST sets of the choices.
+     * @param part Gets the characters or bytes from a FIRST set.
+     * @return The dispatch table, or null if no choice has a known FIRST set for this type of input.
+     */
+    private static int[][] buildTable(FirstSet[] firstSets, Function<FirstSet, BitSet> part) {
+        boolean known = false;
+        for (FirstSet firstSet : firstSets) {
+            known |= firstSet != null && part.apply(firstSet) != null;
+        }
+
+        if (!known) {
+            return null;
+        }
+
+        int[][] table = new int[256][];
+        for (int key = 0; key < 256; key++) {
+            int element = key;
+            table[key] = findCandidates(firstSets, firstSet -> part.apply(firstSet) == null || part.apply(firstSet).get(element));
+
+            // Most keys have the same candidates, so share the arrays.
+            if (key > 0 && Arrays.equals(table[key], table[key - 1])) {
+                table[key] = table[key - 1];
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Finds the indices of the choices which could match, given a test on their FIRST sets. Choices with unknown FIRST sets always could.
+     * @param firstSets The FIRST sets of the choices.
+     * @param test Tests whether a known FIRST set could match.
+     * @return The indices of the choices, in order.
+     */
+    private static int[] findCandidates(FirstSet[] firstSets, Function<FirstSet, Boolean> test) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < firstSets.length; i++) {
+            if (firstSets[i] == null || test.apply(firstSets[i])) {
+                candidates.add(i);
             }
         }
 
-        return state.formatExpectedException(this, "choice of " + choices.length + " values", state.getInput().getTruncatedString(state.getIndex())).retype();
+        return candidates.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser, or null if any choice's FIRST set is unknown.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        if (choices.length == 0) {
+            return null;
+        }
+
+        FirstSet firstSet = choices[0].getFirstSet();
+        for (int i = 1; i < choices.length && firstSet != null; i++) {
+            firstSet = FirstSet.union(firstSet, choices[i].getFirstSet());
+        }
+
+        return firstSet;
     }
 
     /**
@@ -63,4 +341,27 @@ public class ChoiceParser<ResultType> extends Parser<ResultType> {
 
         return new ChoiceParser<>(newParsers);
     }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "choice of " + choices.length + " values";
+    }
+
+    /**
+     * Gets everything the choices expect to match, so a choice which is reported without being run (eg. one ruled out by an enclosing choice) lists what its options expected.
+     * @return The set of what the choices expect.
+     */
+    @Override
+    public Set<String> getExpectedSet() {
+        Set<String> expectedSet = new LinkedHashSet<>();
+        for (Parser<ResultType> choice : choices) {
+            expectedSet.addAll(choice.getExpectedSet());
+        }
+
+        return expectedSet;
+    }
 }
\ No newline at end of file
@@ -1,28 +1,39 @@
 package gg.valgo.gradian.parsers.combinators;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.ReaderParserInput;
+import gg.valgo.gradian.input.StreamParserInput;
+import gg.valgo.gradian.parsers.util.AccumulatingParser;
 import gg.valgo.gradian.parsers.util.MultiParser;
 
 import java.util.ArrayList;
+import java.util.function.BiConsumer;
 
 /**
- * Parses input elements until a certain value is reached in the input. If the end of input is reached or the input has an incorrect element type, this parser will fail. Otherwise, an array of the elements matched is returned.
+ * Parses input elements until a certain value is reached in the input. If the end of input is reached or the input has an incorrect element type, this parser will fail. Otherwise, an array of the elements matched is returned. If the value is a literal string or bytes, or the FIRST set of its parser is known, the input is searched for the next place it could start, and the parser is only run there. On reader and stream inputs, the elements are collected one at a time instead, so they do not need to fit in the window.
  * @param <ResultType> The result type of this parser.
  */
-public class EverythingUntilParser<ResultType> extends MultiParser<ResultType> {
+public class EverythingUntilParser<ResultType> extends MultiParser<ResultType> implements AccumulatingParser<ResultType> {
     /**
      * The parser to parse everything up until.
      */
     private Parser<?> parser;
 
+    /**
+     * Finds where the parser could start matching, so it is not run at every element.
+     */
+    private TerminatorSearch search;
+
     /**
      * Creates a new EverythingUntilParser from a given parser.
      * @param parser The parser to parse everything up until.
      */
     public EverythingUntilParser(Parser<?> parser) {
         this.parser = parser;
+        search = new TerminatorSearch(parser);
     }
 
     /**
@@ -40,30 +51,84 @@ public class EverythingUntilParser<ResultType> extends MultiParser<ResultType> {
      */
     @Override
     public ParserState<ResultType[]> parse(ParserState<?> state) {
-        ArrayList<ResultType> values = new ArrayList<>();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ArrayList<ResultType> results = new ArrayList<>();
+        if (!parseInto(context, results, ArrayList::add)) {
+            return false;
+        }
+
+        return context.succeed(context.getIndex(), toResultArray(results));
+    }
+
+    /**
+     * Runs the parsing logic of the parser, passing each element to an accumulator instead of collecting them into the result. Elements whose results are ignored are not passed. If parsing is successful, the context is left at the end of the match, but its result is not set. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @param container The mutable container to accumulate the elements into.
+     * @param accumulator Adds an element to the container.
+     * @param <ContainerType> The type of the container.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public <ContainerType> boolean parseInto(ParserContext context, ContainerType container, BiConsumer<ContainerType, ? super ResultType> accumulator) {
         ParserInput<ResultType> input;
 
         try {
-            input = (ParserInput<ResultType>) state.getInput();
+            input = (ParserInput<ResultType>) context.getInput();
         } catch (ClassCastException e) {
-            return state.formatException(this, "Could not match correct input type").retype();
+            return context.formatException(this, "Could not match correct input type");
         }
 
+        // Reader and stream inputs only keep a bounded window, so searching ahead could move past elements which have not been collected yet. They are collected one at a time instead, only running the parser where it could start.
+        boolean windowed = input instanceof ReaderParserInput || input instanceof StreamParserInput;
+
         while (true) {
-            ParserState<?> newState = parser.execute(state);
+            long index = context.getIndex();
+            if (windowed) {
+                if (!search.couldStartAt(input, index)) {
+                    accumulator.accept(container, input.getElement(index));
+                    context.setIndex(index + 1);
+                    continue;
+                }
+            } else {
+                input.mark(index);
 
-            if (newState.isException()) {
-                if (input.isEndOfInput(state.getIndex())) {
-                    return newState.formatExpectedException(this, "everything until a value", "end of input: " + state.getInput()).retype();
+                // Jump straight to the next element the parser could start with, collecting the elements on the way.
+                long next = search.find(input, index);
+                for (long i = index; i < next; i++) {
+                    accumulator.accept(container, input.getElement(i));
                 }
 
-                values.add(input.getElement(state.getIndex()));
-                state.setIndex(state.getIndex() + 1);
-            } else {
+                input.release(index);
+                index = next;
+                context.setIndex(index);
+            }
+
+            input.mark(index);
+            boolean matched = parser.execute(context);
+            input.release(index);
+            context.backtrack(index);
+
+            if (matched) {
                 break;
             }
+
+            if (input.isEndOfInput(index)) {
+                return context.formatExpectedException(this, "everything until a value", "end of input: " + input);
+            }
+
+            accumulator.accept(container, input.getElement(index));
+            context.setIndex(index + 1);
         }
 
-        return state.updateState(state.getIndex(), (ResultType[]) values.toArray());
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.DoubleParser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * A parser which parses a double repeatedly until it cannot parse any more, folding the values into a single double. The values are read and folded through the primitive result channel, so no value is boxed. This parser will always succeed. This parser works with any input type.
+ */
+public class FoldDoublesParser extends DoubleParser {
+    /**
+     * The double parser to repeat.
+     */
+    private DoubleParser parser;
+
+    /**
+     * The initial value, used as the result if the parser never matches.
+     */
+    private double initial;
+
+    /**
+     * Combines the value so far with the next parsed value.
+     */
+    private DoubleBinaryOperator accumulator;
+
+    /**
+     * Creates a new FoldDoublesParser from a double parser, an initial value and an accumulator.
+     * @param parser The double parser to repeat.
+     * @param initial The initial value, used as the result if the parser never matches.
+     * @param accumulator Combines the value so far with the next parsed value.
+     */
+    public FoldDoublesParser(DoubleParser parser, double initial, DoubleBinaryOperator accumulator) {
+        this.parser = parser;
+        this.initial = initial;
+        this.accumulator = accumulator;
+
+        setParserName("manyFoldDoubles");
+    }
+
+    /**
+     * Gets the double parser to repeat.
+     * @return The parser.
+     */
+    public DoubleParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedDouble() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeDouble() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseDouble(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        double value = initial;
+
+        while (true) {
+            long currentIndex = context.getIndex();
+            input.mark(currentIndex);
+            boolean matched = parser.executeDouble(context);
+            input.release(currentIndex);
+
+            if (!matched) {
+                context.backtrack(currentIndex);
+                break;
+            }
+
+            value = accumulator.applyAsDouble(value, context.getDoubleResult());
+        }
+
+        return context.succeedDouble(context.getIndex(), value);
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
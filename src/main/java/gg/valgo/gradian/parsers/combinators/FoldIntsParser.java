@@ -0,0 +1,85 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.IntParser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * A parser which parses an int repeatedly until it cannot parse any more, folding the values into a single int. The values are read and folded through the primitive result channel, so no value is boxed. This parser will always succeed. This parser works with any input type.
+ */
+public class FoldIntsParser extends IntParser {
+    /**
+     * The int parser to repeat.
+     */
+    private IntParser parser;
+
+    /**
+     * The initial value, used as the result if the parser never matches.
+     */
+    private int initial;
+
+    /**
+     * Combines the value so far with the next parsed value.
+     */
+    private IntBinaryOperator accumulator;
+
+    /**
+     * Creates a new FoldIntsParser from an int parser, an initial value and an accumulator.
+     * @param parser The int parser to repeat.
+     * @param initial The initial value, used as the result if the parser never matches.
+     * @param accumulator Combines the value so far with the next parsed value.
+     */
+    public FoldIntsParser(IntParser parser, int initial, IntBinaryOperator accumulator) {
+        this.parser = parser;
+        this.initial = initial;
+        this.accumulator = accumulator;
+
+        setParserName("manyFoldInts");
+    }
+
+    /**
+     * Gets the int parser to repeat.
+     * @return The parser.
+     */
+    public IntParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedInt() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeInt() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseInt(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        int value = initial;
+
+        while (true) {
+            long currentIndex = context.getIndex();
+            input.mark(currentIndex);
+            boolean matched = parser.executeInt(context);
+            input.release(currentIndex);
+
+            if (!matched) {
+                context.backtrack(currentIndex);
+                break;
+            }
+
+            value = accumulator.applyAsInt(value, context.getIntResult());
+        }
+
+        return context.succeedInt(context.getIndex(), value);
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.LongParser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A parser which parses a long repeatedly until it cannot parse any more, folding the values into a single long. The values are read and folded through the primitive result channel, so no value is boxed. This parser will always succeed. This parser works with any input type.
+ */
+public class FoldLongsParser extends LongParser {
+    /**
+     * The long parser to repeat.
+     */
+    private LongParser parser;
+
+    /**
+     * The initial value, used as the result if the parser never matches.
+     */
+    private long initial;
+
+    /**
+     * Combines the value so far with the next parsed value.
+     */
+    private LongBinaryOperator accumulator;
+
+    /**
+     * Creates a new FoldLongsParser from a long parser, an initial value and an accumulator.
+     * @param parser The long parser to repeat.
+     * @param initial The initial value, used as the result if the parser never matches.
+     * @param accumulator Combines the value so far with the next parsed value.
+     */
+    public FoldLongsParser(LongParser parser, long initial, LongBinaryOperator accumulator) {
+        this.parser = parser;
+        this.initial = initial;
+        this.accumulator = accumulator;
+
+        setParserName("manyFoldLongs");
+    }
+
+    /**
+     * Gets the long parser to repeat.
+     * @return The parser.
+     */
+    public LongParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedLong() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeLong() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseLong(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        long value = initial;
+
+        while (true) {
+            long currentIndex = context.getIndex();
+            input.mark(currentIndex);
+            boolean matched = parser.executeLong(context);
+            input.release(currentIndex);
+
+            if (!matched) {
+                context.backtrack(currentIndex);
+                break;
+            }
+
+            value = accumulator.applyAsLong(value, context.getLongResult());
+        }
+
+        return context.succeedLong(context.getIndex(), value);
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.DoubleParser;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.Arrays;
+
+/**
+ * A parser which parses a double repeatedly until it cannot parse any more, resulting in a double[] of the values. The values are read through the primitive result channel and collected into a growing array, so no value is boxed. This parser will always succeed. This parser works with any input type.
+ */
+public class ManyDoublesParser extends Parser<double[]> {
+    /**
+     * The double parser to repeat.
+     */
+    private DoubleParser parser;
+
+    /**
+     * Creates a new ManyDoublesParser from a double parser.
+     * @param parser The double parser to repeat.
+     */
+    public ManyDoublesParser(DoubleParser parser) {
+        this.parser = parser;
+
+        setParserName("manyDoubles");
+    }
+
+    /**
+     * Gets the double parser to repeat.
+     * @return The parser.
+     */
+    public DoubleParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<double[]> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        double[] values = new double[8];
+        int count = 0;
+
+        while (true) {
+            long currentIndex = context.getIndex();
+            input.mark(currentIndex);
+            boolean matched = parser.executeDouble(context);
+            input.release(currentIndex);
+
+            if (!matched) {
+                context.backtrack(currentIndex);
+                break;
+            }
+
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+
+            values[count++] = context.getDoubleResult();
+        }
+
+        return context.succeed(context.getIndex(), Arrays.copyOf(values, count));
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
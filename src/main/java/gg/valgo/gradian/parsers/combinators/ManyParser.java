@@ -1,16 +1,22 @@
 package gg.valgo.gradian.parsers.combinators;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.parsers.util.AccumulatingParser;
+import gg.valgo.gradian.parsers.util.MappedParser;
 import gg.valgo.gradian.parsers.util.MultiParser;
+import gg.valgo.gradian.util.interfaces.CharPredicate;
 
 import java.util.ArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * Parses a value repeatedly until it cannot parse any more of that value. If the amount of matches is not in the specified range, this parser will fail. This parser works with any input type.
  * @param <ResultType> The result type of this parser.
  */
-public class ManyParser<ResultType> extends MultiParser<ResultType> {
+public class ManyParser<ResultType> extends MultiParser<ResultType> implements AccumulatingParser<ResultType> {
     /**
      * The parser that this parser will repeat.
      */
@@ -42,6 +48,7 @@ public class ManyParser<ResultType> extends MultiParser<ResultType> {
             this.maximumCount = minimumCount;
         }
 
+        setElementTypeFrom(parser);
         setParserName("many");
     }
 
@@ -76,30 +83,77 @@ public class ManyParser<ResultType> extends MultiParser<ResultType> {
      */
     @Override
     public ParserState<ResultType[]> parse(ParserState<?> state) {
-        ParserState<ResultType> currentState = state.retype();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
         ArrayList<ResultType> results = new ArrayList<>();
+        if (!parseInto(context, results, ArrayList::add)) {
+            return false;
+        }
+
+        return context.succeed(context.getIndex(), toResultArray(results));
+    }
+
+    /**
+     * Runs the parsing logic of the parser, passing each element to an accumulator instead of collecting them into the result. Elements whose results are ignored are not passed. If parsing is successful, the context is left at the end of the match, but its result is not set. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @param container The mutable container to accumulate the elements into.
+     * @param accumulator Adds an element to the container.
+     * @param <ContainerType> The type of the container.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public <ContainerType> boolean parseInto(ParserContext context, ContainerType container, BiConsumer<ContainerType, ? super ResultType> accumulator) {
+        ParserInput<?> input = context.getInput();
+        long start = context.getIndex();
         int parseCount = 0;
 
-        while (!currentState.isException()) {
-            currentState = parser.execute(currentState);
-            if (!currentState.isException() && shouldAddResult(currentState)) {
-                results.add(currentState.getResult());
+        while (true) {
+            long currentIndex = context.getIndex();
+            input.mark(currentIndex);
+            boolean matched = parser.execute(context);
+            input.release(currentIndex);
+
+            if (!matched) {
+                context.backtrack(currentIndex);
+                break;
             }
 
-            if (!currentState.isException()) {
-                parseCount++;
+            if (shouldAddResult(context)) {
+                accumulator.accept(container, context.getResult());
             }
 
+            parseCount++;
+
             if (parseCount > maximumCount && maximumCount != -1) {
                 break;
             }
         }
 
         if (parseCount < minimumCount && minimumCount != -1 || parseCount > maximumCount && maximumCount != -1) {
-            return state.formatExpectedException(this, getCountRange() + " values", parseCount + " values, " + state.getInput().getTruncatedString(state.getIndex())).retype();
+            context.setIndex(start);
+            return context.failCount(this, parseCount, "values");
         }
 
-        return currentState.setException(null).updateState(currentState.getIndex(), (ResultType[]) results.toArray());
+        return true;
+    }
+
+    /**
+     * Maps the result of this parser to join the values (as strings) with a delimiter. If the repeated parser matches a single character and there is no delimiter, the joined parser scans the run of characters directly, resulting in a substring of a string input.
+     * @param delimiter The delimiter to join strings by.
+     * @return The mapped parser.
+     */
+    @Override
+    public MappedParser<ResultType[], String> join(String delimiter) {
+        CharPredicate predicate = delimiter.isEmpty() ? CharacterRunParser.getPredicate(parser) : null;
+        return predicate != null ? new CharacterRunParser<>(this, predicate) : super.join(delimiter);
     }
 
     /**
@@ -117,4 +171,13 @@ public class ManyParser<ResultType> extends MultiParser<ResultType> {
 
         return (minimumCount != -1 ? minimumCount + "" : "0") + "-" + (maximumCount != -1 ? maximumCount + "" : "Infinity");
     }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return getCountRange() + " values";
+    }
 }
\ No newline at end of file
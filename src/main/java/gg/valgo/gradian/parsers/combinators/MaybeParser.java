@@ -1,6 +1,7 @@
 package gg.valgo.gradian.parsers.combinators;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.parsers.util.MappedParser;
 
@@ -39,13 +40,27 @@ public class MaybeParser<ResultType> extends Parser<ResultType> {
      */
     @Override
     public ParserState<ResultType> parse(ParserState<?> state) {
-        ParserState<ResultType> newState = optionallyMatch.execute(state);
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        long index = context.getIndex();
+        context.getInput().mark(index);
+        boolean matched = optionallyMatch.execute(context);
+        context.getInput().release(index);
 
-        if (newState.isException()) {
-            return state.updateState(state.getIndex(), null);
+        if (!matched) {
+            context.backtrack(index);
+            return context.succeed(index, null);
         }
 
-        return newState;
+        return true;
     }
 
     /**
@@ -1,16 +1,19 @@
 package gg.valgo.gradian.parsers.combinators;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.parsers.util.AccumulatingParser;
 import gg.valgo.gradian.parsers.util.MultiParser;
 
 import java.util.ArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * A parser which repeats another parser a specific amount of times. This parser will fail if it cannot match enough values. If there are too many values, the extras will be ignored. This parser works with any input type.
  * @param <ResultType> The result type.
  */
-public class RepeatParser<ResultType> extends MultiParser<ResultType> {
+public class RepeatParser<ResultType> extends MultiParser<ResultType> implements AccumulatingParser<ResultType> {
     /**
      * The parser to repeat.
      */
@@ -30,6 +33,7 @@ public class RepeatParser<ResultType> extends MultiParser<ResultType> {
         this.repeat = repeat;
         this.count = count;
 
+        setElementTypeFrom(repeat);
         setParserName("repeat");
     }
 
@@ -56,21 +60,56 @@ public class RepeatParser<ResultType> extends MultiParser<ResultType> {
      */
     @Override
     public ParserState<ResultType[]> parse(ParserState<?> state) {
-        ParserState<ResultType> currentState = state.retype();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
         ArrayList<ResultType> results = new ArrayList<>();
+        if (!parseInto(context, results, ArrayList::add)) {
+            return false;
+        }
 
-        for (int index = 0; index < count; index++) {
-            currentState = repeat.execute(currentState);
+        return context.succeed(context.getIndex(), toResultArray(results));
+    }
+
+    /**
+     * Runs the parsing logic of the parser, passing each element to an accumulator instead of collecting them into the result. Elements whose results are ignored are not passed. If parsing is successful, the context is left at the end of the match, but its result is not set. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @param container The mutable container to accumulate the elements into.
+     * @param accumulator Adds an element to the container.
+     * @param <ContainerType> The type of the container.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public <ContainerType> boolean parseInto(ParserContext context, ContainerType container, BiConsumer<ContainerType, ? super ResultType> accumulator) {
+        long start = context.getIndex();
 
-            if (currentState.isException()) {
-                return state.formatExpectedException(this, count + " repetitions", index + " repetitions, " + state.getInput().getTruncatedString(state.getIndex())).retype();
+        for (int index = 0; index < count; index++) {
+            if (!repeat.execute(context)) {
+                context.setIndex(start);
+                return context.failCount(this, index, "repetitions");
             }
 
-            if (shouldAddResult(currentState)) {
-                results.add(currentState.getResult());
+            if (shouldAddResult(context)) {
+                accumulator.accept(container, context.getResult());
             }
         }
 
-        return currentState.setException(null).updateState(currentState.getIndex(), (ResultType[]) results.toArray());
+        return true;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return count + " repetitions";
     }
 }
\ No newline at end of file
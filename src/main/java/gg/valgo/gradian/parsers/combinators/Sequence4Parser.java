@@ -0,0 +1,160 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserException;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.util.interfaces.Combiner4;
+
+/**
+ * Parses a sequence of four values, and combines their results with a function. Unlike SequenceParser, the results keep their own types and are passed straight to the function, so no list or array is created and no casts are needed. Ignored results are still passed to the function. If any parser fails, this parser will fail. This parser works with any input type.
+ * @param <FirstType> The result type of the first parser.
+ * @param <SecondType> The result type of the second parser.
+ * @param <ThirdType> The result type of the third parser.
+ * @param <FourthType> The result type of the fourth parser.
+ * @param <ResultType> The result type of this parser.
+ */
+public class Sequence4Parser<FirstType, SecondType, ThirdType, FourthType, ResultType> extends Parser<ResultType> {
+    /**
+     * The first parser in the sequence.
+     */
+    private Parser<FirstType> first;
+
+    /**
+     * The second parser in the sequence.
+     */
+    private Parser<SecondType> second;
+
+    /**
+     * The third parser in the sequence.
+     */
+    private Parser<ThirdType> third;
+
+    /**
+     * The fourth parser in the sequence.
+     */
+    private Parser<FourthType> fourth;
+
+    /**
+     * The function combining the results.
+     */
+    private Combiner4<FirstType, SecondType, ThirdType, FourthType, ResultType> combiner;
+
+    /**
+     * Creates a new Sequence4Parser from the parsers in the sequence and a function combining their results.
+     * @param first The first parser.
+     * @param second The second parser.
+     * @param third The third parser.
+     * @param fourth The fourth parser.
+     * @param combiner The function combining the results.
+     */
+    public Sequence4Parser(Parser<FirstType> first, Parser<SecondType> second, Parser<ThirdType> third, Parser<FourthType> fourth, Combiner4<FirstType, SecondType, ThirdType, FourthType, ResultType> combiner) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+        this.fourth = fourth;
+        this.combiner = combiner;
+
+        setParserName("seq");
+    }
+
+    /**
+     * Gets the first parser in the sequence.
+     * @return The first parser.
+     */
+    public Parser<FirstType> getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets the second parser in the sequence.
+     * @return The second parser.
+     */
+    public Parser<SecondType> getSecond() {
+        return second;
+    }
+
+    /**
+     * Gets the third parser in the sequence.
+     * @return The third parser.
+     */
+    public Parser<ThirdType> getThird() {
+        return third;
+    }
+
+    /**
+     * Gets the fourth parser in the sequence.
+     * @return The fourth parser.
+     */
+    public Parser<FourthType> getFourth() {
+        return fourth;
+    }
+
+    /**
+     * Gets the function combining the results.
+     * @return The combiner.
+     */
+    public Combiner4<FirstType, SecondType, ThirdType, FourthType, ResultType> getCombiner() {
+        return combiner;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<ResultType> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        if (!first.execute(context)) {
+            return false;
+        }
+
+        FirstType firstResult = context.getResult();
+
+        if (!second.execute(context)) {
+            return false;
+        }
+
+        SecondType secondResult = context.getResult();
+
+        if (!third.execute(context)) {
+            return false;
+        }
+
+        ThirdType thirdResult = context.getResult();
+
+        if (!fourth.execute(context)) {
+            return false;
+        }
+
+        FourthType fourthResult = context.getResult();
+
+        try {
+            return context.succeed(context.getIndex(), combiner.combine(firstResult, secondResult, thirdResult, fourthResult));
+        } catch (ParserException exception) {
+            context.setException(exception);
+            context.setResult(null);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of the first parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return first.getFirstSet();
+    }
+}
\ No newline at end of file
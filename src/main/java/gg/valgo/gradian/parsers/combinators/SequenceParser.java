@@ -1,16 +1,20 @@
 package gg.valgo.gradian.parsers.combinators;
 
+import gg.valgo.gradian.FirstSet;
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.parsers.util.AccumulatingParser;
 import gg.valgo.gradian.parsers.util.MultiParser;
 
 import java.util.ArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * Parses a sequence of parsers in order, and returns the results of each parser in order. If any of the parsers in the sequence fail, this parser will fail  This parser works with any input type.
  * @param <ResultType> The result type of this parser.
  */
-public class SequenceParser<ResultType> extends MultiParser<ResultType> {
+public class SequenceParser<ResultType> extends MultiParser<ResultType> implements AccumulatingParser<ResultType> {
     /**
      * The sequence of parsers.
      */
@@ -22,6 +26,8 @@ public class SequenceParser<ResultType> extends MultiParser<ResultType> {
      */
     public SequenceParser(Parser<ResultType>... values) {
         this.values = values;
+
+        setElementTypeFrom(values);
     }
 
     /**
@@ -39,23 +45,45 @@ public class SequenceParser<ResultType> extends MultiParser<ResultType> {
      */
     @Override
     public ParserState<ResultType[]> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
         ArrayList<ResultType> results = new ArrayList<>();
+        if (!parseInto(context, results, ArrayList::add)) {
+            return false;
+        }
 
-        for (Parser<ResultType> parser : values) {
-            ParserState<ResultType> newState = parser.execute(state);
+        return context.succeed(context.getIndex(), toResultArray(results));
+    }
 
-            if (newState.isException()) {
-                return state.withException(newState.getException().getMessage()).retype();
+    /**
+     * Runs the parsing logic of the parser, passing each element to an accumulator instead of collecting them into the result. Elements whose results are ignored are not passed. If parsing is successful, the context is left at the end of the match, but its result is not set. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @param container The mutable container to accumulate the elements into.
+     * @param accumulator Adds an element to the container.
+     * @param <ContainerType> The type of the container.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public <ContainerType> boolean parseInto(ParserContext context, ContainerType container, BiConsumer<ContainerType, ? super ResultType> accumulator) {
+        for (Parser<ResultType> parser : values) {
+            if (!parser.execute(context)) {
+                return false;
             }
 
-            if (shouldAddResult(newState)) {
-                results.add(newState.getResult());
+            if (shouldAddResult(context)) {
+                accumulator.accept(container, context.getResult());
             }
-
-            state = newState;
         }
 
-        return state.updateState(state.getIndex(), (ResultType[]) results.toArray());
+        return true;
     }
 
     /**
@@ -72,4 +100,13 @@ public class SequenceParser<ResultType> extends MultiParser<ResultType> {
 
         return new SequenceParser<>(newParsers);
     }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return values.length > 0 ? values[0].getFirstSet() : null;
+    }
 }
\ No newline at end of file
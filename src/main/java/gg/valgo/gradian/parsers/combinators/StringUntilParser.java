@@ -0,0 +1,137 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.parsers.util.RecognizingParser;
+
+/**
+ * Parses characters until a certain value is reached in the input, resulting in a single substring of the characters before it. If the value is a literal string or character, or the FIRST set of its parser is known, the input is searched for the next place it could start (with indexOf() for literals), and the parser is only run there, so no characters are boxed or collected one at a time. If the end of input is reached, this parser will fail. For reader inputs, the substring must fit in the window. This parser only accepts a string input.
+ */
+public class StringUntilParser extends Parser<String> implements RecognizingParser {
+    /**
+     * The parser to parse everything up until.
+     */
+    private Parser<?> parser;
+
+    /**
+     * Finds where the parser could start matching, so it is not run at every character.
+     */
+    private TerminatorSearch search;
+
+    /**
+     * Creates a new StringUntilParser from a given parser.
+     * @param parser The parser to parse everything up until.
+     */
+    public StringUntilParser(Parser<?> parser) {
+        this.parser = parser;
+        search = new TerminatorSearch(parser);
+
+        setParserName("stringUntil");
+    }
+
+    /**
+     * Gets the parser to parse everything up until.
+     * @return The parser.
+     */
+    public Parser<?> getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<String> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return match(context, true);
+    }
+
+    /**
+     * Runs the parsing logic of the parser without building its result (copying the characters before the terminator). If parsing is successful, the context is left at the end of the match. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean recognize(ParserContext context) {
+        return match(context, false);
+    }
+
+    /**
+     * Matches the input, optionally building the result.
+     * @param context The current parser context.
+     * @param build Whether to build the result, or leave it unset.
+     * @return Whether parsing was successful.
+     */
+    private boolean match(ParserContext context, boolean build) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long start = context.getIndex();
+        long index = start;
+        input.mark(start);
+
+        while (true) {
+            index = search.find(input, index);
+            context.setIndex(index);
+
+            boolean matched = parser.execute(context);
+            context.backtrack(index);
+
+            if (matched) {
+                break;
+            }
+
+            if (input.isEndOfInput(index)) {
+                boolean failed = context.formatExpectedException(this, "everything until a value", "end of input: " + input);
+                input.release(start);
+                return failed;
+            }
+
+            index++;
+        }
+
+        String result = build ? input.getSubstring(start, index) : null;
+        input.release(start);
+        return context.succeed(index, result);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof StringParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string input";
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return String.class;
+    }
+}
\ No newline at end of file
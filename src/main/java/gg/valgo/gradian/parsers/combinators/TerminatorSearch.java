@@ -0,0 +1,161 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.parsers.matchers.BytesParser;
+import gg.valgo.gradian.parsers.matchers.StringParser;
+
+import java.util.BitSet;
+
+/**
+ * Finds where a parser could start matching in an input, so the "until" and "except" combinators only run it where it might succeed. Literal strings and bytes are found with indexOf() (Boyer-Moore-Horspool on windowed and bytes inputs), single characters and bytes with a word-at-a-time search, and other parsers with a known FIRST set by scanning for the characters or bytes they can start with. The parser should still be run at the position found, so its result and failures are the same as if it had been run everywhere.
+ */
+class TerminatorSearch {
+    /**
+     * The parser to search for.
+     */
+    private Parser<?> parser;
+
+    /**
+     * What is known about where the parser matches, built the first time it is needed and immutable once built.
+     */
+    private static class Analysis {
+        /**
+         * The string the parser matches in a string input, or null if it is not a string parser.
+         */
+        private final String literal;
+
+        /**
+         * The bytes the parser matches in a bytes input, or null if it is not a string or bytes parser.
+         */
+        private final byte[] literalBytes;
+
+        /**
+         * The characters the parser can start with in a string input, or null if unknown.
+         */
+        private final BitSet characters;
+
+        /**
+         * The bytes (as unsigned values) the parser can start with in a bytes input, or null if unknown.
+         */
+        private final BitSet bytes;
+
+        /**
+         * Creates a new Analysis.
+         * @param literal The string the parser matches, or null.
+         * @param literalBytes The bytes the parser matches, or null.
+         * @param characters The characters the parser can start with, or null.
+         * @param bytes The bytes the parser can start with, or null.
+         */
+        private Analysis(String literal, byte[] literalBytes, BitSet characters, BitSet bytes) {
+            this.literal = literal;
+            this.literalBytes = literalBytes;
+            this.characters = characters;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * The analysis of the parser, or null if it has not been analysed yet. Parsers are often shared between threads, so the analysis is built into a new Analysis and published through this field in one write.
+     */
+    private volatile Analysis analysis = null;
+
+    /**
+     * Creates a new TerminatorSearch for a given parser.
+     * @param parser The parser to search for.
+     */
+    TerminatorSearch(Parser<?> parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Analyses the parser, if it has not been analysed yet. This is done lazily, as a recursive parser may not be set up when this search is created.
+     * @return The analysis.
+     */
+    private Analysis analyse() {
+        Analysis analysis = this.analysis;
+        if (analysis != null) {
+            return analysis;
+        }
+
+        String literal = null;
+        byte[] literalBytes = null;
+        if (parser.getClass() == StringParser.class && !((StringParser) parser).getString().isEmpty()) {
+            literal = ((StringParser) parser).getString();
+            literalBytes = ((StringParser) parser).getStringBytes();
+        } else if (parser.getClass() == BytesParser.class && ((BytesParser) parser).getBytes().length > 0) {
+            literalBytes = ((BytesParser) parser).getBytes();
+        }
+
+        FirstSet firstSet = parser.getFirstSet();
+        analysis = new Analysis(literal, literalBytes, firstSet != null ? firstSet.getCharacters() : null, firstSet != null ? firstSet.getBytes() : null);
+        this.analysis = analysis;
+        return analysis;
+    }
+
+    /**
+     * Finds the first index at or after a given index where the parser could start matching. For reader and stream inputs, the elements between the two indices must fit in the window if they are needed afterwards.
+     * @param input The parser input.
+     * @param index The index to start searching at.
+     * @return The first index where the parser could match, the end of input if there is none, or the given index if nothing is known about where the parser matches in this input.
+     */
+    long find(ParserInput<?> input, long index) {
+        Analysis analysis = analyse();
+        String literal = analysis.literal;
+        byte[] literalBytes = analysis.literalBytes;
+        BitSet characters = analysis.characters;
+        BitSet bytes = analysis.bytes;
+
+        long next;
+        if (input instanceof StringParserInput && (literal != null || characters != null)) {
+            StringParserInput stringInput = (StringParserInput) input;
+            if (literal != null) {
+                next = stringInput.indexOf(index, literal);
+            } else if (characters.cardinality() == 1) {
+                next = stringInput.indexOf(index, (char) characters.nextSetBit(0));
+            } else {
+                next = stringInput.scan(index, character -> !characters.get(character));
+            }
+        } else if (input instanceof BytesParserInput && (literalBytes != null || bytes != null)) {
+            BytesParserInput bytesInput = (BytesParserInput) input;
+            if (literalBytes != null) {
+                next = bytesInput.indexOf(index, literalBytes);
+            } else if (bytes.cardinality() == 1) {
+                next = bytesInput.indexOf(index, (byte) bytes.nextSetBit(0));
+            } else {
+                next = bytesInput.scan(index, b -> !bytes.get(b & 0xFF));
+            }
+        } else {
+            return index;
+        }
+
+        return next < 0 ? input.length() : next;
+    }
+
+    /**
+     * Checks whether the parser could start matching at a given index, by looking only at the next element.
+     * @param input The parser input.
+     * @param index The index to check.
+     * @return False if the parser's FIRST set rules out the next element, otherwise true.
+     */
+    boolean couldStartAt(ParserInput<?> input, long index) {
+        Analysis analysis = analyse();
+        BitSet characters = analysis.characters;
+        BitSet bytes = analysis.bytes;
+
+        if (!input.hasRemaining(index, 1)) {
+            return true;
+        }
+
+        if (characters != null && input instanceof StringParserInput) {
+            return characters.get(((StringParserInput) input).getChar(index));
+        } else if (bytes != null && input instanceof BytesParserInput) {
+            return bytes.get(((BytesParserInput) input).getByte(index) & 0xFF);
+        }
+
+        return true;
+    }
+}
\ No newline at end of file
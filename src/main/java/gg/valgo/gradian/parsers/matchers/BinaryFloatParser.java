@@ -0,0 +1,88 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.DoubleParser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.ParserInput;
+
+/**
+ * Parses an IEEE 754 binary floating point number (a 4-byte float or an 8-byte double) from a bytes input, reading its bits with a single load where the input allows. If there are too few bytes left, this parser will fail. Otherwise, this parser results in a double.
+ */
+public class BinaryFloatParser extends DoubleParser {
+    /**
+     * The number of bytes to parse, 4 or 8.
+     */
+    private int bytes;
+
+    /**
+     * Whether the number is little-endian or not.
+     */
+    private boolean littleEndian;
+
+    /**
+     * Creates a new BinaryFloatParser.
+     * @param bytes The number of bytes to parse, 4 for a float or 8 for a double.
+     * @param littleEndian Whether the number is little-endian or not.
+     */
+    public BinaryFloatParser(int bytes, boolean littleEndian) {
+        if (bytes != 4 && bytes != 8) {
+            throw new IllegalArgumentException("Binary floating point numbers must be 4 or 8 bytes, got " + bytes + ".");
+        }
+
+        this.bytes = bytes;
+        this.littleEndian = littleEndian;
+    }
+
+    /**
+     * Gets the number of bytes to parse.
+     * @return The number of bytes, 4 or 8.
+     */
+    public int getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets whether the number is little-endian or not.
+     * @return Whether the number is little-endian.
+     */
+    public boolean isLittleEndian() {
+        return littleEndian;
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedDouble() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeDouble() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseDouble(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long start = context.getIndex();
+        if (!input.hasRemaining(start, bytes)) {
+            return context.formatExpectedException(this, bytes + " binary bytes", input.available(start, bytes) + " binary bytes");
+        }
+
+        long bits = input.getUnsigned(start, bytes, littleEndian);
+        double value = bytes == 4 ? Float.intBitsToFloat((int) bits) : Double.longBitsToDouble(bits);
+        return context.succeedDouble(start + bytes, value);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof BytesParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "bytes input";
+    }
+}
\ No newline at end of file
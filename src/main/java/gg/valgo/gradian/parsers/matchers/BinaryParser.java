@@ -1,14 +1,14 @@
 package gg.valgo.gradian.parsers.matchers;
 
-import gg.valgo.gradian.Parser;
-import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.LongParser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.input.BytesParserInput;
 import gg.valgo.gradian.input.ParserInput;
 
 /**
- * Parses a binary number from a bytes input. If there are too few bytes left, this parser will fail. Otherwise, this parser results in a long.
+ * Parses a binary number of up to 8 bytes from a bytes input. Inputs backed by a buffer decode 2, 4 and 8 byte numbers with a single load. If there are too few bytes left, this parser will fail. Otherwise, this parser results in a long. Unsigned 8-byte numbers result in their raw 64 bits, so values of 2^63 or more are negative longs (see Long.toUnsignedString()).
  */
-public class BinaryParser extends Parser<Long> {
+public class BinaryParser extends LongParser {
     /**
      * The number of bytes to parse.
      */
@@ -61,42 +61,40 @@ public class BinaryParser extends Parser<Long> {
     }
 
     /**
-     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedLong() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeLong() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
     @Override
-    public ParserState<Long> parse(ParserState<?> state) {
-        BytesParserInput input = (BytesParserInput) state.getInput();
-        Byte[] truncatedBytes = input.getTruncatedElements(state.getIndex());
-        if (truncatedBytes.length < bytes) {
-            return state.formatExpectedException(this, bytes + " binary bytes", truncatedBytes.length + " binary bytes").retype();
+    public boolean parseLong(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long start = context.getIndex();
+        if (!input.hasRemaining(start, bytes)) {
+            return context.formatExpectedException(this, bytes + " binary bytes", input.available(start, bytes) + " binary bytes");
         }
 
-        long value = 0;
+        long value = decode(input, start, bytes, signed, littleEndian);
 
-        for (int index = 0; index < bytes; index++) {
-            value *= 0x100;
-            byte b = truncatedBytes[littleEndian ? (bytes - index - 1) : index];
-            value += b < 0 ? b + 0x100 : b;
-        }
-
-        if (signed) {
-            long maxValue = (long) 1 << (bytes * 8);
-            value += (maxValue / 2);
-            value %= maxValue;
-            value -= (maxValue / 2);
-        }
-
-        return state.updateState(state.getIndex() + bytes, value);
+        return context.succeedLong(context.getIndex() + bytes, value);
     }
 
     /**
-     * Maps this parser to return an int.
-     * @return The mapped parser.
+     * Decodes a binary number from a bytes input, reading it with a single load where the input allows (see BytesParserInput.getUnsigned()). Signed numbers are sign-extended with a pair of shifts.
+     * @param input The bytes input.
+     * @param index The index of the first byte.
+     * @param bytes The amount of bytes to decode.
+     * @param signed Whether the number is signed or not.
+     * @param littleEndian Whether the number is little-endian or not.
+     * @return The number.
      */
-    public Parser<Integer> asInt() {
-        return castMap();
+    static long decode(BytesParserInput input, long index, int bytes, boolean signed, boolean littleEndian) {
+        long value = input.getUnsigned(index, bytes, littleEndian);
+        if (signed && bytes < 8) {
+            int shift = 64 - bytes * 8;
+            value = value << shift >> shift;
+        }
+
+        return value;
     }
 
     /**
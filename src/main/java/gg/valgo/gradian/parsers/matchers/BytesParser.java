@@ -1,5 +1,7 @@
 package gg.valgo.gradian.parsers.matchers;
 
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.BytesParserInput;
 import gg.valgo.gradian.parsers.util.MultiParser;
@@ -49,22 +51,29 @@ public class BytesParser extends MultiParser<Byte> {
      */
     @Override
     public ParserState<Byte[]> parse(ParserState<?> state) {
-        BytesParserInput input = (BytesParserInput) state.getInput();
-        int index = state.getIndex();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long index = context.getIndex();
         int length = bytes.length;
 
-        Byte[] truncated = input.getTruncatedElements(index);
-        if (truncated.length < length) {
-            return state.formatExpectedException(this, formatExpected(), input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (!input.hasRemaining(index, length)) {
+            return context.failAtEnd(this);
         }
 
-        for (int i = 0; i < bytes.length; i++) {
-            if (bytes[i] != truncated[i]) {
-                return state.formatExpectedException(this, formatExpected(), input.getTruncatedString(index)).retype();
-            }
+        if (!input.regionMatches(index, bytes)) {
+            return context.fail(this);
         }
 
-        return state.updateState(index + length, autoboxxed);
+        return context.succeed(index + length, autoboxxed);
     }
 
     /**
@@ -94,4 +103,22 @@ public class BytesParser extends MultiParser<Byte> {
     private static String byteToString(byte b) {
         return "0x" + (b < 16 ? "0" : "") + Integer.toHexString(b);
     }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return bytes.length > 0 ? FirstSet.ofBytes(bytes[0]) : null;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return formatExpected();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.parsers.util.RecognizingParser;
+import gg.valgo.gradian.util.CharacterClass;
+
+import java.util.BitSet;
+import java.util.Collections;
+
+/**
+ * A parser which matches characters in a character class, resulting in a string of the matched characters. It matches between a minimum and maximum amount of characters, as many as it can. Each character is checked with a single bitmap lookup, and single ASCII characters result in a cached string, so matching a single character does not allocate. If fewer than the minimum amount of characters could be matched, this parser will fail. This parser only accepts a string input.
+ */
+public class CharacterClassParser extends Parser<String> implements RecognizingParser {
+    /**
+     * Single character strings for the ASCII characters, so single character matches do not allocate.
+     */
+    private static final String[] ASCII_STRINGS = new String[128];
+
+    static {
+        for (char character = 0; character < ASCII_STRINGS.length; character++) {
+            ASCII_STRINGS[character] = String.valueOf(character).intern();
+        }
+    }
+
+    /**
+     * The class of characters to match.
+     */
+    private CharacterClass characterClass;
+
+    /**
+     * The minimum amount of characters to match.
+     */
+    private int minCount;
+
+    /**
+     * The maximum amount of characters to match, or -1 for no maximum.
+     */
+    private int maxCount;
+
+    /**
+     * Creates a new CharacterClassParser matching between a minimum and maximum amount of characters.
+     * @param characterClass The class of characters to match.
+     * @param minCount The minimum amount of characters to match.
+     * @param maxCount The maximum amount of characters to match, or -1 for no maximum.
+     */
+    public CharacterClassParser(CharacterClass characterClass, int minCount, int maxCount) {
+        this.characterClass = characterClass;
+        this.minCount = minCount;
+        this.maxCount = maxCount;
+
+        setParserName("characterClass");
+    }
+
+    /**
+     * Creates a new CharacterClassParser matching a single character.
+     * @param characterClass The class of characters to match.
+     */
+    public CharacterClassParser(CharacterClass characterClass) {
+        this(characterClass, 1, 1);
+    }
+
+    /**
+     * Gets the class of characters to match.
+     * @return The character class.
+     */
+    public CharacterClass getCharacterClass() {
+        return characterClass;
+    }
+
+    /**
+     * Gets the minimum amount of characters to match.
+     * @return The minimum count.
+     */
+    public int getMinCount() {
+        return minCount;
+    }
+
+    /**
+     * Gets the maximum amount of characters to match.
+     * @return The maximum count, or -1 for no maximum.
+     */
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<String> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return match(context, true);
+    }
+
+    /**
+     * Runs the parsing logic of the parser without building its result (copying the matched characters). If parsing is successful, the context is left at the end of the match. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean recognize(ParserContext context) {
+        return match(context, false);
+    }
+
+    /**
+     * Matches the input, optionally building the result.
+     * @param context The current parser context.
+     * @param build Whether to build the result, or leave it unset.
+     * @return Whether parsing was successful.
+     */
+    private boolean match(ParserContext context, boolean build) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long start = context.getIndex();
+        long index = start;
+
+        input.mark(start);
+        if (maxCount < 0) {
+            index = input.scan(start, characterClass);
+        } else {
+            while (index - start < maxCount && input.hasRemaining(index, 1) && characterClass.contains(input.getChar(index))) {
+                index++;
+            }
+        }
+
+        if (index - start < minCount) {
+            context.setIndex(index);
+            boolean failed = input.isEndOfInput(index) ? context.failAtEnd(this) : context.fail(this);
+            input.release(start);
+            return failed;
+        }
+
+        String result = null;
+        if (build && index - start == 1 && input.getChar(start) < ASCII_STRINGS.length) {
+            result = ASCII_STRINGS[input.getChar(start)];
+        } else if (build) {
+            result = input.getSubstring(start, index);
+        }
+
+        input.release(start);
+        return context.succeed(index, result);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof StringParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser, or null if it can match no characters.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return minCount > 0 ? new FirstSet(characterClass.toBitSet(), new BitSet(256), Collections.emptySet()) : null;
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return String.class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return characterClass.getDescription();
+    }
+}
\ No newline at end of file
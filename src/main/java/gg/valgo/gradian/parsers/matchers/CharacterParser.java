@@ -1,6 +1,8 @@
 package gg.valgo.gradian.parsers.matchers;
 
+import gg.valgo.gradian.FirstSet;
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.BytesParserInput;
 import gg.valgo.gradian.input.ParserInput;
@@ -38,56 +40,66 @@ public class CharacterParser extends Parser<Character> {
      */
     @Override
     public ParserState<Character> parse(ParserState<?> state) {
-        ParserInput<?> input = state.getInput();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
         if (input instanceof StringParserInput) {
-            return parseStringInput(state);
+            return parseStringInput(context);
         } else if (input instanceof BytesParserInput) {
-            return parseBytesInput(state);
+            return parseBytesInput(context);
         }
 
-        return state.formatBadInputTypeException(this, getExpectedInputName(), input.getInputName()).retype();
+        return context.formatBadInputTypeException(this, getExpectedInputName(), input.getInputName());
     }
 
     /**
      * Runs the parsing logic of the parser on a string input. Called internally by parse(). This method assumes that the input is a string input.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
-    private ParserState<Character> parseStringInput(ParserState<?> state) {
-        StringParserInput input = (StringParserInput) state.getInput();
-        int index = state.getIndex();
+    private boolean parseStringInput(ParserContext context) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long index = context.getIndex();
 
-        if (input.length() < index + 1) {
-            return state.formatExpectedException(this, "character '" + character + "'", input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (input.isEndOfInput(index)) {
+            return context.failAtEnd(this);
         }
 
-        Character otherCharacter = input.getElement(index);
+        char otherCharacter = input.getChar(index);
         if (otherCharacter == character) {
-            return state.updateState(index + 1, character);
+            return context.succeed(index + 1, character);
         }
 
-        return state.formatExpectedException(this, "character '" + character + "'", input.getTruncatedString(index)).retype();
+        return context.fail(this);
     }
 
     /**
      * Runs the parsing logic of the parser on a byte array input. Called internally by parse(). This method assumes that the input is a byte array input.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
-    private ParserState<Character> parseBytesInput(ParserState<?> state) {
-        BytesParserInput input = (BytesParserInput) state.getInput();
-        int index = state.getIndex();
+    private boolean parseBytesInput(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long index = context.getIndex();
 
-        if (input.length() < index + 1) {
-            return state.formatExpectedException(this, "character '" + character + "'", input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (input.isEndOfInput(index)) {
+            return context.failAtEnd(this);
         }
 
-        Byte b = input.getElement(index);
-        if ((char) b.byteValue() == character) {
-            return state.updateState(index + 1, character);
+        byte b = input.getByte(index);
+        if ((char) b == character) {
+            return context.succeed(index + 1, character);
         }
 
-        return state.formatExpectedException(this, "character '" + character + "'", input.getTruncatedString(index)).retype();
+        return context.fail(this);
     }
 
     /**
@@ -108,4 +120,31 @@ public class CharacterParser extends Parser<Character> {
     public String getExpectedInputName() {
         return "string or bytes input";
     }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return FirstSet.ofCharacters(character);
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return Character.class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "character '" + character + "'";
+    }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package gg.valgo.gradian.parsers.matchers;
 
+import gg.valgo.gradian.FirstSet;
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.BytesParserInput;
 import gg.valgo.gradian.input.ParserInput;
 import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.util.CharacterClass;
 
 /**
  * A parser which matches one of several characters, resulting in that character. If the end of input has been reached or none of the characters could be matched, this parser will fail. Otherwise, this parser will succeed.
@@ -15,12 +18,18 @@ public class ChoiceOfCharactersParser extends Parser<Character> {
      */
     private char[] choices;
 
+    /**
+     * The choices as a character class, so each character is checked with a single lookup instead of a scan of the choices.
+     */
+    private CharacterClass characterClass;
+
     /**
      * Creates a new ChoiceOfCharactersParser from a list of characters.
      * @param choices The choices.
      */
     public ChoiceOfCharactersParser(char... choices) {
         this.choices = choices;
+        this.characterClass = CharacterClass.of(choices);
 
         setParserName("choiceOfCharacters");
     }
@@ -43,67 +52,82 @@ public class ChoiceOfCharactersParser extends Parser<Character> {
         return choices;
     }
 
+    /**
+     * Gets the choices as a character class.
+     * @return The character class.
+     */
+    public CharacterClass getCharacterClass() {
+        return characterClass;
+    }
+
     /**
      * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
      * @param state The current parser state.
      * @return The updated parser state, after parsing.
      */
+    @Override
     public ParserState<Character> parse(ParserState<?> state) {
-        ParserInput<?> input = state.getInput();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
         if (input instanceof StringParserInput) {
-            return parseStringInput(state);
+            return parseStringInput(context);
         } else if (input instanceof BytesParserInput) {
-            return parseBytesInput(state);
+            return parseBytesInput(context);
         }
 
-        return state.formatBadInputTypeException(this, getExpectedInputName(), input.getInputName()).retype();
+        return context.formatBadInputTypeException(this, getExpectedInputName(), input.getInputName());
     }
 
     /**
      * Runs the parsing logic of the parser on a string input. Called internally by parse(). This method assumes that the input is a string input.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
-    private ParserState<Character> parseStringInput(ParserState<?> state) {
-        StringParserInput input = (StringParserInput) state.getInput();
-        int index = state.getIndex();
+    private boolean parseStringInput(ParserContext context) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long index = context.getIndex();
 
-        if (input.length() < index + 1) {
-            return state.formatExpectedException(this, formatExpected(), input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (input.isEndOfInput(index)) {
+            return context.failAtEnd(this);
         }
 
-        char character = input.getElement(index);
-        for (char choice : choices) {
-            if (character == choice) {
-                return state.updateState(index + 1, character);
-            }
+        char character = input.getChar(index);
+        if (characterClass.contains(character)) {
+            return context.succeed(index + 1, character);
         }
 
-        return state.formatExpectedException(this, formatExpected(), input.getTruncatedString(index)).retype();
+        return context.fail(this);
     }
 
     /**
      * Runs the parsing logic of the parser on a byte array input. Called internally by parse(). This method assumes that the input is a byte array input.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
-    private ParserState<Character> parseBytesInput(ParserState<?> state) {
-        BytesParserInput input = (BytesParserInput) state.getInput();
-        int index = state.getIndex();
+    private boolean parseBytesInput(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long index = context.getIndex();
 
-        if (input.length() < index + 1) {
-            return state.formatExpectedException(this, "any character", input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (input.isEndOfInput(index)) {
+            return context.failAtEnd(this);
         }
 
-        byte b = input.getElement(index);
+        byte b = input.getByte(index);
         char character = (char) b;
-        for (char choice : choices) {
-            if (character == choice) {
-                return state.updateState(index + 1, character);
-            }
+        if (characterClass.contains(character)) {
+            return context.succeed(index + 1, character);
         }
 
-        return state.formatExpectedException(this, formatExpected(), input.getTruncatedString(index)).retype();
+        return context.fail(this);
     }
 
 
@@ -126,6 +150,33 @@ public class ChoiceOfCharactersParser extends Parser<Character> {
         return "string or bytes input";
     }
 
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return FirstSet.ofCharacters(characterClass.toBitSet());
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return Character.class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return formatExpected();
+    }
+
     /**
      * Formats the choices into a list of characters.
      * @return The formatted choices.
@@ -0,0 +1,375 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A parser which matches one of several strings, resulting in that string. The strings are compiled into a trie, so the input is only read once however many strings there are, instead of once per string like a choice of string parsers. By default, the first string in the list which matches is the result (like a choice of string parsers), but the parser can also match the longest string instead. If the end of input has been reached or none of the strings could be matched, this parser will fail. This parser accepts a string input or a bytes input (where the strings are matched as UTF-8).
+ */
+public class ChoiceOfStringsParser extends Parser<String> {
+    /**
+     * Returned by match() if none of the strings match.
+     */
+    public static final int NO_MATCH = -1;
+
+    /**
+     * Returned by match() if none of the strings match and the end of input was reached.
+     */
+    public static final int END_OF_INPUT = -2;
+
+    /**
+     * The choices for strings to match.
+     */
+    private String[] choices;
+
+    /**
+     * Whether the longest matching string is the result, instead of the first matching string in the list.
+     */
+    private boolean longest;
+
+    /**
+     * The trie of the strings' characters, used for string inputs.
+     */
+    private Trie characterTrie;
+
+    /**
+     * The trie of the strings' UTF-8 bytes, used for bytes inputs.
+     */
+    private Trie byteTrie;
+
+    /**
+     * Creates a new ChoiceOfStringsParser from a list of strings.
+     * @param longest Whether the longest matching string is the result, instead of the first matching string in the list.
+     * @param choices The choices.
+     */
+    public ChoiceOfStringsParser(boolean longest, String... choices) {
+        this.choices = choices;
+        this.longest = longest;
+
+        int[][] characters = new int[choices.length][];
+        int[][] bytes = new int[choices.length][];
+        for (int i = 0; i < choices.length; i++) {
+            characters[i] = choices[i].chars().toArray();
+
+            byte[] stringBytes = choices[i].getBytes(StandardCharsets.UTF_8);
+            bytes[i] = new int[stringBytes.length];
+            for (int j = 0; j < stringBytes.length; j++) {
+                bytes[i][j] = stringBytes[j] & 0xFF;
+            }
+        }
+
+        characterTrie = new Trie(characters);
+        byteTrie = new Trie(bytes);
+
+        setParserName("choiceOfStrings");
+    }
+
+    /**
+     * Creates a new ChoiceOfStringsParser from a list of strings, where the first matching string in the list is the result.
+     * @param choices The choices.
+     */
+    public ChoiceOfStringsParser(String... choices) {
+        this(false, choices);
+    }
+
+    /**
+     * Gets the choices.
+     * @return The choices.
+     */
+    public String[] getChoices() {
+        return choices;
+    }
+
+    /**
+     * Gets whether the longest matching string is the result, instead of the first matching string in the list.
+     * @return Whether the longest match is used.
+     */
+    public boolean isLongest() {
+        return longest;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<String> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        long index = context.getIndex();
+
+        int match = match(input, index);
+        if (match == END_OF_INPUT) {
+            return context.failAtEnd(this);
+        } else if (match == NO_MATCH) {
+            return context.fail(this);
+        }
+
+        return context.succeed(index + getLength(input, match), choices[match]);
+    }
+
+    /**
+     * Finds which string matches at a given index, without changing any parser state.
+     * @param input The parser input, which must be valid for this parser.
+     * @param index The index to match at.
+     * @return The index of the matching string in the choices, NO_MATCH if none of the strings match, or END_OF_INPUT if none of the strings match and the end of input was reached.
+     */
+    public int match(ParserInput<?> input, long index) {
+        input.mark(index);
+        boolean stringInput = input instanceof StringParserInput;
+        Trie trie = stringInput ? characterTrie : byteTrie;
+
+        // Walk down the trie, remembering the best string ending on the way.
+        int node = 0;
+        int match = trie.terminals[0];
+        int depth = 0;
+        boolean endOfInput = false;
+        while (trie.keys[node].length > 0) {
+            if (!input.hasRemaining(index + depth, 1)) {
+                endOfInput = true;
+                break;
+            }
+
+            int key = stringInput ? ((StringParserInput) input).getChar(index + depth) : ((BytesParserInput) input).getByte(index + depth) & 0xFF;
+            int edge = Arrays.binarySearch(trie.keys[node], key);
+            if (edge < 0) {
+                break;
+            }
+
+            node = trie.children[node][edge];
+            depth++;
+
+            int terminal = trie.terminals[node];
+            if (terminal >= 0 && (match < 0 || longest || terminal < match)) {
+                match = terminal;
+            }
+
+            // In first match mode, no string further down the trie comes before the best match.
+            if (!longest && match >= 0 && trie.best[node] >= match) {
+                break;
+            }
+        }
+
+        input.release(index);
+
+        if (match < 0) {
+            return endOfInput ? END_OF_INPUT : NO_MATCH;
+        }
+
+        return match;
+    }
+
+    /**
+     * Gets the length of a string in an input, in characters for string inputs or in UTF-8 bytes for bytes inputs.
+     * @param input The parser input.
+     * @param choice The index of the string in the choices.
+     * @return The length of the string.
+     */
+    public int getLength(ParserInput<?> input, int choice) {
+        return input instanceof StringParserInput ? characterTrie.lengths[choice] : byteTrie.lengths[choice];
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof StringParserInput || input instanceof BytesParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string or bytes input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser, or null if one of the strings is empty.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        if (characterTrie.terminals[0] >= 0) {
+            return null;
+        }
+
+        BitSet characters = new BitSet();
+        for (int key : characterTrie.keys[0]) {
+            characters.set(key);
+        }
+
+        BitSet bytes = new BitSet(256);
+        for (int key : byteTrie.keys[0]) {
+            bytes.set(key);
+        }
+
+        return new FirstSet(characters, bytes, Collections.emptySet());
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return String.class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        String result = "string ";
+        for (int i = 0; i < choices.length; i++) {
+            if (i > 0) {
+                result = result.concat(i == choices.length - 1 ? " or " : ", ");
+            }
+
+            result = result.concat("\"" + choices[i] + "\"");
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets each string this parser expects to match, so merged failures list them alongside what other parsers expected.
+     * @return The set of what this parser expects.
+     */
+    @Override
+    public Set<String> getExpectedSet() {
+        Set<String> expectedSet = new LinkedHashSet<>();
+        for (String choice : choices) {
+            expectedSet.add("string \"" + choice + "\"");
+        }
+
+        return expectedSet;
+    }
+
+    /**
+     * A trie of strings, stored as arrays indexed by node. Node 0 is the root.
+     */
+    private static class Trie {
+        /**
+         * The sorted keys (characters or unsigned bytes) of the edges out of each node.
+         */
+        private int[][] keys;
+
+        /**
+         * The node each edge leads to, in the same order as the keys.
+         */
+        private int[][] children;
+
+        /**
+         * The index of the string ending at each node (the first one, if the same string is listed twice), or -1 if no string ends there.
+         */
+        private int[] terminals;
+
+        /**
+         * The lowest index of any string ending at or below each node, used to stop walking early in first match mode.
+         */
+        private int[] best;
+
+        /**
+         * The length of each string, in keys.
+         */
+        private int[] lengths;
+
+        /**
+         * Builds a trie from a list of strings.
+         * @param strings The strings, as arrays of keys.
+         */
+        private Trie(int[][] strings) {
+            lengths = new int[strings.length];
+            List<List<int[]>> edges = new ArrayList<>();
+            List<Integer> ends = new ArrayList<>();
+            edges.add(new ArrayList<>());
+            ends.add(-1);
+
+            for (int i = 0; i < strings.length; i++) {
+                lengths[i] = strings[i].length;
+                int node = 0;
+                for (int key : strings[i]) {
+                    int next = -1;
+                    for (int[] edge : edges.get(node)) {
+                        if (edge[0] == key) {
+                            next = edge[1];
+                            break;
+                        }
+                    }
+
+                    if (next < 0) {
+                        next = edges.size();
+                        edges.get(node).add(new int[] {key, next});
+                        edges.add(new ArrayList<>());
+                        ends.add(-1);
+                    }
+
+                    node = next;
+                }
+
+                if (ends.get(node) < 0) {
+                    ends.set(node, i);
+                }
+            }
+
+            int nodes = edges.size();
+            keys = new int[nodes][];
+            children = new int[nodes][];
+            terminals = new int[nodes];
+            best = new int[nodes];
+
+            for (int node = 0; node < nodes; node++) {
+                List<int[]> nodeEdges = edges.get(node);
+                nodeEdges.sort((first, second) -> Integer.compare(first[0], second[0]));
+
+                keys[node] = new int[nodeEdges.size()];
+                children[node] = new int[nodeEdges.size()];
+                for (int edge = 0; edge < nodeEdges.size(); edge++) {
+                    keys[node][edge] = nodeEdges.get(edge)[0];
+                    children[node][edge] = nodeEdges.get(edge)[1];
+                }
+
+                terminals[node] = ends.get(node);
+            }
+
+            // Children are always created after their parents, so working backwards visits every child before its parent.
+            for (int node = nodes - 1; node >= 0; node--) {
+                best[node] = terminals[node] >= 0 ? terminals[node] : Integer.MAX_VALUE;
+                for (int child : children[node]) {
+                    best[node] = Math.min(best[node], best[child]);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
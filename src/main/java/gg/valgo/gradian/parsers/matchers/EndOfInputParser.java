@@ -1,6 +1,7 @@
 package gg.valgo.gradian.parsers.matchers;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.ParserInput;
 
@@ -22,13 +23,33 @@ public class EndOfInputParser extends Parser<Void> {
      */
     @Override
     public ParserState<Void> parse(ParserState<?> state) {
-        ParserInput<?> input = state.getInput();
-        int index = state.getIndex();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        long index = context.getIndex();
 
         if (input.isEndOfInput(index)) {
-            return state.updateState(index, null);
+            return context.succeed(index, null);
         }
 
-        return state.formatExpectedException(this, "end of input", input.getTruncatedString(index)).setIgnoreResult(true).retype();
+        context.setIgnoreResult(true);
+        return context.fail(this);
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "end of input";
     }
 }
\ No newline at end of file
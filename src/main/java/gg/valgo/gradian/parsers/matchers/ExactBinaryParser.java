@@ -1,14 +1,14 @@
 package gg.valgo.gradian.parsers.matchers;
 
-import gg.valgo.gradian.Parser;
-import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.LongParser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.input.BytesParserInput;
 import gg.valgo.gradian.input.ParserInput;
 
 /**
  * Parses an exact binary number from a bytes input. If there are too few bytes left, or if the value couldn't be matched, this parser will fail. Otherwise, this parser results in a long.
  */
-public class ExactBinaryParser extends Parser<Long> {
+public class ExactBinaryParser extends LongParser {
     /**
      * The number of bytes to parse.
      */
@@ -76,46 +76,25 @@ public class ExactBinaryParser extends Parser<Long> {
     }
 
     /**
-     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedLong() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeLong() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
     @Override
-    public ParserState<Long> parse(ParserState<?> state) {
-        BytesParserInput input = (BytesParserInput) state.getInput();
-        Byte[] truncatedBytes = input.getTruncatedElements(state.getIndex());
-        if (truncatedBytes.length < bytes) {
-            return state.formatExpectedException(this, bytes + " binary bytes", truncatedBytes.length + " binary bytes").retype();
+    public boolean parseLong(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long start = context.getIndex();
+        if (!input.hasRemaining(start, bytes)) {
+            return context.formatExpectedException(this, bytes + " binary bytes", input.available(start, bytes) + " binary bytes");
         }
 
-        long value = 0;
-
-        for (int index = 0; index < bytes; index++) {
-            value *= 0x100;
-            byte b = truncatedBytes[littleEndian ? (bytes - index - 1) : index];
-            value += b < 0 ? b + 0x100 : b;
-        }
-
-        if (signed) {
-            long maxValue = (long) 1 << (bytes * 8);
-            value += (maxValue / 2);
-            value %= maxValue;
-            value -= (maxValue / 2);
-        }
+        long value = BinaryParser.decode(input, start, bytes, signed, littleEndian);
 
         if (value != this.value) {
-            return state.formatExpectedException(this, "number " + this.value + " in binary", "number " + value + " in binary").retype();
+            return context.formatExpectedException(this, "number " + this.value + " in binary", "number " + value + " in binary");
         }
 
-        return state.updateState(state.getIndex() + bytes, value);
-    }
-
-    /**
-     * Maps this parser to return an int.
-     * @return The mapped parser.
-     */
-    public Parser<Integer> asInt() {
-        return castMap();
+        return context.succeedLong(context.getIndex() + bytes, value);
     }
 
     /**
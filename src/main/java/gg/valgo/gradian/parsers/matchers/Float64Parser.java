@@ -0,0 +1,81 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.DoubleParser;
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+/**
+ * A parser which matches a decimal number in text, with an optional sign, fraction and exponent (such as "-1.5e3", ".5" or "2."), resulting in a double. The digits are read directly from the input, and the result is correctly rounded. Most numbers are converted with a single multiplication or division, and only numbers with more than 18 significant digits or a large exponent are copied and passed to Double.parseDouble(). If there are no digits, this parser will fail. This parser accepts a string or bytes input, reading bytes as ASCII characters.
+ */
+public class Float64Parser extends DoubleParser {
+    /**
+     * Whether an exponent is allowed after the number.
+     */
+    private boolean exponent;
+
+    /**
+     * Creates a new Float64Parser.
+     * @param exponent Whether an exponent is allowed after the number. If false, the parser only matches digits with an optional fraction, and its name is "decimal" instead of "float64".
+     */
+    public Float64Parser(boolean exponent) {
+        this.exponent = exponent;
+
+        setParserName(exponent ? "float64" : "decimal");
+    }
+
+    /**
+     * Gets whether an exponent is allowed after the number.
+     * @return Whether an exponent is allowed.
+     */
+    public boolean isExponent() {
+        return exponent;
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedDouble() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeDouble() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseDouble(ParserContext context) {
+        return NumberScanner.parseFloat(this, context, exponent);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return NumberScanner.isValid(input);
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string or bytes input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser, the digits, signs and decimal point.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return NumberScanner.firstSet(true);
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "number";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.IntParser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+/**
+ * A parser which matches an integer in text, with an optional sign, resulting in an int. The digits are read directly from the input and accumulated into the value, instead of matching a substring and passing it to Integer.parseInt(). If there are no digits, or the integer does not fit in 32 bits, this parser will fail. This parser accepts a string or bytes input, reading bytes as ASCII characters.
+ */
+public class Int32Parser extends IntParser {
+    /**
+     * Creates a new Int32Parser.
+     */
+    public Int32Parser() {
+        setParserName("int32");
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedInt() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeInt() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseInt(ParserContext context) {
+        return NumberScanner.parseInteger(this, context, Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return NumberScanner.isValid(input);
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string or bytes input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser, the digits and signs.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return NumberScanner.firstSet(false);
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "32-bit integer";
+    }
+}
\ No newline at end of file
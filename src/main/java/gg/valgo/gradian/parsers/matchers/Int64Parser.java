@@ -0,0 +1,65 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.LongParser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+/**
+ * A parser which matches an integer in text, with an optional sign, resulting in a long. The digits are read directly from the input and accumulated into the value, instead of matching a substring and passing it to Long.parseLong(). If there are no digits, or the integer does not fit in 64 bits, this parser will fail. This parser accepts a string or bytes input, reading bytes as ASCII characters.
+ */
+public class Int64Parser extends LongParser {
+    /**
+     * Creates a new Int64Parser.
+     */
+    public Int64Parser() {
+        setParserName("int64");
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedLong() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeLong() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseLong(ParserContext context) {
+        return NumberScanner.parseInteger(this, context, Long.MIN_VALUE, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return NumberScanner.isValid(input);
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string or bytes input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser, the digits and signs.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return NumberScanner.firstSet(false);
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "64-bit integer";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scans numbers in text directly from a string or bytes input, without copying their characters, and results in them through the primitive result channel. Bytes are read as ASCII characters. Used by Int32Parser, Int64Parser and Float64Parser.
+ */
+final class NumberScanner {
+    /**
+     * The powers of ten which are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The most significant digits kept in a floating point mantissa, so it always fits in a long.
+     */
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    /**
+     * The largest exponent read from the input. Larger exponents overflow to infinity or zero regardless of the mantissa, so reading more digits is not needed.
+     */
+    private static final int MAX_EXPONENT = 100000;
+
+    /**
+     * Prevents NumberScanner from being instantiated.
+     */
+    private NumberScanner() {}
+
+    /**
+     * Checks whether a given input can be scanned for numbers.
+     * @param input The parser input.
+     * @return Whether the input is a string or bytes input.
+     */
+    static boolean isValid(ParserInput<?> input) {
+        return input instanceof StringParserInput || input instanceof BytesParserInput;
+    }
+
+    /**
+     * Gets the FIRST set of a number parser.
+     * @param decimalPoint Whether the number can start with a decimal point.
+     * @return The FIRST set, containing the digits and signs.
+     */
+    static FirstSet firstSet(boolean decimalPoint) {
+        return FirstSet.ofCharacters((decimalPoint ? "+-.0123456789" : "+-0123456789").toCharArray());
+    }
+
+    /**
+     * Gets a character from a string or bytes input, without boxing it.
+     * @param input The parser input.
+     * @param index The index of the character.
+     * @return The character, or -1 at the end of input.
+     */
+    static int charAt(ParserInput<?> input, long index) {
+        if (!input.hasRemaining(index, 1)) {
+            return -1;
+        }
+
+        return input instanceof StringParserInput ? ((StringParserInput) input).getChar(index) : ((BytesParserInput) input).getByte(index) & 0xFF;
+    }
+
+    /**
+     * Checks whether a character is a digit.
+     * @param character The character, or -1 at the end of input.
+     * @return Whether the character is a digit.
+     */
+    private static boolean isDigit(int character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Parses an integer with an optional sign, accumulating its digits into a long. The value is accumulated as a negative number, as the negative range is larger, so the minimum value can be parsed without overflowing.
+     * @param parser The parser to report failures for.
+     * @param context The current parser context.
+     * @param min The smallest value allowed.
+     * @param max The largest value allowed.
+     * @param asInt Whether to result in an int instead of a long.
+     * @return Whether parsing was successful.
+     */
+    static boolean parseInteger(Parser<?> parser, ParserContext context, long min, long max, boolean asInt) {
+        ParserInput<?> input = context.getInput();
+        long index = context.getIndex();
+
+        int character = charAt(input, index);
+        boolean negative = character == '-';
+        if (negative || character == '+') {
+            character = charAt(input, ++index);
+        }
+
+        if (!isDigit(character)) {
+            context.setIndex(index);
+            return character < 0 ? context.failAtEnd(parser) : context.fail(parser);
+        }
+
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long value = 0;
+        do {
+            int digit = character - '0';
+            if (value < multiplyLimit || value * 10 < limit + digit) {
+                return context.formatExpectedException(parser, parser.getExpected(), "integer out of range");
+            }
+
+            value = value * 10 - digit;
+            character = charAt(input, ++index);
+        } while (isDigit(character));
+
+        value = negative ? value : -value;
+        return asInt ? context.succeedInt(index, (int) value) : context.succeedLong(index, value);
+    }
+
+    /**
+     * Parses a floating point number with an optional sign, fraction and exponent, such as "-1.5e3", ".5" or "2.". Up to 18 significant digits are accumulated into a long mantissa, and if the mantissa and power of ten are both exactly representable as doubles, the result is a single correctly rounded multiplication or division. Otherwise, the matched text is passed to Double.parseDouble(), which is also correctly rounded.
+     * @param parser The parser to report failures for.
+     * @param context The current parser context.
+     * @param exponent Whether an exponent is allowed.
+     * @return Whether parsing was successful.
+     */
+    static boolean parseFloat(Parser<?> parser, ParserContext context, boolean exponent) {
+        ParserInput<?> input = context.getInput();
+        long start = context.getIndex();
+        long index = start;
+        input.mark(start);
+
+        int character = charAt(input, index);
+        boolean negative = character == '-';
+        if (negative || character == '+') {
+            character = charAt(input, ++index);
+        }
+
+        long digitsStart = index;
+        long mantissa = 0;
+        int digits = 0;
+        int power = 0;
+        boolean truncated = false;
+        boolean anyDigits = false;
+
+        for (; isDigit(character); character = charAt(input, ++index)) {
+            anyDigits = true;
+            if (digits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + character - '0';
+                digits += mantissa == 0 ? 0 : 1;
+            } else {
+                power++;
+                truncated |= character != '0';
+            }
+        }
+
+        if (character == '.' && (anyDigits || isDigit(charAt(input, index + 1)))) {
+            for (character = charAt(input, ++index); isDigit(character); character = charAt(input, ++index)) {
+                anyDigits = true;
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + character - '0';
+                    digits += mantissa == 0 ? 0 : 1;
+                    power--;
+                } else {
+                    truncated |= character != '0';
+                }
+            }
+        }
+
+        if (!anyDigits) {
+            context.setIndex(index);
+            input.release(start);
+            return character < 0 ? context.failAtEnd(parser) : context.fail(parser);
+        }
+
+        if (exponent && (character == 'e' || character == 'E')) {
+            long exponentIndex = index + 1;
+            int exponentCharacter = charAt(input, exponentIndex);
+            boolean negativeExponent = exponentCharacter == '-';
+            if (negativeExponent || exponentCharacter == '+') {
+                exponentCharacter = charAt(input, ++exponentIndex);
+            }
+
+            if (isDigit(exponentCharacter)) {
+                int value = 0;
+                do {
+                    value = Math.min(value * 10 + exponentCharacter - '0', MAX_EXPONENT);
+                    exponentCharacter = charAt(input, ++exponentIndex);
+                } while (isDigit(exponentCharacter));
+
+                power += negativeExponent ? -value : value;
+                index = exponentIndex;
+            }
+        }
+
+        double result;
+        if (mantissa == 0) {
+            result = 0;
+        } else if (!truncated && mantissa <= 1L << 53 && power >= -22 && power <= 22) {
+            result = power < 0 ? mantissa / POWERS_OF_TEN[-power] : mantissa * POWERS_OF_TEN[power];
+        } else {
+            result = Double.parseDouble(getText(input, digitsStart, index));
+        }
+
+        input.release(start);
+        return context.succeedDouble(index, negative ? -result : result);
+    }
+
+    /**
+     * Copies the text of a number from a string or bytes input.
+     * @param input The parser input.
+     * @param start The starting index of the text (inclusive).
+     * @param end The ending index of the text (exclusive).
+     * @return The text.
+     */
+    private static String getText(ParserInput<?> input, long start, long end) {
+        if (input instanceof StringParserInput) {
+            return ((StringParserInput) input).getSubstring(start, end);
+        }
+
+        return new String(((BytesParserInput) input).getBytes(start, end), StandardCharsets.ISO_8859_1);
+    }
+}
\ No newline at end of file
@@ -1,17 +1,22 @@
 package gg.valgo.gradian.parsers.matchers;
 
+import gg.valgo.gradian.FirstSet;
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.ParserInput;
 import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.parsers.util.RecognizingParser;
 
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * A parser which matches a regular expression in a string. If matching was successful, the match (or a group within the match) is returned. Otherwise, the parser fails. This parser only accepts string input.
  */
-public class RegexParser extends Parser<String> {
+public class RegexParser extends Parser<String> implements RecognizingParser {
     /**
      * The pattern to match in the input.
      */
@@ -22,6 +27,11 @@ public class RegexParser extends Parser<String> {
      */
     private int group;
 
+    /**
+     * The matcher used by each thread, so that a new matcher does not have to be created for every match.
+     */
+    private ThreadLocal<Matcher> matcher;
+
     /**
      * Creates a RegexParser from a given pattern and match group. If the whole match is to be returned, use group 0.
      * @param pattern The pattern to match in the input.
@@ -31,6 +41,8 @@ public class RegexParser extends Parser<String> {
         this.pattern = pattern;
         this.group = group;
 
+        matcher = ThreadLocal.withInitial(() -> pattern.matcher(""));
+
         setParserName("regex");
     }
 
@@ -84,18 +96,53 @@ public class RegexParser extends Parser<String> {
      */
     @Override
     public ParserState<String> parse(ParserState<?> state) {
-        StringParserInput input = (StringParserInput) state.getInput();
-        int index = state.getIndex();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return match(context, true);
+    }
 
-        String substring = input.getSubstring(index);
-        Matcher matcher = pattern.matcher(substring);
-        if (!matcher.find()) {
-            return state.formatExpectedException(this, "string matching pattern \"" + pattern + "\"", input.getTruncatedString(index)).retype();
+    /**
+     * Runs the parsing logic of the parser without building its result (copying the matched group). The range matched is always that of the whole match, not the group. If parsing is successful, the context is left at the end of the match. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean recognize(ParserContext context) {
+        return match(context, false);
+    }
+
+    /**
+     * Matches the input, optionally building the result.
+     * @param context The current parser context.
+     * @param build Whether to build the result, or leave it unset.
+     * @return Whether parsing was successful.
+     */
+    private boolean match(ParserContext context, boolean build) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long index = context.getIndex();
+
+        Matcher matcher = this.matcher.get();
+        boolean found = input.lookingAt(matcher, index);
+
+        String match = found && build ? matcher.group(group) : null;
+        long end = found ? index + matcher.end() - matcher.regionStart() : index;
+
+        // Don't keep a reference to the input string in the thread's matcher.
+        matcher.reset("");
+
+        if (!found) {
+            return context.fail(this);
         }
 
-        String match = matcher.group(group);
-        String wholeMatch = matcher.group();
-        return state.updateState(index + wholeMatch.length(), match);
+        return context.succeed(end, match);
     }
 
     /**
@@ -116,4 +163,118 @@ public class RegexParser extends Parser<String> {
     public String getExpectedInputName() {
         return "string input";
     }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match. Only simple patterns are analysed: an optional "^", then a character, a character class, or \\d, \\s or \\w, which must be matched at least once.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        BitSet characters = pattern.flags() == 0 ? firstCharacters(pattern.pattern()) : null;
+        return characters != null ? new FirstSet(characters, new BitSet(256), Collections.emptySet()) : null;
+    }
+
+    /**
+     * Finds the characters a simple pattern can start with.
+     * @param regex The pattern.
+     * @return The characters, or null if the pattern is not simple enough.
+     */
+    private static BitSet firstCharacters(String regex) {
+        int index = regex.startsWith("^") ? 1 : 0;
+        if (index >= regex.length() || regex.indexOf('|') >= 0) {
+            return null;
+        }
+
+        BitSet characters = new BitSet();
+        char first = regex.charAt(index);
+        if (first == '[') {
+            int end = index + 1;
+            while (end < regex.length() && regex.charAt(end) != ']') {
+                // Escapes, nested classes and intersections are not analysed.
+                if ("\\[&".indexOf(regex.charAt(end)) >= 0) {
+                    return null;
+                }
+
+                end++;
+            }
+
+            if (end >= regex.length() || end == index + 1 || regex.charAt(index + 1) == '^') {
+                return null;
+            }
+
+            for (int i = index + 1; i < end; i++) {
+                char from = regex.charAt(i);
+                if (i + 2 < end && regex.charAt(i + 1) == '-') {
+                    char to = regex.charAt(i + 2);
+                    if (to < from) {
+                        return null;
+                    }
+
+                    characters.set(from, to + 1);
+                    i += 2;
+                } else {
+                    characters.set(from);
+                }
+            }
+
+            index = end + 1;
+        } else if (first == '\\' && index + 1 < regex.length()) {
+            char escaped = regex.charAt(index + 1);
+            switch (escaped) {
+                case 'd':
+                    characters.set('0', '9' + 1);
+                    break;
+                case 's':
+                    for (char c : " \t\n\u000B\f\r".toCharArray()) {
+                        characters.set(c);
+                    }
+                    break;
+                case 'w':
+                    characters.set('a', 'z' + 1);
+                    characters.set('A', 'Z' + 1);
+                    characters.set('0', '9' + 1);
+                    characters.set('_');
+                    break;
+                default:
+                    if (Character.isLetterOrDigit(escaped)) {
+                        return null;
+                    }
+
+                    characters.set(escaped);
+                    break;
+            }
+
+            index += 2;
+        } else if (".()*+?{}$".indexOf(first) >= 0) {
+            return null;
+        } else {
+            characters.set(first);
+            index++;
+        }
+
+        // The first element must be matched at least once.
+        if (index < regex.length() && "*?{".indexOf(regex.charAt(index)) >= 0) {
+            return null;
+        }
+
+        return characters;
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return String.class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "string matching pattern \"" + pattern + "\"";
+    }
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package gg.valgo.gradian.parsers.matchers;
 
+import gg.valgo.gradian.FirstSet;
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.BytesParserInput;
 import gg.valgo.gradian.input.ParserInput;
 import gg.valgo.gradian.input.StringParserInput;
 
 import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collections;
 
 /**
  * A parser which matches a string, resulting in the input string if successful. If the string cannot be matched, the parser will fail. This parser accepts a string or byte array input.
@@ -65,66 +69,68 @@ public class StringParser extends Parser<String> {
      */
     @Override
     public ParserState<String> parse(ParserState<?> state) {
-        ParserInput<?> input = state.getInput();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
         if (input instanceof StringParserInput) {
-            return parseStringInput(state);
+            return parseStringInput(context);
         } else if (input instanceof BytesParserInput) {
-            return parseBytesInput(state);
+            return parseBytesInput(context);
         }
 
-        return state.formatBadInputTypeException(this, getExpectedInputName(), input.getInputName()).retype();
+        return context.formatBadInputTypeException(this, getExpectedInputName(), input.getInputName());
     }
 
     /**
      * Runs the parsing logic of the parser on a string input. Called internally by parse(). This method assumes that the input is a string input.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
-    private ParserState<String> parseStringInput(ParserState<?> state) {
-        StringParserInput input = (StringParserInput) state.getInput();
-        int index = state.getIndex();
+    private boolean parseStringInput(ParserContext context) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long index = context.getIndex();
         int length = string.length();
 
-        if (input.length() < index + length) {
-            return state.formatExpectedException(this, "string \"" + string + "\"", input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (!input.hasRemaining(index, length)) {
+            return context.failAtEnd(this);
         }
 
-        String substring = input.getSubstring(index);
-        if (substring.startsWith(string)) {
-            return state.updateState(index + length, string);
+        if (input.regionMatches(index, string)) {
+            return context.succeed(index + length, string);
         }
 
-        return state.formatExpectedException(this, "string \"" + string + "\"", input.getTruncatedString(index)).retype();
+        return context.fail(this);
     }
 
     /**
      * Runs the parsing logic of the parser on a byte array input. Called internally by parse(). This method assumes that the input is a byte array input.
-     * @param state The current parser state.
-     * @return The updated parser state, after parsing.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
      */
-    private ParserState<String> parseBytesInput(ParserState<?> state) {
-        BytesParserInput input = (BytesParserInput) state.getInput();
-        int index = state.getIndex();
+    private boolean parseBytesInput(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long index = context.getIndex();
 
         generateStringBytes();
 
         int length = stringBytes.length;
-        if (input.length() < index + length) {
-            return state.formatExpectedException(this, "string \"" + string + "\"", input.getTruncatedString(index) + " (end of input reached)").retype();
-        }
-
-        Byte[] bytes = input.getTruncatedElements(index);
-        if (bytes.length < length) {
-            return state.formatExpectedException(this, "string \"" + string + "\"", input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (!input.hasRemaining(index, length)) {
+            return context.failAtEnd(this);
         }
 
-        for (int i = 0; i < length; i++) {
-            if (stringBytes[i] != bytes[i]) {
-                return state.formatExpectedException(this, "string \"" + string + "\"", input.getTruncatedString(index)).retype();
-            }
+        if (!input.regionMatches(index, stringBytes)) {
+            return context.fail(this);
         }
 
-        return state.updateState(index + length, string);
+        return context.succeed(index + length, string);
     }
 
     /**
@@ -145,4 +151,42 @@ public class StringParser extends Parser<String> {
     public String getExpectedInputName() {
         return "string or bytes input";
     }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        if (string.isEmpty()) {
+            return null;
+        }
+
+        generateStringBytes();
+
+        BitSet characters = new BitSet();
+        characters.set(string.charAt(0));
+        BitSet bytes = new BitSet(256);
+        bytes.set(stringBytes[0] & 0xFF);
+
+        return new FirstSet(characters, bytes, Collections.emptySet());
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return String.class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "string \"" + string + "\"";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.parsers.util.RecognizingParser;
+import gg.valgo.gradian.util.interfaces.BytePredicate;
+
+/**
+ * A parser which matches a run of bytes passing a test, resulting in a single unboxed array of the run. The bytes are scanned in a single loop over the input (directly over the backing array, if there is one) without boxing them. If fewer than the minimum amount of bytes could be matched, this parser will fail. A skipping parser does not copy the bytes, and its result is ignored. This parser only accepts a bytes input.
+ */
+public class TakeBytesWhileParser extends Parser<byte[]> implements RecognizingParser {
+    /**
+     * The test each byte must pass.
+     */
+    private BytePredicate predicate;
+
+    /**
+     * The minimum amount of bytes to match.
+     */
+    private int minCount;
+
+    /**
+     * Whether the matched bytes are skipped, instead of resulting in an array.
+     */
+    private boolean skip;
+
+    /**
+     * Creates a new TakeBytesWhileParser.
+     * @param predicate The test each byte must pass.
+     * @param minCount The minimum amount of bytes to match.
+     * @param skip Whether the matched bytes are skipped, instead of resulting in an array.
+     */
+    public TakeBytesWhileParser(BytePredicate predicate, int minCount, boolean skip) {
+        this.predicate = predicate;
+        this.minCount = minCount;
+        this.skip = skip;
+
+        setParserName(skip ? "skipBytesWhile" : "takeBytesWhile");
+    }
+
+    /**
+     * Gets the test each byte must pass.
+     * @return The predicate.
+     */
+    public BytePredicate getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Gets the minimum amount of bytes to match.
+     * @return The minimum count.
+     */
+    public int getMinCount() {
+        return minCount;
+    }
+
+    /**
+     * Gets whether the matched bytes are skipped, instead of resulting in an array.
+     * @return Whether the bytes are skipped.
+     */
+    public boolean isSkip() {
+        return skip;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<byte[]> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return match(context, true);
+    }
+
+    /**
+     * Runs the parsing logic of the parser without building its result (copying the matched bytes). If parsing is successful, the context is left at the end of the match. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean recognize(ParserContext context) {
+        return match(context, false);
+    }
+
+    /**
+     * Matches the input, optionally building the result.
+     * @param context The current parser context.
+     * @param build Whether to build the result, or leave it unset.
+     * @return Whether parsing was successful.
+     */
+    private boolean match(ParserContext context, boolean build) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long start = context.getIndex();
+
+        // The matched text only needs to be kept if it is copied into the result, so a skipped run can be longer than a stream input's window.
+        boolean copy = build && !skip;
+        if (copy) {
+            input.mark(start);
+        }
+
+        long end = input.scan(start, predicate);
+
+        if (end - start < minCount) {
+            if (copy) {
+                input.release(start);
+            }
+
+            context.setIndex(end);
+            return input.isEndOfInput(end) ? context.failAtEnd(this) : context.fail(this);
+        }
+
+        if (!copy) {
+            context.succeed(end, null);
+            context.setIgnoreResult(skip);
+            return true;
+        }
+
+        byte[] result = input.getBytes(start, end);
+        input.release(start);
+        return context.succeed(end, result);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof BytesParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "bytes input";
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return byte[].class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return "matching byte";
+    }
+}
\ No newline at end of file
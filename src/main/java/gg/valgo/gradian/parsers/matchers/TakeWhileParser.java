@@ -0,0 +1,190 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.parsers.util.RecognizingParser;
+import gg.valgo.gradian.util.CharacterClass;
+import gg.valgo.gradian.util.interfaces.CharPredicate;
+
+import java.util.BitSet;
+import java.util.Collections;
+
+/**
+ * A parser which matches a run of characters passing a test, resulting in a single substring of the run. The characters are scanned in a single loop over the input without boxing them, instead of collecting each character and joining them like many(). If fewer than the minimum amount of characters could be matched, this parser will fail. A skipping parser does not create the substring, and its result is ignored. This parser only accepts a string input.
+ */
+public class TakeWhileParser extends Parser<String> implements RecognizingParser {
+    /**
+     * The test each character must pass.
+     */
+    private CharPredicate predicate;
+
+    /**
+     * The minimum amount of characters to match.
+     */
+    private int minCount;
+
+    /**
+     * Whether the matched characters are skipped, instead of resulting in a substring.
+     */
+    private boolean skip;
+
+    /**
+     * Creates a new TakeWhileParser.
+     * @param predicate The test each character must pass.
+     * @param minCount The minimum amount of characters to match.
+     * @param skip Whether the matched characters are skipped, instead of resulting in a substring.
+     */
+    public TakeWhileParser(CharPredicate predicate, int minCount, boolean skip) {
+        this.predicate = predicate;
+        this.minCount = minCount;
+        this.skip = skip;
+
+        setParserName(skip ? "skipWhile" : "takeWhile");
+    }
+
+    /**
+     * Gets the test each character must pass.
+     * @return The predicate.
+     */
+    public CharPredicate getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Gets the minimum amount of characters to match.
+     * @return The minimum count.
+     */
+    public int getMinCount() {
+        return minCount;
+    }
+
+    /**
+     * Gets whether the matched characters are skipped, instead of resulting in a substring.
+     * @return Whether the characters are skipped.
+     */
+    public boolean isSkip() {
+        return skip;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<String> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return match(context, true);
+    }
+
+    /**
+     * Runs the parsing logic of the parser without building its result (copying the matched characters). If parsing is successful, the context is left at the end of the match. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean recognize(ParserContext context) {
+        return match(context, false);
+    }
+
+    /**
+     * Matches the input, optionally building the result.
+     * @param context The current parser context.
+     * @param build Whether to build the result, or leave it unset.
+     * @return Whether parsing was successful.
+     */
+    private boolean match(ParserContext context, boolean build) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long start = context.getIndex();
+
+        // The matched text only needs to be kept if it is copied into the result, so a skipped run can be longer than a stream input's window.
+        boolean copy = build && !skip;
+        if (copy) {
+            input.mark(start);
+        }
+
+        long end = input.scan(start, predicate);
+
+        if (end - start < minCount) {
+            if (copy) {
+                input.release(start);
+            }
+
+            context.setIndex(end);
+            return input.isEndOfInput(end) ? context.failAtEnd(this) : context.fail(this);
+        }
+
+        if (!copy) {
+            context.succeed(end, null);
+            context.setIgnoreResult(skip);
+            return true;
+        }
+
+        String result = input.getSubstring(start, end);
+        input.release(start);
+        return context.succeed(end, result);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof StringParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser, or null if it can match no characters or its predicate is not a character class.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        if (minCount > 0 && predicate instanceof CharacterClass) {
+            return new FirstSet(((CharacterClass) predicate).toBitSet(), new BitSet(256), Collections.emptySet());
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the class of this parser's results, used to give the result arrays of repetitions and sequences of this parser their element type.
+     * @return The result class.
+     */
+    @Override
+    public Class<?> getResultClass() {
+        return String.class;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return predicate instanceof CharacterClass ? ((CharacterClass) predicate).getDescription() : "matching character";
+    }
+}
\ No newline at end of file
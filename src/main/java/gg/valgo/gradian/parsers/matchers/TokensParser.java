@@ -1,5 +1,7 @@
 package gg.valgo.gradian.parsers.matchers;
 
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.ParserInput;
 import gg.valgo.gradian.input.Token;
@@ -40,22 +42,31 @@ public class TokensParser extends MultiParser<Token<?>> {
      */
     @Override
     public ParserState<Token<?>[]> parse(ParserState<?> state) {
-        TokensParserInput input = (TokensParserInput) state.getInput();
-        int index = state.getIndex();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        TokensParserInput input = (TokensParserInput) context.getInput();
+        long index = context.getIndex();
         int length = tokens.length;
 
-        Token<?>[] truncated = input.getTruncatedElements(index);
-        if (truncated.length < length) {
-            return state.formatExpectedException(this, formatExpected() + " (ignoring data)", input.getTruncatedString(index) + " (end of input reached)").retype();
+        if (!input.hasRemaining(index, length)) {
+            return context.failAtEnd(this);
         }
 
         for (int i = 0; i < tokens.length; i++) {
-            if (!tokens[i].idEquals(truncated[i])) {
-                return state.formatExpectedException(this, formatExpected() + " (ignoring data)", input.getTruncatedString(index)).retype();
+            if (!tokens[i].idEquals(input.getElement(index + i))) {
+                return context.fail(this);
             }
         }
 
-        return state.updateState(index + length, tokens);
+        return context.succeed(index + length, tokens);
     }
 
     /**
@@ -77,6 +88,24 @@ public class TokensParser extends MultiParser<Token<?>> {
         return "tokens input";
     }
 
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return tokens.length > 0 ? FirstSet.ofTokenIds(tokens[0].getId()) : null;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return formatExpected() + " (ignoring data)";
+    }
+
     /**
      * Formats the expected values.
      * @return The formatted expected values.
@@ -0,0 +1,45 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.ParserContext;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.stream.Collector;
+
+/**
+ * A parser which produces a sequence of elements one at a time, such as a repetition or a sequence. Instead of always collecting the elements into an array, the elements can be passed to any accumulator, so a parser built with collect() or fold() can sum, count or build maps without creating any intermediate lists or arrays.
+ * @param <ElementType> The type of the elements.
+ */
+public interface AccumulatingParser<ElementType> {
+    /**
+     * Runs the parsing logic of the parser, passing each element to an accumulator instead of collecting them into the result. Elements whose results are ignored are not passed. If parsing is successful, the context is left at the end of the match, but its result is not set. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @param container The mutable container to accumulate the elements into.
+     * @param accumulator Adds an element to the container.
+     * @param <ContainerType> The type of the container.
+     * @return Whether parsing was successful.
+     */
+    <ContainerType> boolean parseInto(ParserContext context, ContainerType container, BiConsumer<ContainerType, ? super ElementType> accumulator);
+
+    /**
+     * Creates a parser which collects the elements of this parser with a Collector, resulting in the collector's result. For example, collect(Collectors.toMap(...)) builds a map directly from the elements.
+     * @param collector The collector.
+     * @param <ContainerType> The collector's mutable container type.
+     * @param <ResultType> The collector's result type.
+     * @return The collecting parser.
+     */
+    default <ContainerType, ResultType> CollectParser<ElementType, ContainerType, ResultType> collect(Collector<? super ElementType, ContainerType, ResultType> collector) {
+        return new CollectParser<>(this, collector);
+    }
+
+    /**
+     * Creates a parser which folds the elements of this parser into a single value, starting from an initial value. For example, fold(0L, (sum, value) -> sum + value) sums the elements.
+     * @param initial The initial value, used as the result if there are no elements.
+     * @param accumulator Combines the value so far with the next element.
+     * @param <ResultType> The type of the folded value.
+     * @return The folding parser.
+     */
+    default <ResultType> FoldParser<ElementType, ResultType> fold(ResultType initial, BiFunction<ResultType, ? super ElementType, ResultType> accumulator) {
+        return new FoldParser<>(this, initial, accumulator);
+    }
+}
\ No newline at end of file
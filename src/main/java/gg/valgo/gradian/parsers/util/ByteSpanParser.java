@@ -0,0 +1,100 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ByteSpan;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.ParserInput;
+
+/**
+ * A parser which results in the range of input matched by another parser, as a ByteSpan, instead of that parser's result. Where it can, the parser is run without building its result (see RecognizingParser), so no bytes are copied unless the span is copied. Used internally by the Parser.byteSpan() method. This parser only accepts a bytes input.
+ */
+public class ByteSpanParser extends Parser<ByteSpan> {
+    /**
+     * The parser whose match is the result.
+     */
+    private Parser<?> parser;
+
+    /**
+     * Creates a new ByteSpanParser from a given parser.
+     * @param parser The parser whose match is the result.
+     */
+    public ByteSpanParser(Parser<?> parser) {
+        this.parser = parser;
+
+        setParserName(parser.getParserName());
+    }
+
+    /**
+     * Gets the parser whose match is the result.
+     * @return The parser.
+     */
+    public Parser<?> getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<ByteSpan> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        BytesParserInput input = (BytesParserInput) context.getInput();
+        long start = context.getIndex();
+        if (!SpanParser.recognize(parser, context)) {
+            return false;
+        }
+
+        return context.succeed(context.getIndex(), new ByteSpan(input, start, context.getIndex()));
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof BytesParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "bytes input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of the parser whose match is the result.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
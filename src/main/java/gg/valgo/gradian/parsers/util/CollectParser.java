@@ -0,0 +1,117 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.stream.Collector;
+
+/**
+ * A parser which collects the elements of an accumulating parser (such as many() or separatedBy()) with a Collector, instead of into an array. Used internally by the AccumulatingParser.collect() method.
+ * @param <ElementType> The type of the elements.
+ * @param <ContainerType> The collector's mutable container type.
+ * @param <ResultType> The result type of this parser.
+ */
+public class CollectParser<ElementType, ContainerType, ResultType> extends Parser<ResultType> {
+    /**
+     * The parser producing the elements.
+     */
+    private AccumulatingParser<ElementType> parser;
+
+    /**
+     * The collector.
+     */
+    private Collector<? super ElementType, ContainerType, ResultType> collector;
+
+    /**
+     * Creates a new CollectParser from an accumulating parser and a collector.
+     * @param parser The parser producing the elements. It must be a Parser.
+     * @param collector The collector.
+     */
+    public CollectParser(AccumulatingParser<ElementType> parser, Collector<? super ElementType, ContainerType, ResultType> collector) {
+        this.parser = parser;
+        this.collector = collector;
+
+        setParserName(((Parser<?>) parser).getParserName());
+    }
+
+    /**
+     * Gets the parser producing the elements.
+     * @return The parser.
+     */
+    public AccumulatingParser<ElementType> getParser() {
+        return parser;
+    }
+
+    /**
+     * Gets the collector.
+     * @return The collector.
+     */
+    public Collector<? super ElementType, ContainerType, ResultType> getCollector() {
+        return collector;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<ResultType> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ContainerType container = collector.supplier().get();
+        if (!parser.parseInto(context, container, collector.accumulator())) {
+            return false;
+        }
+
+        return context.succeed(context.getIndex(), collector.finisher().apply(container));
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return ((Parser<?>) parser).inputIsValid(input);
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return ((Parser<?>) parser).getExpectedInputName();
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of the collected parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return ((Parser<?>) parser).getFirstSet();
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return ((Parser<?>) parser).getExpected();
+    }
+}
\ No newline at end of file
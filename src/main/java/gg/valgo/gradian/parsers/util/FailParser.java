@@ -1,6 +1,7 @@
 package gg.valgo.gradian.parsers.util;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 
 /**
@@ -37,6 +38,16 @@ public class FailParser extends Parser<Void> {
      */
     @Override
     public ParserState<Void> parse(ParserState<?> state) {
-        return state.formatException(this, message).retype();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return context.formatException(this, message);
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.function.BiFunction;
+
+/**
+ * A parser which folds the elements of an accumulating parser (such as many() or separatedBy()) into a single value, starting from an initial value, instead of collecting them into an array. Used internally by the AccumulatingParser.fold() method.
+ * @param <ElementType> The type of the elements.
+ * @param <ResultType> The type of the folded value, which is the result type of this parser.
+ */
+public class FoldParser<ElementType, ResultType> extends Parser<ResultType> {
+    /**
+     * The value folded so far during one parse. A new one is used for every parse, so a fold which is run again while it is already running (eg. in a recursive grammar) keeps its own value.
+     * @param <ResultType> The type of the folded value.
+     */
+    private static class Accumulation<ResultType> {
+        /**
+         * The value folded so far.
+         */
+        private ResultType value;
+
+        /**
+         * Creates a new Accumulation from an initial value.
+         * @param value The initial value.
+         */
+        private Accumulation(ResultType value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * The parser producing the elements.
+     */
+    private AccumulatingParser<ElementType> parser;
+
+    /**
+     * The initial value, used as the result if there are no elements.
+     */
+    private ResultType initial;
+
+    /**
+     * Combines the value so far with the next element.
+     */
+    private BiFunction<ResultType, ? super ElementType, ResultType> accumulator;
+
+    /**
+     * Creates a new FoldParser from an accumulating parser, an initial value and an accumulator.
+     * @param parser The parser producing the elements. It must be a Parser.
+     * @param initial The initial value, used as the result if there are no elements.
+     * @param accumulator Combines the value so far with the next element.
+     */
+    public FoldParser(AccumulatingParser<ElementType> parser, ResultType initial, BiFunction<ResultType, ? super ElementType, ResultType> accumulator) {
+        this.parser = parser;
+        this.initial = initial;
+        this.accumulator = accumulator;
+
+        setParserName(((Parser<?>) parser).getParserName());
+    }
+
+    /**
+     * Gets the parser producing the elements.
+     * @return The parser.
+     */
+    public AccumulatingParser<ElementType> getParser() {
+        return parser;
+    }
+
+    /**
+     * Gets the initial value, used as the result if there are no elements.
+     * @return The initial value.
+     */
+    public ResultType getInitial() {
+        return initial;
+    }
+
+    /**
+     * Gets the function combining the value so far with the next element.
+     * @return The accumulator.
+     */
+    public BiFunction<ResultType, ? super ElementType, ResultType> getAccumulator() {
+        return accumulator;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<ResultType> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        Accumulation<ResultType> accumulation = new Accumulation<>(initial);
+        if (!parser.parseInto(context, accumulation, (current, element) -> current.value = accumulator.apply(current.value, element))) {
+            return false;
+        }
+
+        return context.succeed(context.getIndex(), accumulation.value);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return ((Parser<?>) parser).inputIsValid(input);
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return ((Parser<?>) parser).getExpectedInputName();
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of the folded parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return ((Parser<?>) parser).getFirstSet();
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return ((Parser<?>) parser).getExpected();
+    }
+}
\ No newline at end of file
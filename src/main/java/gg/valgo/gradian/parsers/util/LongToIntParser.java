@@ -0,0 +1,83 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.IntParser;
+import gg.valgo.gradian.LongParser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+/**
+ * A parser which narrows the result of a long parser to an int, without boxing either. Used internally by the LongParser.asInt() method.
+ */
+public class LongToIntParser extends IntParser {
+    /**
+     * The long parser whose result is narrowed.
+     */
+    private LongParser parser;
+
+    /**
+     * Creates a new LongToIntParser from a long parser.
+     * @param parser The long parser whose result is narrowed.
+     */
+    public LongToIntParser(LongParser parser) {
+        this.parser = parser;
+
+        setParserName(parser.getParserName());
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedInt() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeInt() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseInt(ParserContext context) {
+        return parser.executeLong(context) && context.succeedInt(context.getIndex(), (int) context.getLongResult());
+    }
+
+    /**
+     * Gets the name of this parser, the name of the long parser.
+     * @return The name of this parser.
+     */
+    @Override
+    public String getParserName() {
+        return parser.getParserName();
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return parser.inputIsValid(input);
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return parser.getExpectedInputName();
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of the long parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
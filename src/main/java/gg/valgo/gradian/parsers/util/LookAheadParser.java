@@ -1,6 +1,7 @@
 package gg.valgo.gradian.parsers.util;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 
 /**
@@ -38,11 +39,26 @@ public class LookAheadParser<ResultType> extends Parser<ResultType> {
      */
     @Override
     public ParserState<ResultType> parse(ParserState<?> state) {
-        ParserState<ResultType> newState = parser.execute(state);
-        if (newState.isException()) {
-            return state.withException(newState.getException().getMessage()).retype();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        long index = context.getIndex();
+        context.getInput().mark(index);
+        boolean matched = parser.execute(context);
+        context.getInput().release(index);
+
+        if (!matched) {
+            context.setIndex(index);
+            return false;
         }
 
-        return state.updateState(state.getIndex(), newState.getResult());
+        return context.succeed(index, context.getResult());
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.DoubleParser;
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A parser which maps results to a double, through the primitive result channel. Used internally by the Parser.mapToDouble() method.
+ * @param <OldResultType> The old result type, before mapping.
+ */
+public class MapToDoubleParser<OldResultType> extends DoubleParser {
+    /**
+     * The parser which is being mapped.
+     */
+    private Parser<OldResultType> parser;
+
+    /**
+     * The mapper, a lambda taking in a result and returning a double.
+     */
+    private ToDoubleFunction<? super OldResultType> mapper;
+
+    /**
+     * Creates a new MapToDoubleParser from an input parser and a mapper.
+     * @param parser The input parser.
+     * @param mapper The mapper.
+     */
+    public MapToDoubleParser(Parser<OldResultType> parser, ToDoubleFunction<? super OldResultType> mapper) {
+        this.parser = parser;
+        this.mapper = mapper;
+
+        setParserName(parser.getParserName());
+    }
+
+    /**
+     * Runs the parsing logic of the parser, setting the result with ParserContext.succeedDouble() instead of boxing it. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use executeDouble() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parseDouble(ParserContext context) {
+        if (!parser.execute(context)) {
+            return false;
+        }
+
+        return context.succeedDouble(context.getIndex(), mapper.applyAsDouble(context.getResult()));
+    }
+
+    /**
+     * Gets the name of this parser, the name of the parser being mapped.
+     * @return The name of this parser.
+     */
+    @Override
+    public String getParserName() {
+        return parser.getParserName();
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return parser.inputIsValid(input);
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return parser.getExpectedInputName();
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of the parser being mapped.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
@@ -1,9 +1,12 @@
 package gg.valgo.gradian.parsers.util;
 
+import gg.valgo.gradian.FirstSet;
 import gg.valgo.gradian.ParserException;
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.ParserInput;
+import gg.valgo.gradian.util.interfaces.ParserResultMapper;
 import gg.valgo.gradian.util.interfaces.ParserStateMapper;
 
 /**
@@ -18,10 +21,15 @@ public class MappedParser<OldResultType, NewResultType> extends Parser<NewResult
     private Parser<?> parser;
 
     /**
-     * The mapper, a lambda taking in a parser state and returning a new parser state.
+     * The mapper, a lambda taking in a parser state and returning a new parser state. Null if this parser maps results instead.
      */
     private ParserStateMapper<OldResultType, NewResultType> mapper;
 
+    /**
+     * The result mapper, a lambda taking in a result and returning a new result. Null if this parser maps states instead.
+     */
+    private ParserResultMapper<OldResultType, NewResultType> resultMapper;
+
     /**
      * Creates a new MapperParser from an input parser and a mapper.
      * @param parser The input parser.
@@ -34,6 +42,18 @@ public class MappedParser<OldResultType, NewResultType> extends Parser<NewResult
         setParserName(parser.getParserName());
     }
 
+    /**
+     * Creates a new MapperParser from an input parser and a result mapper. Mapping only the result doesn't need a ParserState, so this is cheaper than mapping the whole state.
+     * @param parser The input parser.
+     * @param resultMapper The result mapper.
+     */
+    public MappedParser(Parser<?> parser, ParserResultMapper<OldResultType, NewResultType> resultMapper) {
+        this.parser = parser;
+        this.resultMapper = resultMapper;
+
+        setParserName(parser.getParserName());
+    }
+
     /**
      * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
      * @param state The current parser state.
@@ -41,15 +61,32 @@ public class MappedParser<OldResultType, NewResultType> extends Parser<NewResult
      */
     @Override
     public ParserState<NewResultType> parse(ParserState<?> state) {
-        state = parser.execute(state);
-        if (state.isException()) {
-            return state.retype();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        if (!parser.execute(context)) {
+            return false;
         }
 
         try {
-            return mapper.map((ParserState<OldResultType>) state);
+            if (resultMapper != null) {
+                return context.succeed(context.getIndex(), resultMapper.map(context.getResult()));
+            }
+
+            ParserState<NewResultType> state = mapper.map(context.toState());
+            context.update(state);
+            return !state.isException();
         } catch (ParserException exception) {
-            return state.setException(exception).retype();
+            context.setException(exception);
+            context.setResult(null);
+            return false;
         }
     }
 
@@ -80,4 +117,13 @@ public class MappedParser<OldResultType, NewResultType> extends Parser<NewResult
     public String getExpectedInputName() {
         return parser.getExpectedInputName();
     }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.MemoTable;
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserFailure;
+import gg.valgo.gradian.ParserState;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A parser which memoizes another parser (packrat parsing). The first time the parser is run at an input index, its outcome is stored in the run's memo table, and running it at that index again replays the outcome instead of parsing again. Grammars which try several options that share a prefix would otherwise parse the prefix once per option, which grows exponentially with nesting. The parser being memoized should not depend on anything but the input (eg. it should not be a coroutine with side effects). This parser accepts any type of input.
+ * @param <ResultType> The result type of this parser.
+ */
+public class MemoParser<ResultType> extends Parser<ResultType> {
+    /**
+     * The ID of the next MemoParser created.
+     */
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * The ID of this parser, used as part of its memo table keys.
+     */
+    private final int id = nextId.getAndIncrement();
+
+    /**
+     * The parser to memoize.
+     */
+    private Parser<ResultType> parser;
+
+    /**
+     * Creates a new MemoParser from a given parser.
+     * @param parser The parser to memoize.
+     */
+    public MemoParser(Parser<ResultType> parser) {
+        this.parser = parser;
+
+        setParserName("memo");
+    }
+
+    /**
+     * Gets the parser to memoize.
+     * @return The parser.
+     */
+    public Parser<ResultType> getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<ResultType> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        MemoTable table = context.getMemoTable();
+        long index = context.getIndex();
+
+        int slot = table.find(id, index);
+        if (slot >= 0) {
+            // The failures the parser recorded (even if it then succeeded) are replayed, so a choice reports the same farthest failure with or without memoization.
+            context.replayFailure(table.getFarthestFailure(slot));
+
+            if (table.isSuccess(slot)) {
+                context.succeed(table.getEnd(slot), table.getValue(slot));
+                context.setIgnoreResult(table.isIgnoreResult(slot));
+                return true;
+            }
+
+            context.setIndex(table.getEnd(slot));
+            return context.fail((ParserFailure) table.getValue(slot));
+        }
+
+        // Only the failures recorded by the parser itself are stored, so they are collected in their own failure scope.
+        context.beginFailureScope();
+        boolean success = parser.execute(context);
+        ParserFailure farthest = context.getFarthestFailure(null);
+        context.endFailureScope();
+
+        table.store(id, index, success, context.getIndex(), success ? context.getResult() : context.getFailure(), context.isIgnoreResult(), farthest);
+        return success;
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of this parser.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
+}
\ No newline at end of file
@@ -1,11 +1,13 @@
 package gg.valgo.gradian.parsers.util;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Objects;
+import java.util.List;
 
 /**
  * An abstract class representing a parser which returns a sequence of elements. This class contains utility methods for mapping the result. Extend this parser if the parser results in some sort of sequence.
@@ -13,19 +15,73 @@ import java.util.Objects;
  */
 public abstract class MultiParser<ResultType> extends Parser<ResultType[]> {
     /**
-     * Utility method used to convert an array of objects to their string representations. Used in multiParser.join().
+     * The component type of the result arrays, or null if the result arrays are always Object[] arrays.
+     */
+    private Class<?> elementType = null;
+
+    /**
+     * Joins the string representations of an array of objects with a delimiter, appending them straight into one StringBuilder. Used in multiParser.join().
      * @param objects The objects array.
-     * @return The string array.
+     * @param delimiter The delimiter to join strings by.
+     * @return The joined string.
      */
-    private static String[] toString(Object[] objects) {
-        String[] strings = new String[objects.length];
+    public static String joinElements(Object[] objects, String delimiter) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < objects.length; i++) {
+            if (i > 0) {
+                builder.append(delimiter);
+            }
 
-        int index = 0;
-        for (Object object : objects) {
-            strings[index++] = Objects.toString(object);
+            builder.append(objects[i]);
         }
 
-        return strings;
+        return builder.toString();
+    }
+
+    /**
+     * Gets the component type of the result arrays.
+     * @return The element type, or null if the result arrays are always Object[] arrays.
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * Sets the component type of the result arrays, so the result really is a ResultType[] (eg. a Character[] rather than an Object[] cast to one). The type is fixed when the parser is built, so the array type never depends on the input. Repetitions and sequences set it when they are built, if the result class of their parsers is known (see Parser.getResultClass()). Without one, the result arrays are always Object[] arrays.
+     * @param elementType The element type, or null to always use Object[] arrays.
+     * @return This parser.
+     */
+    public MultiParser<ResultType> setElementType(Class<? super ResultType> elementType) {
+        this.elementType = elementType;
+        return this;
+    }
+
+    /**
+     * Sets the component type of the result arrays to the result class shared by some parsers, if every one of them knows its result class and they are all the same. Otherwise, the element type is left unset. Used by the constructors of repetitions and sequences, so the type is fixed when the parser is built.
+     * @param parsers The parsers whose results are collected.
+     */
+    protected void setElementTypeFrom(Parser<?>... parsers) {
+        Class<?> type = parsers.length > 0 ? parsers[0].getResultClass() : null;
+        for (Parser<?> parser : parsers) {
+            if (parser.getResultClass() != type) {
+                type = null;
+            }
+        }
+
+        elementType = type;
+    }
+
+    /**
+     * Converts a list of results into a result array, whose component type is the element type, or Object if no element type was set.
+     * @param results The results.
+     * @return The result array.
+     */
+    protected ResultType[] toResultArray(List<ResultType> results) {
+        if (elementType == null) {
+            return (ResultType[]) results.toArray();
+        }
+
+        return results.toArray((ResultType[]) Array.newInstance(elementType, results.size()));
     }
 
     /**
@@ -67,7 +123,7 @@ public abstract class MultiParser<ResultType> extends Parser<ResultType[]> {
      * @return The mapped parser.
      */
     public MappedParser<ResultType[], String> join(String delimiter) {
-        return map(array -> String.join(delimiter, toString(array)));
+        return map(array -> joinElements(array, delimiter));
     }
 
     /**
@@ -78,4 +134,13 @@ public abstract class MultiParser<ResultType> extends Parser<ResultType[]> {
     public static boolean shouldAddResult(ParserState<?> parserState) {
         return !parserState.isIgnoreResult();
     }
+
+    /**
+     * Checks whether a parser context's result should be added to a result array. If you are adding a resulting value to an array, only do so if this method returns true when called on the parser context.
+     * @param context The parser context to check.
+     * @return Whether the result should be added to the array.
+     */
+    public static boolean shouldAddResult(ParserContext context) {
+        return !context.isIgnoreResult();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package gg.valgo.gradian.parsers.util;
 
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.input.ParserInput;
 
@@ -37,7 +38,7 @@ public abstract class PeekParser<ResultType> extends MultiParser<ResultType> {
      * @param index The parser index.
      * @return The peeked values.
      */
-    public abstract ResultType[] doPeek(ParserInput<?> input, int index);
+    public abstract ResultType[] doPeek(ParserInput<?> input, long index);
 
     /**
      * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
@@ -46,9 +47,19 @@ public abstract class PeekParser<ResultType> extends MultiParser<ResultType> {
      */
     @Override
     public ParserState<ResultType[]> parse(ParserState<?> state) {
-        ParserInput<?> input = state.getInput();
-        int index = state.getIndex();
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        ParserInput<?> input = context.getInput();
+        long index = context.getIndex();
 
-        return state.updateState(index, doPeek(input, index));
+        return context.succeed(index, doPeek(input, index));
     }
 }
\ No newline at end of file
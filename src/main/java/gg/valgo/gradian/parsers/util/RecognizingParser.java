@@ -0,0 +1,15 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.ParserContext;
+
+/**
+ * A parser which can match its input without building its result, used by SpanParser and ByteSpanParser when only the range of input matched is needed. For example, a regex parser can skip copying its match, and a repetition of characters can skip creating a substring.
+ */
+public interface RecognizingParser {
+    /**
+     * Runs the parsing logic of the parser without building its result. If parsing is successful, the context is left at the end of the match, but its result is not set. This method should only be called internally, by a parser which has already checked that the input is valid.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    boolean recognize(ParserContext context);
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package gg.valgo.gradian.parsers.util;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 import gg.valgo.gradian.util.interfaces.ParserProducer;
 
@@ -42,10 +43,20 @@ public class RecursiveParser<ResultType> extends Parser<ResultType> {
      */
     @Override
     public ParserState<ResultType> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
         if (parser == null) {
             parser = producer.produce();
         }
 
-        return parser.execute(state);
+        return parser.execute(context);
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package gg.valgo.gradian.parsers.util;
+
+import gg.valgo.gradian.FirstSet;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.Span;
+import gg.valgo.gradian.input.StringParserInput;
+import gg.valgo.gradian.input.ParserInput;
+
+/**
+ * A parser which results in the range of input matched by another parser, as a Span, instead of that parser's result. Where it can, the parser is run without building its result (see RecognizingParser), so no substring is copied unless the span is converted to a string. Used internally by the Parser.span() method. This parser only accepts a string input.
+ */
+public class SpanParser extends Parser<Span> {
+    /**
+     * The parser whose match is the result.
+     */
+    private Parser<?> parser;
+
+    /**
+     * Creates a new SpanParser from a given parser.
+     * @param parser The parser whose match is the result.
+     */
+    public SpanParser(Parser<?> parser) {
+        this.parser = parser;
+
+        setParserName(parser.getParserName());
+    }
+
+    /**
+     * Gets the parser whose match is the result.
+     * @return The parser.
+     */
+    public Parser<?> getParser() {
+        return parser;
+    }
+
+    /**
+     * Runs the parsing logic of the parser. This method will only be called if the parser is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param state The current parser state.
+     * @return The updated parser state, after parsing.
+     */
+    @Override
+    public ParserState<Span> parse(ParserState<?> state) {
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        StringParserInput input = (StringParserInput) context.getInput();
+        long start = context.getIndex();
+        if (!recognize(parser, context)) {
+            return false;
+        }
+
+        return context.succeed(context.getIndex(), new Span(input, start, context.getIndex()));
+    }
+
+    /**
+     * Runs a parser without building its result, if it can do so. Recognizing parsers skip building their result, and accumulating parsers (such as repetitions) skip collecting their elements. Other parsers are run as normal.
+     * @param parser The parser to run.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    static boolean recognize(Parser<?> parser, ParserContext context) {
+        if (!parser.inputIsValid(context.getInput())) {
+            return parser.execute(context);
+        }
+
+        if (parser instanceof RecognizingParser) {
+            return ((RecognizingParser) parser).recognize(context);
+        } else if (parser instanceof AccumulatingParser) {
+            return ((AccumulatingParser<?>) parser).parseInto(context, null, (container, element) -> {});
+        }
+
+        return parser.execute(context);
+    }
+
+    /**
+     * Checks whether a given input is valid for this parser. If not, and false is returned, the parser will be put into an errored state. If a parser works with all input types (a combinator), it should return true.
+     * @param input The parser input.
+     * @return Whether the parser input is valid for this parser.
+     */
+    @Override
+    public boolean inputIsValid(ParserInput<?> input) {
+        return input instanceof StringParserInput;
+    }
+
+    /**
+     * Gets the expected input type as a string, used for error messages. If a parser overrides inputIsValid(), this should also be overridden.
+     * @return The name of the expected input type.
+     */
+    @Override
+    public String getExpectedInputName() {
+        return "string input";
+    }
+
+    /**
+     * Gets the set of input elements that a match of this parser can start with, used by ChoiceParser to skip options which cannot match.
+     * @return The FIRST set of the parser whose match is the result.
+     */
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
+
+    /**
+     * Gets a description of what this parser expects to match, used for error messages.
+     * @return The description of what this parser expects.
+     */
+    @Override
+    public String getExpected() {
+        return parser.getExpected();
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package gg.valgo.gradian.parsers.util;
 
 import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserContext;
 import gg.valgo.gradian.ParserState;
 
 /**
@@ -38,6 +39,16 @@ public class SucceedWithParser<ResultType> extends Parser<ResultType> {
      */
     @Override
     public ParserState<ResultType> parse(ParserState<?> state) {
-        return state.updateState(state.getIndex(), value);
+        return parseInContext(state);
+    }
+
+    /**
+     * Runs the parsing logic of the parser on a mutable context. This method will only be called if the context is not currently in an errored state, and the input is valid. This method should only be called internally, use execute() instead.
+     * @param context The current parser context.
+     * @return Whether parsing was successful.
+     */
+    @Override
+    public boolean parse(ParserContext context) {
+        return context.succeed(context.getIndex(), value);
     }
 }
\ No newline at end of file
@@ -25,12 +25,11 @@ public class PeekBytesParser extends PeekParser<Byte> {
      * @return The peeked values.
      */
     @Override
-    public Byte[] doPeek(ParserInput<?> input, int index) {
+    public Byte[] doPeek(ParserInput<?> input, long index) {
         BytesParserInput bytesInput = (BytesParserInput) input;
-        Byte[] truncated = bytesInput.getTruncatedElements(index);
-        Byte[] peeked = new Byte[Math.min(truncated.length, getAmount())];
+        Byte[] peeked = new Byte[bytesInput.available(index, getAmount())];
         for (int i = 0; i < peeked.length; i++) {
-            peeked[i] = truncated[i];
+            peeked[i] = bytesInput.getElement(index + i);
         }
 
         return peeked;
@@ -25,12 +25,11 @@ public class PeekStringParser extends PeekParser<Character> {
      * @return The peeked values.
      */
     @Override
-    public Character[] doPeek(ParserInput<?> input, int index) {
+    public Character[] doPeek(ParserInput<?> input, long index) {
         StringParserInput stringInput = (StringParserInput) input;
-        Character[] truncated = stringInput.getTruncatedElements(index);
-        Character[] peeked = new Character[Math.min(truncated.length, getAmount())];
+        Character[] peeked = new Character[stringInput.available(index, getAmount())];
         for (int i = 0; i < peeked.length; i++) {
-            peeked[i] = truncated[i];
+            peeked[i] = stringInput.getElement(index + i);
         }
 
         return peeked;
@@ -54,4 +53,4 @@ public class PeekStringParser extends PeekParser<Character> {
     public String getExpectedInputName() {
         return "string input";
     }
-}
+}
\ No newline at end of file
@@ -27,12 +27,11 @@ public class PeekTokensParser extends PeekParser<Token<?>> {
      * @return The peeked values.
      */
     @Override
-    public Token<?>[] doPeek(ParserInput<?> input, int index) {
+    public Token<?>[] doPeek(ParserInput<?> input, long index) {
         TokensParserInput tokensInput = (TokensParserInput) input;
-        Token<?>[] truncated = tokensInput.getTruncatedElements(index);
-        Token<?>[] peeked = new Token<?>[Math.min(truncated.length, getAmount())];
+        Token<?>[] peeked = new Token<?>[tokensInput.available(index, getAmount())];
         for (int i = 0; i < peeked.length; i++) {
-            peeked[i] = truncated[i];
+            peeked[i] = tokensInput.getElement(index + i);
         }
 
         return peeked;
@@ -0,0 +1,198 @@
+package gg.valgo.gradian.util;
+
+import gg.valgo.gradian.util.interfaces.CharPredicate;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An immutable set of characters, stored as a bitmap with one bit per character. Checking whether a character is in the class is a single array lookup, and never allocates. The bitmap only extends up to the highest character in the class (a 64K-bit bitmap for classes covering the whole Basic Multilingual Plane), so small ASCII classes only use a few longs.
+ */
+public class CharacterClass implements CharPredicate {
+    /**
+     * The digits 0-9.
+     */
+    public static final CharacterClass DIGITS = range('0', '9').describedAs("digit");
+
+    /**
+     * The ASCII letters A-Z and a-z.
+     */
+    public static final CharacterClass LETTERS = range('A', 'Z').union(range('a', 'z')).describedAs("letter");
+
+    /**
+     * The whitespace characters matched by the regex \s: space, tab, newline, vertical tab, form feed and carriage return.
+     */
+    public static final CharacterClass WHITESPACE = of(' ', '\t', '\n', '\u000B', '\f', '\r').describedAs("whitespace character");
+
+    /**
+     * The bitmap, with bit (c % 64) of word (c / 64) set if character c is in the class.
+     */
+    private final long[] bits;
+
+    /**
+     * A description of the class, used for error messages.
+     */
+    private final String description;
+
+    /**
+     * Creates a new CharacterClass from a bitmap.
+     * @param bits The bitmap. It is not copied.
+     * @param description A description of the class, used for error messages.
+     */
+    private CharacterClass(long[] bits, String description) {
+        this.bits = bits;
+        this.description = description;
+    }
+
+    /**
+     * Creates a CharacterClass containing the given characters.
+     * @param characters The characters.
+     * @return The character class.
+     */
+    public static CharacterClass of(char... characters) {
+        BitSet set = new BitSet();
+        StringBuilder description = new StringBuilder("character in \"");
+        for (char character : characters) {
+            set.set(character);
+            description.append(character);
+        }
+
+        return fromBitSet(set, description.append('"').toString());
+    }
+
+    /**
+     * Creates a CharacterClass containing the characters of a string.
+     * @param characters The string containing the characters.
+     * @return The character class.
+     */
+    public static CharacterClass of(String characters) {
+        return of(characters.toCharArray());
+    }
+
+    /**
+     * Creates a CharacterClass containing a range of characters.
+     * @param from The first character in the range.
+     * @param to The last character in the range (inclusive).
+     * @return The character class.
+     */
+    public static CharacterClass range(char from, char to) {
+        BitSet set = new BitSet();
+        if (from <= to) {
+            set.set(from, to + 1);
+        }
+
+        return fromBitSet(set, "character in range '" + from + "' to '" + to + "'");
+    }
+
+    /**
+     * Creates a CharacterClass containing every character in the given Unicode general categories (eg. Character.UPPERCASE_LETTER), as reported by Character.getType().
+     * @param categories The categories.
+     * @return The character class.
+     */
+    public static CharacterClass ofCategories(int... categories) {
+        BitSet set = new BitSet();
+        for (int character = 0; character <= Character.MAX_VALUE; character++) {
+            int type = Character.getType(character);
+            for (int category : categories) {
+                if (type == category) {
+                    set.set(character);
+                    break;
+                }
+            }
+        }
+
+        return fromBitSet(set, "character in Unicode categories " + Arrays.toString(categories));
+    }
+
+    /**
+     * Creates a CharacterClass containing the characters in a BitSet.
+     * @param set The characters.
+     * @param description A description of the class, used for error messages.
+     * @return The character class.
+     */
+    public static CharacterClass fromBitSet(BitSet set, String description) {
+        long[] words = set.toLongArray();
+        return new CharacterClass(Arrays.copyOf(words, Math.min(words.length, (Character.MAX_VALUE + 1) / 64)), description);
+    }
+
+    /**
+     * Checks whether a character is in this class.
+     * @param character The character.
+     * @return Whether the character is in this class.
+     */
+    public boolean contains(char character) {
+        int word = character >>> 6;
+        return word < bits.length && (bits[word] & (1L << character)) != 0;
+    }
+
+    /**
+     * Checks whether a character is in this class, so a character class can be used wherever a CharPredicate is expected.
+     * @param character The character.
+     * @return Whether the character is in this class.
+     */
+    @Override
+    public boolean test(char character) {
+        return contains(character);
+    }
+
+    /**
+     * Creates a class containing the characters in this class or another class.
+     * @param other The other class.
+     * @return The combined class.
+     */
+    public CharacterClass union(CharacterClass other) {
+        long[] union = Arrays.copyOf(bits, Math.max(bits.length, other.bits.length));
+        for (int i = 0; i < other.bits.length; i++) {
+            union[i] |= other.bits[i];
+        }
+
+        return new CharacterClass(union, description + " or " + other.description);
+    }
+
+    /**
+     * Creates a class containing every character not in this class.
+     * @return The negated class.
+     */
+    public CharacterClass negate() {
+        long[] negated = Arrays.copyOf(bits, (Character.MAX_VALUE + 1) / 64);
+        for (int i = 0; i < negated.length; i++) {
+            negated[i] = ~negated[i];
+        }
+
+        return new CharacterClass(negated, "character not " + description);
+    }
+
+    /**
+     * Creates a copy of this class with a different description.
+     * @param description The description, used for error messages.
+     * @return The described class.
+     */
+    public CharacterClass describedAs(String description) {
+        return new CharacterClass(bits, description);
+    }
+
+    /**
+     * Gets a description of this class, used for error messages.
+     * @return The description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Converts this class into a BitSet of its characters.
+     * @return The BitSet.
+     */
+    public BitSet toBitSet() {
+        return BitSet.valueOf(bits);
+    }
+
+    /**
+     * Converts this character class to a string representation.
+     * @return The string representation.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package gg.valgo.gradian.util.interfaces;
+
+/**
+ * Represents a test on a single byte, without boxing it.
+ */
+public interface BytePredicate {
+    /**
+     * Tests a byte.
+     * @param b The byte.
+     * @return Whether the byte passes the test.
+     */
+    boolean test(byte b);
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package gg.valgo.gradian.util.interfaces;
+
+/**
+ * Represents a test on a single character, without boxing it.
+ */
+public interface CharPredicate {
+    /**
+     * Tests a character.
+     * @param character The character.
+     * @return Whether the character passes the test.
+     */
+    boolean test(char character);
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package gg.valgo.gradian.util.interfaces;
+
+import gg.valgo.gradian.ParserException;
+
+/**
+ * Represents a function combining the results of a sequence of two parsers into a single result.
+ * @param <FirstType> The result type of the first parser.
+ * @param <SecondType> The result type of the second parser.
+ * @param <ResultType> The combined result type.
+ */
+public interface Combiner2<FirstType, SecondType, ResultType> {
+    /**
+     * Combines the results of the parsers.
+     * @param first The result of the first parser.
+     * @param second The result of the second parser.
+     * @return The combined result.
+     * @throws ParserException Thrown if the results cannot be combined.
+     */
+    ResultType combine(FirstType first, SecondType second) throws ParserException;
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package gg.valgo.gradian.util.interfaces;
+
+import gg.valgo.gradian.ParserException;
+
+/**
+ * Represents a function combining the results of a sequence of three parsers into a single result.
+ * @param <FirstType> The result type of the first parser.
+ * @param <SecondType> The result type of the second parser.
+ * @param <ThirdType> The result type of the third parser.
+ * @param <ResultType> The combined result type.
+ */
+public interface Combiner3<FirstType, SecondType, ThirdType, ResultType> {
+    /**
+     * Combines the results of the parsers.
+     * @param first The result of the first parser.
+     * @param second The result of the second parser.
+     * @param third The result of the third parser.
+     * @return The combined result.
+     * @throws ParserException Thrown if the results cannot be combined.
+     */
+    ResultType combine(FirstType first, SecondType second, ThirdType third) throws ParserException;
+}
\ No newline at end of file
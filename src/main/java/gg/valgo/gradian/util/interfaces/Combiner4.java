@@ -0,0 +1,24 @@
+package gg.valgo.gradian.util.interfaces;
+
+import gg.valgo.gradian.ParserException;
+
+/**
+ * Represents a function combining the results of a sequence of four parsers into a single result.
+ * @param <FirstType> The result type of the first parser.
+ * @param <SecondType> The result type of the second parser.
+ * @param <ThirdType> The result type of the third parser.
+ * @param <FourthType> The result type of the fourth parser.
+ * @param <ResultType> The combined result type.
+ */
+public interface Combiner4<FirstType, SecondType, ThirdType, FourthType, ResultType> {
+    /**
+     * Combines the results of the parsers.
+     * @param first The result of the first parser.
+     * @param second The result of the second parser.
+     * @param third The result of the third parser.
+     * @param fourth The result of the fourth parser.
+     * @return The combined result.
+     * @throws ParserException Thrown if the results cannot be combined.
+     */
+    ResultType combine(FirstType first, SecondType second, ThirdType third, FourthType fourth) throws ParserException;
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package gg.valgo.gradian;
+
+import gg.valgo.gradian.input.Token;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FirstSetTest {
+    // Counts how many times it is run, and only starts with 'x'.
+    private static class CountingParser extends Parser<String> {
+        private int runs = 0;
+
+        @Override
+        public ParserState<String> parse(ParserState<?> state) {
+            return parseInContext(state);
+        }
+
+        @Override
+        public boolean parse(ParserContext context) {
+            runs++;
+            return Gradian.string("x").execute(context);
+        }
+
+        @Override
+        public FirstSet getFirstSet() {
+            return FirstSet.ofCharacters('x');
+        }
+
+        @Override
+        public String getExpected() {
+            return "string \"x\"";
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void matcherFirstSets() {
+        assertTrue(Gradian.string("abc").getFirstSet().getCharacters().get('a'), "Strings should start with their first character.");
+        assertEquals(1, Gradian.string("abc").getFirstSet().getCharacters().cardinality(), "Strings should only start with their first character.");
+        assertTrue(Gradian.choiceOfCharacters('a', 'b').getFirstSet().getCharacters().get('b'), "Character choices should start with any of their characters.");
+        assertTrue(Gradian.bytes((byte) 0xFF).getFirstSet().getBytes().get(0xFF), "Bytes should start with their first byte.");
+        assertEquals(Set.of("id"), Gradian.tokens(new Token<>("id", null)).getFirstSet().getTokenIds(), "Tokens should start with their first token id.");
+
+        assertEquals(10, Gradian.digits.getFirstSet().getCharacters().cardinality(), "Digits should start with a digit.");
+        assertEquals(52, Gradian.letters.getFirstSet().getCharacters().cardinality(), "Letters should start with a letter.");
+        assertTrue(Gradian.whitespace.getFirstSet().getCharacters().get('\t'), "Whitespace should start with a whitespace character.");
+        assertNull(Gradian.regex("^[0-9]*").getFirstSet(), "Patterns which can match nothing should have no FIRST set.");
+        assertNull(Gradian.regex("a|b").getFirstSet(), "Alternations should not be analysed.");
+        assertNull(Gradian.maybe(Gradian.string("a")).getFirstSet(), "Parsers which can match nothing should have no FIRST set.");
+        assertTrue(Gradian.string("a").map(String::length).getFirstSet().getCharacters().get('a'), "Mapped parsers should keep their parser's FIRST set.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void choiceDispatch() {
+        CountingParser counting = new CountingParser();
+        Parser<String> parser = Gradian.choice(counting, Gradian.string("a"), Gradian.string("b"), Gradian.digits);
+
+        assertEquals("b", parser.run("b").getResult(), "Dispatch should find the matching choice.");
+        assertEquals("12", parser.run("12").getResult(), "Dispatch should find choices from regex FIRST sets.");
+        assertEquals("x", parser.run("x").getResult(), "Dispatch should find the first choice.");
+        assertEquals(1, counting.runs, "Choices which cannot start with the next character should be skipped.");
+
+        ParserFailure failure = parser.run("?").getFailure();
+        assertEquals(4, failure.getExpectedSet().size(), "Skipped choices should still report what they expected when every choice fails.");
+        assertEquals(1, counting.runs, "Skipped choices should not be run to report their failures.");
+        assertTrue(parser.run("").isException(), "The end of input should still fail.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package gg.valgo.gradian;
+
+import gg.valgo.gradian.input.StringParserInput;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoTableTest {
+    @org.junit.jupiter.api.Test
+    void storeAndEvict() {
+        MemoTable table = new MemoTable(3);
+        assertEquals(4, table.getCapacity(), "The capacity should be rounded up to a power of two.");
+
+        table.store(1, 10, true, 12, "ab", false);
+        int slot = table.find(1, 10);
+        assertTrue(slot >= 0, "Stored entries should be found.");
+        assertTrue(table.isSuccess(slot), "Stored entries should keep whether the parser succeeded.");
+        assertEquals(12, table.getEnd(slot), "Stored entries should keep the end index.");
+        assertEquals("ab", table.getValue(slot), "Stored entries should keep the result.");
+        assertEquals(-1, table.find(2, 10), "Entries should be keyed by parser.");
+        assertEquals(-1, table.find(1, 11), "Entries should be keyed by index.");
+
+        for (int i = 0; i < 100; i++) {
+            table.store(1, i, false, i, null, false);
+        }
+
+        assertTrue(table.size() <= table.getCapacity(), "The table should never grow past its capacity.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void memoizedParsing() {
+        AtomicInteger calls = new AtomicInteger();
+        Parser<String> letters = Gradian.memo(Gradian.letters.map(value -> {
+            calls.incrementAndGet();
+            return value;
+        }));
+
+        // Both options start by parsing the same letters, but they are only parsed once.
+        Parser<Object> parser = Gradian.anyTypeChoice(Gradian.anyTypeSequence(letters, Gradian.string("(")), Gradian.anyTypeSequence(letters, Gradian.string(";")));
+        assertFalse(parser.run("abc;").isException(), "Memoized parsers should give the same result.");
+        assertEquals(1, calls.get(), "Memoized parsers should only be parsed once at each index.");
+
+        calls.set(0);
+        assertTrue(parser.run("abc!").isException(), "Memoized failures should still fail.");
+        assertEquals(1, calls.get(), "Memoized parsers should only be parsed once at each index, even if parsing fails.");
+
+        calls.set(0);
+        ParserState<Object> state = parser.run(new ParserContext(new StringParserInput("abc;"), 1));
+        assertFalse(state.isException(), "Memoized parsers should give the same result with a tiny memo table.");
+        assertNull(state.getMemoTable(), "The final state should not keep the memo table.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void memoizedFailures() {
+        Parser<Object[]> ab = Gradian.anyTypeSequence(Gradian.string("a"), Gradian.string("b"));
+        Parser<Object[]> memoized = Gradian.memo(ab);
+
+        for (String input : new String[] {"ax", "abx", "abzx", "r"}) {
+            ParserState<Object[]> plain = Gradian.anyTypeSequence(Gradian.maybe(Gradian.anyTypeSequence(ab, Gradian.string("z"))), Gradian.anyTypeChoice(ab, Gradian.string("r"))).run(input);
+            ParserState<Object[]> memo = Gradian.anyTypeSequence(Gradian.maybe(Gradian.anyTypeSequence(memoized, Gradian.string("z"))), Gradian.anyTypeChoice(memoized, Gradian.string("r"))).run(input);
+            assertEquals(String.valueOf(plain.getFailure()), String.valueOf(memo.getFailure()), "Memoized parsers should report the same failure on " + input + ".");
+            assertEquals(String.valueOf(plain.getFarthestFailure()), String.valueOf(memo.getFarthestFailure()), "Memoized parsers should report the same farthest failure on " + input + ".");
+        }
+    }
+}
\ No newline at end of file
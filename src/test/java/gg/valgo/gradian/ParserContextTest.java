@@ -0,0 +1,63 @@
+package gg.valgo.gradian;
+
+import gg.valgo.gradian.input.StringParserInput;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserContextTest {
+    // Only implements parse(ParserState), like parsers written before ParserContext existed.
+    private static class StateOnlyParser extends Parser<String> {
+        @Override
+        public ParserState<String> parse(ParserState<?> state) {
+            StringParserInput input = (StringParserInput) state.getInput();
+            if (!input.regionMatches(state.getIndex(), "x")) {
+                return state.formatExpectedException(this, "x", input.getTruncatedString(state.getIndex())).retype();
+            }
+
+            return state.updateState(state.getIndex() + 1, "x");
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void stateRoundTrip() {
+        ParserState<String> state = new ParserState<String>(new StringParserInput("Test")).setIndex(2).setResult("a").setIgnoreResult(true);
+        ParserState<String> copy = new ParserContext(state).toState();
+
+        assertSame(state.getInput(), copy.getInput(), "ParserContext should keep the state's input.");
+        assertEquals(2, copy.getIndex(), "ParserContext should keep the state's index.");
+        assertEquals("a", copy.getResult(), "ParserContext should keep the state's result.");
+        assertTrue(copy.isIgnoreResult(), "ParserContext should keep the state's ignoreResult.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void backtracking() {
+        ParserContext context = new ParserContext(new StringParserInput("ab"));
+
+        assertFalse(Gradian.string("b").execute(context), "Executing a failing parser should return false.");
+        assertTrue(context.isException(), "A failed parser should set the exception.");
+        assertFalse(Gradian.string("a").execute(context), "Parsers should not run on a failed context.");
+
+        context.backtrack(0);
+        assertTrue(Gradian.sequence(Gradian.string("a"), Gradian.string("b")).execute(context), "Parsing should continue after backtracking.");
+        assertEquals(2, context.getIndex(), "A successful parser should move the context index.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void stateOnlyParsers() throws ParserException {
+        ArrayList<String> results = Gradian.many(Gradian.choice(new StateOnlyParser(), Gradian.string("y"))).asArrayList().getResult("xyx");
+        assertEquals(3, results.size(), "Parsers only implementing parse(ParserState) should work inside context parsers.");
+
+        ParserState<?> state = new StateOnlyParser().run("xz");
+        assertEquals(1, state.getIndex(), "Parsers only implementing parse(ParserState) should run directly.");
+        assertEquals("z", Gradian.sequence(Gradian.string("x"), Gradian.string("z")).index(1).execute(new ParserState<>(new StringParserInput("xz"))).getResult(), "Context parsers should still run on a ParserState.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void manyBacktracksPartialMatches() throws ParserException {
+        Parser<?> pairs = Gradian.many(Gradian.sequence(Gradian.string("a"), Gradian.string("b")));
+
+        assertEquals(4, pairs.run("ababa").getIndex(), "many() should end after the last full match, not inside a partial one.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package gg.valgo.gradian;
+
+import gg.valgo.gradian.input.StringParserInput;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserFailureTest {
+    @org.junit.jupiter.api.Test
+    void structure() {
+        ParserFailure failure = Gradian.anyTypeSequence(Gradian.string("a"), Gradian.character('b')).run("ac").getFailure();
+
+        assertEquals(ParserFailure.Kind.EXPECTED, failure.getKind(), "A mismatch should be an EXPECTED failure.");
+        assertEquals(1, failure.getIndex(), "The failure should be at the index of the failing parser.");
+        assertEquals("character 'b'", failure.getExpected(), "The expected value should come from the failing parser.");
+        assertEquals("string \"c\"", failure.getActual(), "The actual value should come from the input.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void messages() {
+        assertEquals("Exception in string parser (position 0): Expected string \"ab\" but got string \"ax\" instead.", Gradian.string("ab").run("ax").getException().getMessage(), "Mismatch messages should be formatted when asked for.");
+        assertEquals("Exception in string parser (position 0): Expected string \"ab\" but got string \"a\" (end of input reached) instead.", Gradian.string("ab").run("a").getException().getMessage(), "End of input messages should be formatted when asked for.");
+        assertEquals(ParserFailure.Kind.END_OF_INPUT, Gradian.string("ab").run("a").getFailure().getKind(), "Running out of input should be an END_OF_INPUT failure.");
+        assertEquals(ParserFailure.Kind.BAD_INPUT_TYPE, Gradian.u8.run("a").getFailure().getKind(), "A bytes parser on a string should be a BAD_INPUT_TYPE failure.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void exceptions() {
+        ParserState<?> state = Gradian.string("ab").run("ax");
+        assertSame(state.getException(), state.getException(), "The exception should only be created once.");
+        assertSame(state.getFailure(), state.getException().getFailure(), "The exception should keep its failure.");
+
+        ParserException exception = new ParserException("Custom message");
+        ParserState<?> custom = new ParserState<>(new StringParserInput("")).setException(exception);
+        assertSame(exception, custom.getException(), "Exceptions set directly should be returned as they are.");
+        assertEquals("Custom message", custom.getFailure().getMessage(), "Failures from exceptions should keep the message.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void mergedExpectations() {
+        ParserFailure failure = Gradian.anyTypeChoice(Gradian.string("a"), Gradian.character('b')).run("c").getFailure();
+
+        assertEquals(0, failure.getIndex(), "The merged failure should be at the farthest index.");
+        assertEquals(List.of("string \"a\"", "character 'b'"), new ArrayList<>(failure.getExpectedSet()), "The merged failure should keep what every option expected.");
+        assertEquals(2, failure.getAlternatives().size(), "The merged failure should keep every failure it was merged from.");
+        assertEquals("string \"a\" or character 'b'", failure.getExpected(), "The expected values should be joined when asked for.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void farthestFailure() {
+        ParserFailure inner = Gradian.anyTypeChoice(Gradian.anyTypeSequence(Gradian.string("ab"), Gradian.character('c')), Gradian.string("x")).run("abd").getFailure();
+        assertEquals(2, inner.getIndex(), "A choice should report the farthest point any option reached.");
+        assertEquals("character 'c'", inner.getExpected(), "A choice should report what was expected at the farthest point.");
+
+        ParserState<?> state = Gradian.anyTypeSequence(Gradian.many(Gradian.digit), Gradian.endOfInput).run("12x");
+        ParserFailure farthest = state.getFarthestFailure();
+        assertEquals(2, farthest.getIndex(), "The farthest failure should be where parsing stopped.");
+        assertEquals(2, farthest.getExpectedSet().size(), "Recovered failures at the farthest index should be included.");
+        assertTrue(farthest.getExpectedSet().contains("end of input"), "The failure that ended parsing should be included.");
+
+        assertNull(Gradian.string("a").run("a").getFarthestFailure(), "Successful runs should not record a farthest failure.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void countFailures() {
+        ParserFailure failure = Gradian.atLeastOne(Gradian.digit).run("x").getFailure();
+        assertEquals(ParserFailure.Kind.EXPECTED, failure.getKind(), "Repetitions matching too few values should fail.");
+        assertEquals("1-Infinity values", failure.getExpected(), "The count range should be what was expected.");
+        assertEquals("0 values, string \"x\"", failure.getActual(), "The count and input should be what was found instead.");
+        assertEquals("2 repetitions, string \"12x\"", Gradian.repeat(Gradian.digit, 3).run("12x").getFailure().getActual(), "Repeats should report how many repetitions matched.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void choiceFailureScope() {
+        Parser<?> parser = Gradian.anyTypeSequence(Gradian.anyTypeChoice(Gradian.anyTypeSequence(Gradian.string("abcd"), Gradian.string("Y")), Gradian.string("ab")), Gradian.anyTypeChoice(Gradian.string("1"), Gradian.character('2')));
+        ParserFailure failure = parser.run("abcdZ").getFailure();
+        assertEquals(2, failure.getIndex(), "A choice should not report failures from earlier parsers which got farther.");
+        assertEquals(List.of("string \"1\"", "character '2'"), new ArrayList<>(failure.getExpectedSet()), "A choice should report what its own options expected.");
+    }
+}
\ No newline at end of file
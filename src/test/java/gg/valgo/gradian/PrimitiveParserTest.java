@@ -0,0 +1,22 @@
+package gg.valgo.gradian;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveParserTest {
+    @org.junit.jupiter.api.Test
+    void primitiveResults() {
+        byte[] bytes = {1, 2, (byte) 0xFF};
+        assertArrayEquals(new int[] {1, 2, 255}, Gradian.manyInts(Gradian.u8.asInt()).run(bytes).getResult(), "manyInts should collect the values into an int array.");
+        assertArrayEquals(new long[] {1, 2, -1}, Gradian.manyLongs(Gradian.s8).run(bytes).getResult(), "manyLongs should collect the values into a long array.");
+        assertArrayEquals(new int[0], Gradian.manyInts(Gradian.int32).run("x").getResult(), "manyInts should succeed without a match.");
+
+        Parser<Double> number = Gradian.seq(Gradian.float64, Gradian.optionalWhitespace, (value, space) -> value);
+        assertArrayEquals(new double[] {1.5, -2, 3e2}, Gradian.manyDoubles(number.mapToDouble(Double::doubleValue)).run("1.5 -2 3e2").getResult(), "manyDoubles should collect mapped values into a double array.");
+        assertEquals(6.0, Gradian.manyFoldDoubles(number.mapToDouble(Double::doubleValue), 0, Double::sum).run("1 2 3").getResult(), "manyFoldDoubles should fold the values.");
+        assertEquals(258L, Gradian.manyFoldLongs(Gradian.u8, 0, (sum, value) -> sum * 256 + value).run(new byte[] {1, 2}).getResult(), "manyFoldLongs should fold the values in order.");
+        assertEquals(3, Gradian.manyFoldInts(Gradian.string("a").mapToInt(String::length), 0, Integer::sum).run("aaab").getResult(), "manyFoldInts should fold mapped values.");
+
+        assertEquals(Integer.valueOf(255), Gradian.u8.asInt().run(new byte[] {(byte) 0xFF}).getResult(), "asInt should result in an Integer when run as a normal parser.");
+        assertEquals(Long.valueOf(1), Gradian.u8.run(bytes).getResult(), "Long parsers should box their result when run as a normal parser.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.ParserException;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytesParserInputTest {
+    @org.junit.jupiter.api.Test
+    void getByte() {
+        BytesParserInput input = new BytesParserInput(new byte[] { 1, 2, (byte) 0xFF });
+
+        assertEquals(3, input.length(), "Input length should be the byte array length.");
+        assertEquals(2, input.getByte(1), ".getByte() should return the unboxed byte.");
+        assertEquals((byte) 0xFF, input.getElement(2), ".getElement() should return the same byte.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void byteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 9, 9, 1, 2, 3, 9 });
+        buffer.position(2).limit(5);
+        BytesParserInput input = new BytesParserInput(buffer);
+
+        assertEquals(3, input.length(), "Input should only contain the bytes between position and limit.");
+        assertEquals(1, input.getByte(0), "Index 0 should be the buffer's position.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void boxedBytes() {
+        BytesParserInput input = new BytesParserInput(new Byte[] { 4, 5 });
+
+        assertArrayEquals(new Byte[] { 4, 5 }, input.getElements(), "Boxed bytes should round trip through the input.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void matchers() throws ParserException {
+        byte[] bytes = { 'a', 'b', 0x12, 0x34, (byte) 0xFF };
+
+        assertEquals("ab", Gradian.string("ab").getResult(bytes), "String parser should match bytes input.");
+        assertEquals(0x1234L, Gradian.anyTypeSequence(Gradian.bytes((byte) 'a', (byte) 'b'), Gradian.u16BE).index(1).getResult(bytes), "u16BE should read past the matched bytes.");
+        assertEquals(0x3412L, Gradian.anyTypeSequence(Gradian.character('a'), Gradian.character('b'), Gradian.u16LE).index(2).getResult(bytes), "u16LE should decode little-endian.");
+        assertEquals(-1L, Gradian.anyTypeSequence(Gradian.string("ab"), Gradian.exactU16BE(0x1234), Gradian.s8).index(2).getResult(bytes), "s8 should sign extend.");
+        assertTrue(Gradian.anyTypeSequence(Gradian.string("ab"), Gradian.u32BE).run(bytes).isException(), "u32BE should fail when too few bytes are left.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void manyOverLargeInput() {
+        byte[] bytes = new byte[1 << 20];
+
+        // Each step used to copy the rest of the input, which made this quadratic (around 500 GB of copying).
+        ArrayList<Long> values = assertTimeout(Duration.ofSeconds(10), () -> Gradian.many(Gradian.u8).asArrayList().getResult(bytes), "many(u8) should take linear time in the input length.");
+        assertEquals(bytes.length, values.size(), "many(u8) should read every byte.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void indexOf() {
+        byte[] bytes = new byte[37];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (0x80 + i);
+        }
+
+        BytesParserInput input = new BytesParserInput(ByteBuffer.wrap(bytes, 3, 34));
+        for (int i = 0; i < 34; i++) {
+            assertEquals(i, input.indexOf(0, bytes[3 + i]), "Every byte should be found at its index, whether inside a word or after the last word.");
+            assertEquals(-1, input.indexOf(i + 1, bytes[3 + i]), "Bytes before the starting index should not be found.");
+        }
+
+        assertEquals(-1, input.indexOf(0, bytes[0]), "Bytes outside a sliced buffer should not be found.");
+        assertEquals(1, new CompositeParserInput(new byte[] {1}, new byte[] {2, 3}).indexOf(0, (byte) 2), "Inputs without a backing array should be searched byte by byte.");
+
+        byte[] line = "key=value\nrest".getBytes();
+        assertEquals(9, Gradian.everyByteUntil(Gradian.oneByte((byte) '\n')).run(line).getIndex(), "everyByteUntil should stop at a single byte terminator.");
+        assertTrue(Gradian.everyByteUntil(Gradian.oneByte((byte) 0)).run(line).isException(), "everyByteUntil should fail if the terminator is never found.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.ParserException;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompositeParserInputTest {
+    @org.junit.jupiter.api.Test
+    void segments() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 9, 3, 4, 9 });
+        buffer.position(1).limit(3);
+        CompositeParserInput input = new CompositeParserInput(ByteBuffer.wrap(new byte[] { 1, 2 }), ByteBuffer.allocate(0), buffer);
+
+        assertEquals(3, input.getSegmentCount(), "Every buffer should be a segment.");
+        assertEquals(4, input.length(), "Input length should be the total segment length.");
+        assertEquals(3, input.getByte(2), "Index 2 should be the third buffer's position, skipping the empty buffer.");
+        assertEquals(1, input.getByte(0), "Going back to the first segment should work.");
+        assertThrows(IndexOutOfBoundsException.class, () -> input.getByte(4), "Reading past the end should throw.");
+        assertThrows(UnsupportedOperationException.class, input::getBuffer, "There is no single buffer for several segments.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void straddlingValues() throws ParserException {
+        CompositeParserInput input = new CompositeParserInput(new byte[] { 'a' }, new byte[] { 'b', 0x12 }, new byte[] { 0x34, 0x56, 0x78 }, new byte[] { 'c', 'd' });
+
+        assertEquals(0x12345678L, Gradian.anyTypeSequence(Gradian.string("ab"), Gradian.u32BE).index(1).getResult(input), "u32BE should be read across segment boundaries.");
+        assertFalse(Gradian.anyTypeSequence(Gradian.string("ab"), Gradian.u32BE, Gradian.bytes((byte) 'c', (byte) 'd')).run(input).isException(), "Bytes should be matched after a straddling value.");
+        assertTrue(Gradian.string("abc").run(input).isException(), "Mismatches in a later segment should be found.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.ParserException;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileParserInputTest {
+    @TempDir
+    Path directory;
+
+    @org.junit.jupiter.api.Test
+    void parseFile() throws IOException, ParserException {
+        Path file = directory.resolve("input.bin");
+        Files.write(file, new byte[] { 'G', 'R', 'D', 0x00, 0x2A, 'x' });
+
+        MappedFileParserInput input = new MappedFileParserInput(file);
+        assertEquals(6, input.length(), "Mapped input should contain the whole file.");
+        assertEquals(file, input.getPath(), "Mapped input should keep its path.");
+
+        assertEquals(42L, Gradian.anyTypeSequence(Gradian.string("GRD"), Gradian.u16BE, Gradian.character('x'), Gradian.endOfInput).index(1).getResult(file), "Parsers should read straight from the mapped file.");
+
+        BytesParserInput bytes = new BytesParserInput(Files.readAllBytes(file));
+        for (int size : new int[] {2, 3, 4}) {
+            assertEquals(bytes.getUnsigned(1, size, false), input.getUnsigned(1, size, false), "Big endian numbers should be read from the mapped segment.");
+            assertEquals(bytes.getUnsigned(1, size, true), input.getUnsigned(1, size, true), "Little endian numbers should be read from the mapped segment.");
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void emptyFile() throws IOException {
+        Path file = directory.resolve("empty.bin");
+        Files.write(file, new byte[0]);
+
+        assertFalse(Gradian.endOfInput.run(file).isException(), "An empty file should be at the end of input.");
+    }
+}
\ No newline at end of file
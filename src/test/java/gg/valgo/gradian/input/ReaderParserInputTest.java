@@ -0,0 +1,82 @@
+package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.ParserException;
+import gg.valgo.gradian.examples.expressioneval.EvaluationContext;
+import gg.valgo.gradian.examples.expressioneval.ExpressionEvaluator;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReaderParserInputTest {
+    /**
+     * Creates a string of a character repeated a given amount of times.
+     */
+    private static String repeat(char character, int count) {
+        char[] characters = new char[count];
+        Arrays.fill(characters, character);
+        return new String(characters);
+    }
+
+    /**
+     * Creates a reader which returns at most 3 characters per read.
+     */
+    private static Reader slowReader(String string) {
+        return new StringReader(string) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws java.io.IOException {
+                return super.read(buffer, offset, Math.min(length, 3));
+            }
+        };
+    }
+
+    @org.junit.jupiter.api.Test
+    void stringMatchers() throws ParserException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append("word").append(i).append(' ');
+        }
+
+        ReaderParserInput input = new ReaderParserInput(slowReader(builder.toString()), 32);
+        ArrayList<String> words = Gradian.many(Gradian.anyTypeSequence(Gradian.string("word"), Gradian.digits, Gradian.character(' ')).index(1).asString()).asArrayList().getResult(input);
+
+        assertEquals(10000, words.size(), "Every word should be parsed through a 32 character window.");
+        assertEquals("9999", words.get(9999), "Regex matches should be extended across refills.");
+        assertTrue(input.isEndOfInput(builder.length()), "The end of the reader should be detected.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void decodesChannel() throws ParserException {
+        byte[] bytes = "h\u00e9llo w\u00f6rld".getBytes(StandardCharsets.UTF_8);
+        ReaderParserInput input = new ReaderParserInput(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8, 8);
+
+        assertEquals(Arrays.asList("h\u00e9llo", "w\u00f6rld"), Gradian.separatedBy(Gradian.whitespace, Gradian.regex("\\p{L}+")).asArrayList().getResult(input), "UTF-8 should be decoded incrementally.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void expression() throws ParserException {
+        ReaderParserInput input = new ReaderParserInput(slowReader("f(a, b) = a * b + 1; return f(2, 3) - 4.5e-1"), 64);
+
+        assertEquals(6.55, ExpressionEvaluator.expression.getResult(input).evaluate(new EvaluationContext()), 1e-9, "A backtracking grammar should work on a reader input.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void windowExceeded() {
+        ReaderParserInput input = new ReaderParserInput(slowReader(repeat('a', 64)), 16);
+
+        assertThrows(IllegalStateException.class, () -> Gradian.lookAhead(Gradian.regex("a+b")).run(input), "Looking further ahead than the window allows should fail.");
+
+        ReaderParserInput discarding = new ReaderParserInput(slowReader("abcdefghijklmnopqrstuvwxyz"), 8);
+        assertEquals('y', discarding.getChar(24), "Characters past the window should be read.");
+        assertThrows(IllegalStateException.class, () -> discarding.regionMatches(0, "a"), "Matching at a discarded index should fail.");
+        assertThrows(IllegalStateException.class, () -> discarding.lookingAt(Pattern.compile("a").matcher(""), 0), "Matching a pattern at a discarded index should fail.");
+    }
+}
\ No newline at end of file
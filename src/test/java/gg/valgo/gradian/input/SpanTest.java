@@ -0,0 +1,37 @@
+package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserFailure;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.util.CharacterClass;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpanTest {
+    @org.junit.jupiter.api.Test
+    void spans() {
+        Parser<Span> identifier = Gradian.characterClass(CharacterClass.LETTERS, 1, -1).span();
+        ParserState<Span> state = identifier.run("hello world");
+        assertEquals(0, state.getResult().getStart(), "The span should start where the parser started.");
+        assertEquals(5, state.getResult().getEnd(), "The span should end where the parser ended.");
+        assertEquals("hello", state.getResult().toString(), "The span should convert to the matched text.");
+        assertTrue(state.getResult().contentEquals("hello"), "The span should compare equal to the matched text.");
+        assertEquals("ell", state.getResult().subSequence(1, 4).toString(), "Sub-sequences should be spans of the same input.");
+        assertEquals(ParserFailure.Kind.EXPECTED, identifier.run("1").getFailure().getKind(), "The span should fail when its parser fails.");
+
+        assertEquals("abc", Gradian.regex("a(b)c", 0, 1).span().run("abcd").getResult().toString(), "Regex spans should cover the whole match, not the group.");
+        assertEquals("a, b", Gradian.stringUntil(Gradian.string(";")).span().run("a, b;").getResult().toString(), "Spans should cover everything until the terminator.");
+        assertEquals("aaa", Gradian.many(Gradian.string("a")).span().run("aaab").getResult().toString(), "Repetitions should be spanned without collecting their results.");
+        assertEquals(ParserFailure.Kind.BAD_INPUT_TYPE, Gradian.letters.span().run(new byte[] {1}).getFailure().getKind(), "Spans should only accept string inputs.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void byteSpans() {
+        ParserState<ByteSpan> state = Gradian.takeBytesWhile1(b -> b != 0).byteSpan().run(new byte[] {'a', 'b', 0});
+        assertEquals(2, state.getResult().length(), "The byte span should cover the matched bytes.");
+        assertEquals('b', state.getResult().get(1), "Bytes should be read from the input.");
+        assertArrayEquals(new byte[] {'a', 'b'}, state.getResult().toArray(), "The byte span should copy the matched bytes.");
+        assertEquals("ab", state.getResult().toString(), "The byte span should decode as UTF-8.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package gg.valgo.gradian.input;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.ParserException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamParserInputTest {
+    /**
+     * Creates a stream which returns at most 3 bytes per read, like a slow network stream.
+     */
+    private static InputStream slowStream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    @org.junit.jupiter.api.Test
+    void windowSize() {
+        assertEquals(16, new StreamParserInput(slowStream(new byte[0]), 10).getWindowSize(), "Window size should be rounded up to a power of two.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void backtrackingWithinWindow() throws ParserException {
+        byte[] bytes = new byte[100000];
+        for (int i = 0; i < bytes.length; i += 2) {
+            bytes[i] = 'a';
+            bytes[i + 1] = 'b';
+        }
+
+        StreamParserInput input = new StreamParserInput(slowStream(bytes), 16);
+        Object values = Gradian.anyTypeSequence(Gradian.many(Gradian.choice(Gradian.string("ac"), Gradian.string("ab"))), Gradian.endOfInput).index(0).getResult(input);
+
+        assertEquals(bytes.length / 2, ((Object[]) values).length, "Every pair of bytes should be parsed through a 16 byte window.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void binaryValues() throws ParserException {
+        byte[] bytes = { 0x01, 0x02, 0x03, 0x04, 0x05 };
+        StreamParserInput input = new StreamParserInput(slowStream(bytes), 4);
+
+        assertEquals(Arrays.asList(0x0102L, 0x0304L), Gradian.many(Gradian.u16BE).asArrayList().getResult(input), "Values should be read across refills.");
+        assertTrue(input.hasRemaining(4, 1), "The last byte should still be available.");
+        assertTrue(input.isEndOfInput(5), "The end of the stream should be detected.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void windowExceeded() {
+        byte[] bytes = new byte[64];
+        StreamParserInput input = new StreamParserInput(slowStream(bytes), 16);
+
+        assertThrows(IllegalStateException.class, () -> Gradian.lookAhead(Gradian.bytes(new byte[32])).run(input), "Looking further ahead than the window allows should fail.");
+    }
+}
\ No newline at end of file
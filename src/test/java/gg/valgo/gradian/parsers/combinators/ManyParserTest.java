@@ -0,0 +1,79 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserException;
+import gg.valgo.gradian.input.ReaderParserInput;
+import gg.valgo.gradian.parsers.util.MultiParser;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManyParserTest {
+    /**
+     * Creates a string of a character repeated a given amount of times.
+     */
+    private static String repeat(char character, int count) {
+        char[] characters = new char[count];
+        Arrays.fill(characters, character);
+        return new String(characters);
+    }
+
+    @org.junit.jupiter.api.Test
+    void foldAndCollect() throws ParserException {
+        Parser<Long> digit = Gradian.digit.map(Long::parseLong);
+        assertEquals(10L, Gradian.manyFold(digit, 0L, Long::sum).getResult("1234"), "manyFold should fold every value in order.");
+        assertEquals(7L, Gradian.manyFold(digit, 7L, Long::sum).getResult(""), "manyFold should result in the initial value without any matches.");
+        assertEquals(3L, Gradian.separatedBy(Gradian.character(','), digit).fold(0L, (count, value) -> count + 1).getResult("5,6,7"), "separatedBy should be foldable.");
+
+        Parser<String[]> entry = Gradian.sequence(Gradian.letters, Gradian.between(Gradian.character('='), Gradian.character(';'), Gradian.digits)).setElementType(String.class);
+        Map<String, String> map = Gradian.manyCollect(entry, Collectors.toMap(pair -> pair[0], pair -> pair[1])).getResult("a=1;b=22;");
+        assertEquals(Map.of("a", "1", "b", "22"), map, "manyCollect should collect with the given collector.");
+
+        assertTrue(Gradian.atLeastOne(digit).fold(0L, Long::sum).run("x").isException(), "Folding should keep the count checks of the repetition.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void typedArrays() throws ParserException {
+        Character[] characters = Gradian.everyCharacterUntil(Gradian.character(';')).getResult("ab;");
+        assertArrayEquals(new Character[] {'a', 'b'}, characters, "Result arrays should have the element type as their component type.");
+        assertEquals(0, Gradian.everyByteUntil(Gradian.oneByte((byte) 0)).getResult(new byte[] {0}).length, "Empty results should still have the element type, if it is known.");
+
+        String[] strings = Gradian.many(Gradian.letter).getResult("xy");
+        assertArrayEquals(new String[] {"x", "y"}, strings, "Repetitions of parsers with a known result class should result in arrays of that class.");
+        String[] none = Gradian.many(Gradian.letter).getResult("1");
+        assertEquals(0, none.length, "The result array type should not depend on the input.");
+        Character[] repeated = Gradian.atLeastOne(Gradian.character('a')).getResult("aa");
+        assertArrayEquals(new Character[] {'a', 'a'}, repeated, "Repetitions of characters should result in Character arrays.");
+
+        Parser<?> untyped = Gradian.many(Gradian.letter.map(String::length));
+        assertEquals(Object[].class, untyped.getResult("xy").getClass(), "Without a known result class, result arrays should always be Object arrays.");
+        assertEquals(Object[].class, untyped.getResult("1").getClass(), "Without a known result class, even empty result arrays should be Object arrays.");
+        assertEquals(Object[].class, Gradian.anyTypeSequence(Gradian.letter, Gradian.character('x')).getResult("ax").getClass(), "Results of different classes should be collected into an Object array.");
+
+        MultiParser<Integer> lengths = Gradian.many(Gradian.letter.map(String::length)).setElementType(Integer.class);
+        assertArrayEquals(new Integer[] {1, 1}, lengths.getResult("xy"), "Result arrays should use the element type that was set.");
+        assertEquals(Integer[].class, lengths.getResult("1").getClass(), "Empty results should use the element type that was set.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void characterRuns() throws ParserException {
+        Parser<String> run = Gradian.many(Gradian.anyOfString("abc")).join("");
+        assertTrue(run instanceof CharacterRunParser, "Joining a repetition of a single character parser should scan the run directly.");
+        assertEquals("abca", run.getResult("abcad"), "The run should be the joined characters.");
+        assertEquals("", run.getResult("d"), "An empty run should result in an empty string.");
+        assertEquals("ab", run.getResult("ab".getBytes()), "Bytes inputs should still be repeated and joined.");
+
+        assertEquals("xy", Gradian.atLeastOne(Gradian.letter).join("").getResult("xy1"), "Character class runs should be joined.");
+        assertTrue(Gradian.atLeastOne(Gradian.character('a')).join("").run("b").isException(), "Runs below the minimum count should fail.");
+        assertTrue(Gradian.atMost(Gradian.anyCharacter, 2).join("").run("abc").isException(), "Runs above the maximum count should fail, like the repetition.");
+        assertEquals("a,b", Gradian.many(Gradian.letter).join(",").getResult("ab"), "Joining with a delimiter should still work.");
+
+        String text = repeat('x', 5000);
+        assertEquals(text, Gradian.many(Gradian.anyCharacter).join("").getResult(new ReaderParserInput(new StringReader(text), 1024)), "Runs longer than a reader's window should be joined without holding the window.");
+    }
+}
\ No newline at end of file
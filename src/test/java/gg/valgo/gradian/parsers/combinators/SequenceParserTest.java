@@ -0,0 +1,30 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceParserTest {
+    @org.junit.jupiter.api.Test
+    void typedSequences() throws ParserException {
+        Parser<Long> number = Gradian.digits.map(Long::parseLong);
+        Parser<Long> sum = Gradian.seq(number, Gradian.character('+'), number, (left, plus, right) -> left + right);
+        assertEquals(5L, sum.getResult("2+3"), "seq should pass each typed result to the combiner.");
+        assertTrue(sum.run("2-3").isException(), "seq should fail if any parser fails.");
+
+        Parser<String> range = Gradian.seq(Gradian.letter, Gradian.character('-'), Gradian.letter, Gradian.character(';'), Gradian.letters, (from, dash, to, semicolon, name) -> name + ":" + from + to);
+        assertEquals("ab:az", range.getResult("a-z;ab"), "Longer sequences should combine every result.");
+
+        Parser<Long> checked = Gradian.seq(number, Gradian.endOfInput, (value, end) -> {
+            if (value > 9) {
+                throw new ParserException("Value too large");
+            }
+
+            return value;
+        });
+        assertTrue(checked.run("10").isException(), "Exceptions thrown by the combiner should fail the parser.");
+        assertEquals(ParserException.class, checked.run("10").getException().getClass(), "The combiner's exception should be the failure.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package gg.valgo.gradian.parsers.combinators;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.CompositeParserInput;
+import gg.valgo.gradian.input.ReaderParserInput;
+import gg.valgo.gradian.input.StreamParserInput;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringUntilParserTest {
+    @org.junit.jupiter.api.Test
+    void terminators() {
+        Parser<String> comment = Gradian.stringUntil(Gradian.string("-->"));
+        ParserState<String> state = comment.run("a -- b -> c-->rest");
+        assertEquals("a -- b -> c", state.getResult(), "Partial matches of a literal should not end the string.");
+        assertEquals(11, state.getIndex(), "The parser should stop before the terminator.");
+        assertTrue(comment.run("a -- b").isException(), "The parser should fail if the terminator is never found.");
+
+        assertEquals("key", Gradian.stringUntil(Gradian.anyOfString("=:")).run("key:value").getResult(), "Character class terminators should be found with their FIRST set.");
+        assertEquals("ab", Gradian.stringUntil(Gradian.regex("[0-9]")).run("ab1").getResult(), "Terminators without a FIRST set should be tried at every character.");
+        assertEquals("", Gradian.stringUntil(Gradian.endOfInput).run("").getResult(), "Terminators which match at the end of input should still be found.");
+
+        ParserState<String> reader = comment.run(new ReaderParserInput(new StringReader("x-y--z-->"), 16));
+        assertEquals("x-y--z", reader.getResult(), "Reader inputs should be searched through their window.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void bytesAndExcept() {
+        byte[] bytes = "abcabdabe".getBytes(StandardCharsets.UTF_8);
+        byte[] target = "abe".getBytes(StandardCharsets.UTF_8);
+        assertEquals(6, new BytesParserInput(bytes).indexOf(0, target), "Byte sequences should be found after partial matches.");
+        assertEquals(6, new CompositeParserInput(new byte[][] {"abcab".getBytes(StandardCharsets.UTF_8), "dabe".getBytes(StandardCharsets.UTF_8)}).indexOf(0, target), "Byte sequences should be found across segments.");
+        assertEquals(-1, new BytesParserInput(bytes).indexOf(0, "abf".getBytes(StandardCharsets.UTF_8)), "Missing byte sequences should not be found.");
+        assertEquals(6, Gradian.everyByteUntil(Gradian.string("abe")).run(bytes).getIndex(), "everyByteUntil should stop at a literal terminator.");
+
+        Parser<Character> notQuote = Gradian.stringAnythingExcept(Gradian.character('"'));
+        assertEquals('a', notQuote.run("a").getResult(), "anythingExcept should match elements its parser cannot start with.");
+        assertTrue(notQuote.run("\"").isException(), "anythingExcept should fail where its parser matches.");
+        assertTrue(notQuote.run("").isException(), "anythingExcept should fail at the end of input.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void windowedInputs() {
+        byte[] bytes = new byte[5001];
+        Arrays.fill(bytes, 0, 5000, (byte) 'a');
+        assertEquals(5000, Gradian.everyByteUntil(Gradian.oneByte((byte) 0)).run(new StreamParserInput(new ByteArrayInputStream(bytes), 1024)).getIndex(), "everyByteUntil should not need the elements before the terminator to fit in a stream's window.");
+
+        char[] characters = new char[5001];
+        Arrays.fill(characters, 'a');
+        characters[5000] = ';';
+        ParserState<Character[]> state = Gradian.everyCharacterUntil(Gradian.character(';')).run(new ReaderParserInput(new StringReader(new String(characters)), 1024));
+        assertEquals(5000, state.getResult().length, "everyCharacterUntil should not need the elements before the terminator to fit in a reader's window.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.input.BytesParserInput;
+import gg.valgo.gradian.input.CompositeParserInput;
+import gg.valgo.gradian.input.ParserInput;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryParserTest {
+    /**
+     * Reads a number with ByteBuffer's own accessors, to check the parsers against.
+     * @param bytes The bytes to read from.
+     * @param size The amount of bytes to read, 1, 2, 4 or 8.
+     * @param signed Whether the number is signed or not.
+     * @param littleEndian Whether the number is little-endian or not.
+     * @return The number.
+     */
+    private static long expected(byte[] bytes, int size, boolean signed, boolean littleEndian) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        switch (size) {
+            case 1:
+                return signed ? buffer.get(0) : Byte.toUnsignedLong(buffer.get(0));
+            case 2:
+                return signed ? buffer.getShort(0) : Short.toUnsignedLong(buffer.getShort(0));
+            case 4:
+                return signed ? buffer.getInt(0) : Integer.toUnsignedLong(buffer.getInt(0));
+            default:
+                return buffer.getLong(0);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void integers() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 200; trial++) {
+            byte[] bytes = new byte[8];
+            random.nextBytes(bytes);
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(8).put(bytes);
+            direct.flip();
+            ParserInput<?>[] inputs = {new BytesParserInput(bytes), new BytesParserInput(direct), new CompositeParserInput(new byte[] {bytes[0], bytes[1], bytes[2]}, new byte[] {bytes[3], bytes[4], bytes[5], bytes[6], bytes[7]})};
+
+            for (int size : new int[] {1, 2, 4, 8}) {
+                for (boolean signed : new boolean[] {false, true}) {
+                    for (boolean littleEndian : new boolean[] {false, true}) {
+                        long value = expected(bytes, size, signed, littleEndian);
+                        for (ParserInput<?> input : inputs) {
+                            assertEquals(value, Gradian.binary(size, signed, littleEndian).run(input).getResult(), "Binary numbers should decode like ByteBuffer (" + size + " bytes, signed " + signed + ", little-endian " + littleEndian + ", " + input.getClass().getSimpleName() + ").");
+                        }
+
+                        assertFalse(Gradian.exactBinary(size, signed, littleEndian, value).run(bytes).isException(), "Exact binary parsers should match the decoded value.");
+                    }
+                }
+            }
+        }
+
+        assertEquals(-1L, Gradian.s64BE.run(new byte[] {-1, -1, -1, -1, -1, -1, -1, -1}).getResult(), "s64 should be signed.");
+        assertEquals("18446744073709551615", Long.toUnsignedString(Gradian.u64LE.run(new byte[] {-1, -1, -1, -1, -1, -1, -1, -1}).getResult()), "u64 should result in the raw 64 bits.");
+        assertEquals(0x010203L, Gradian.binary(3, false, false).run(new byte[] {1, 2, 3}).getResult(), "Odd sizes should be assembled a byte at a time.");
+        assertEquals(-2L, Gradian.binary(3, true, true).run(new byte[] {-2, -1, -1}).getResult(), "Odd sizes should be sign-extended.");
+        assertTrue(Gradian.u64BE.run(new byte[7]).isException(), "Binary parsers should fail without enough bytes.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void floats() {
+        byte[] single = ByteBuffer.allocate(4).putFloat(1.5f).array();
+        byte[] doubleBytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(-2.25e100).array();
+        assertEquals(1.5, Gradian.f32BE.run(single).getResult(), "f32BE should decode a big-endian float.");
+        assertEquals(-2.25e100, Gradian.f64LE.run(doubleBytes).getResult(), "f64LE should decode a little-endian double.");
+        assertEquals(-2.25e100, Gradian.f64LE.run(new CompositeParserInput(new byte[] {doubleBytes[0]}, new byte[] {doubleBytes[1], doubleBytes[2], doubleBytes[3], doubleBytes[4], doubleBytes[5], doubleBytes[6], doubleBytes[7]})).getResult(), "Floats straddling buffers should decode the same.");
+        assertTrue(Gradian.f32LE.run(new byte[3]).isException(), "Float parsers should fail without enough bytes.");
+        assertThrows(IllegalArgumentException.class, () -> Gradian.binaryFloat(2, false), "Only 4 and 8 byte floats should be allowed.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserFailure;
+import gg.valgo.gradian.ParserState;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChoiceOfStringsParserTest {
+    @org.junit.jupiter.api.Test
+    void firstAndLongestMatch() {
+        Parser<String> first = Gradian.oneOfStrings("=", "==", "=>", "if", "in");
+        assertEquals("=", first.run("==").getResult(), "The first matching string should be the result.");
+        assertEquals("in", first.run("int").getResult(), "Strings sharing a prefix should be told apart.");
+        assertEquals(2, first.run("in").getIndex(), "The parser should move past the matched string.");
+
+        Parser<String> longest = Gradian.longestOfStrings("=", "==", "=>");
+        assertEquals("==", longest.run("==").getResult(), "The longest matching string should be the result.");
+        assertEquals("=", longest.run("=x").getResult(), "Shorter strings should match when longer ones do not.");
+
+        ParserState<String> bytes = longest.run("=>".getBytes(StandardCharsets.UTF_8));
+        assertEquals("=>", bytes.getResult(), "Bytes inputs should be matched as UTF-8.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void failures() {
+        Parser<String> parser = Gradian.oneOfStrings("if", "else");
+        assertEquals(ParserFailure.Kind.EXPECTED, parser.run("x").getFailure().getKind(), "Mismatches should fail.");
+        assertEquals(ParserFailure.Kind.END_OF_INPUT, parser.run("el").getFailure().getKind(), "Running out of input should fail at the end of input.");
+        assertEquals("string \"if\" or \"else\"", parser.run("x").getFailure().getExpected(), "Failures should list every string.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void choiceRewrite() {
+        Parser<String> choice = Gradian.choice(Gradian.string("a"), Gradian.string("ab"), Gradian.string("b"));
+        assertEquals("a", choice.run("ab").getResult(), "A choice of strings should keep first match semantics.");
+        assertEquals("b", choice.run("b").getResult(), "A choice of strings should match any of its strings.");
+        assertEquals(3, choice.run("c").getFailure().getExpectedSet().size(), "A choice of strings should still report every string it expected.");
+        assertEquals(List.of("string \"a\"", "string \"ab\"", "string \"b\""), new ArrayList<>(choice.run("c").getFailure().getExpectedSet()), "A choice of strings should report its strings in order.");
+        assertEquals(ParserFailure.Kind.END_OF_INPUT, choice.run("").getFailure().getKind(), "A choice of strings should fail at the end of input when it runs out of input.");
+    }
+}
\ No newline at end of file
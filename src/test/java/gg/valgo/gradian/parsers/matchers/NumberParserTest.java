@@ -0,0 +1,42 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.ParserFailure;
+import gg.valgo.gradian.ParserState;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberParserTest {
+    @org.junit.jupiter.api.Test
+    void integers() {
+        ParserState<Integer> state = Gradian.int32.run("-42,");
+        assertEquals(-42, state.getResult(), "The integer should be parsed with its sign.");
+        assertEquals(3, state.getIndex(), "The parser should stop after the last digit.");
+        assertEquals(Integer.MIN_VALUE, Gradian.int32.run("-2147483648").getResult(), "The smallest int should not overflow.");
+        assertEquals(Integer.MAX_VALUE, Gradian.int32.run("+2147483647").getResult(), "The largest int should not overflow.");
+        assertTrue(Gradian.int32.run("2147483648").isException(), "Integers larger than an int should fail.");
+        assertEquals(Long.MIN_VALUE, Gradian.int64.run("-9223372036854775808").getResult(), "The smallest long should not overflow.");
+        assertTrue(Gradian.int64.run("9223372036854775808").isException(), "Integers larger than a long should fail.");
+        assertEquals(ParserFailure.Kind.EXPECTED, Gradian.int32.run("-x").getFailure().getKind(), "A sign without digits should fail.");
+        assertEquals(ParserFailure.Kind.END_OF_INPUT, Gradian.int64.run("").getFailure().getKind(), "An empty input should fail at the end.");
+        assertEquals(1234L, Gradian.int64.run("1234".getBytes(StandardCharsets.US_ASCII)).getResult(), "Bytes inputs should be read as ASCII.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void floats() {
+        String[] numbers = {"0", "-0.0", "1.5", ".5", "2.", "+3.25e2", "1e-5", "0.1", "123456789012345678901234567890", "9007199254740993", "2.2250738585072014E-308", "1.7976931348623157e308", "1e400", "4.9e-324", "0.000000000000000000000000000001"};
+        for (String number : numbers) {
+            assertEquals(Double.parseDouble(number), Gradian.float64.run(number).getResult(), "Numbers should be correctly rounded: " + number);
+            assertEquals(Double.parseDouble(number), Gradian.float64.run(number.getBytes(StandardCharsets.US_ASCII)).getResult(), "Numbers should be read from bytes: " + number);
+        }
+
+        ParserState<Double> state = Gradian.float64.run("1.5e+x");
+        assertEquals(1.5, state.getResult(), "An exponent without digits should not be matched.");
+        assertEquals(3, state.getIndex(), "The parser should stop before an incomplete exponent.");
+        assertEquals(4, Gradian.decimal.run("1.25e3").getIndex(), "Decimals should not match an exponent.");
+        assertEquals(ParserFailure.Kind.EXPECTED, Gradian.float64.run(".x").getFailure().getKind(), "A decimal point without digits should fail.");
+        assertEquals(1e3, Gradian.float64.run("1e3").getResult(), "Exponents should be allowed without a fraction.");
+    }
+}
\ No newline at end of file
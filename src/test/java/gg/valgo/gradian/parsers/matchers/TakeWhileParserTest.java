@@ -0,0 +1,56 @@
+package gg.valgo.gradian.parsers.matchers;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.Parser;
+import gg.valgo.gradian.ParserFailure;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.CompositeParserInput;
+import gg.valgo.gradian.input.ReaderParserInput;
+import gg.valgo.gradian.util.CharacterClass;
+
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TakeWhileParserTest {
+    /**
+     * Creates a string of a character repeated a given amount of times.
+     */
+    private static String repeat(char character, int count) {
+        char[] characters = new char[count];
+        Arrays.fill(characters, character);
+        return new String(characters);
+    }
+
+    @org.junit.jupiter.api.Test
+    void strings() {
+        Parser<String> identifier = Gradian.takeWhile1(character -> Character.isLetterOrDigit(character) || character == '_');
+        ParserState<String> state = identifier.run("foo_1 bar");
+        assertEquals("foo_1", state.getResult(), "The run of matching characters should be the result.");
+        assertEquals(5, state.getIndex(), "The parser should stop at the first failing character.");
+        assertEquals(ParserFailure.Kind.EXPECTED, identifier.run(" x").getFailure().getKind(), "takeWhile1 should fail without a matching character.");
+        assertEquals(ParserFailure.Kind.END_OF_INPUT, identifier.run("").getFailure().getKind(), "takeWhile1 should fail at the end of input.");
+
+        assertEquals("", Gradian.takeWhile(CharacterClass.DIGITS).run("x").getResult(), "takeWhile should succeed without a matching character.");
+        assertEquals("digit", Gradian.takeWhile1(CharacterClass.DIGITS).run("x").getFailure().getExpected(), "Character classes should describe what was expected.");
+
+        Parser<Object[]> words = Gradian.anyTypeSequence(Gradian.letters, Gradian.skipWhile(CharacterClass.WHITESPACE), Gradian.letters);
+        assertArrayEquals(new Object[] {"a", "b"}, words.run("a \t b").getResult(), "Skipped characters should not be in the result.");
+
+        ParserState<String> reader = Gradian.takeWhile(CharacterClass.LETTERS).run(new ReaderParserInput(new StringReader("abcdefghij1"), 16));
+        assertEquals("abcdefghij", reader.getResult(), "Reader inputs should be scanned through their window.");
+
+        ParserState<String> spaces = Gradian.skipWhile(character -> character == ' ').run(new ReaderParserInput(new StringReader(repeat(' ', 5000) + "x"), 1024));
+        assertEquals(5000, spaces.getIndex(), "Skipped runs longer than a reader's window should not be held in it.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void bytes() {
+        Parser<byte[]> nonZero = Gradian.takeBytesWhile1(b -> b != 0);
+        assertArrayEquals(new byte[] {1, 2, 3}, nonZero.run(new byte[] {1, 2, 3, 0, 4}).getResult(), "The run of matching bytes should be the result.");
+        assertArrayEquals(new byte[] {1, 2, 3}, nonZero.run(new CompositeParserInput(new byte[] {1, 2}, new byte[] {3, 0})).getResult(), "Inputs without a single buffer should be scanned byte by byte.");
+        assertEquals(ParserFailure.Kind.EXPECTED, nonZero.run(new byte[] {0}).getFailure().getKind(), "takeBytesWhile1 should fail without a matching byte.");
+        assertEquals(2, Gradian.skipBytesWhile(b -> b == 0).run(new byte[] {0, 0, 1}).getIndex(), "skipBytesWhile should move past the matching bytes.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package gg.valgo.gradian.util;
+
+import gg.valgo.gradian.Gradian;
+import gg.valgo.gradian.ParserState;
+import gg.valgo.gradian.input.ReaderParserInput;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharacterClassTest {
+    @org.junit.jupiter.api.Test
+    void membership() {
+        assertTrue(CharacterClass.DIGITS.contains('7'), "Digits should contain digits.");
+        assertFalse(CharacterClass.DIGITS.contains('a'), "Digits should not contain letters.");
+        assertFalse(CharacterClass.DIGITS.contains('\uFFFF'), "Characters past the bitmap should not be contained.");
+        assertTrue(CharacterClass.DIGITS.negate().contains('\uFFFF'), "Negated classes should cover the whole BMP.");
+        assertTrue(CharacterClass.of("+-").union(CharacterClass.LETTERS).contains('-'), "Unions should contain both classes.");
+        assertTrue(CharacterClass.ofCategories(Character.UPPERCASE_LETTER).contains('\u00C9'), "Unicode categories should be supported.");
+        assertFalse(CharacterClass.ofCategories(Character.UPPERCASE_LETTER).contains('e'), "Unicode categories should only contain their characters.");
+    }
+
+    @org.junit.jupiter.api.Test
+    void builtInParsers() {
+        assertEquals("4", Gradian.digit.run("42").getResult(), "digit should match a single digit.");
+        assertSame(Gradian.digit.run("4").getResult(), Gradian.digit.run("4").getResult(), "Single ASCII characters should not allocate new strings.");
+        assertEquals("42", Gradian.digits.run("42a").getResult(), "digits should match every digit.");
+        assertEquals(" \t\n", Gradian.whitespace.run(" \t\nx").getResult(), "whitespace should match every whitespace character.");
+        assertTrue(Gradian.letters.run("1").isException(), "letters should fail without a letter.");
+        assertEquals("letter", Gradian.letters.run("1").getFailure().getExpected(), "Failures should describe the character class.");
+
+        ParserState<String> state = Gradian.digits.run(new ReaderParserInput(new StringReader("12345x"), 16));
+        assertEquals("12345", state.getResult(), "Character classes should match reader inputs.");
+    }
+}
\ No newline at end of file